@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.examples.performance;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.loader.csv.FxRatesCsvLoader;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmark comparing serial and parallel evaluation of the trades during curve calibration.
+ * <p>
+ * Each of the example curve groups is calibrated using the standard calibrator, and using
+ * the same calibrator with {@linkplain RatesCurveCalibrator#withParallelEvaluation(ForkJoinPool)
+ * parallel evaluation} in the common pool. The results of the two are checked to be identical.
+ * The time reported is the best of the measured runs, in milliseconds per calibration.
+ * <p>
+ * Parallel evaluation is expected to help most for the cross-currency groups,
+ * where the number of nodes is largest.
+ */
+public class CurveCalibrationBenchmarkExample {
+
+  /**
+   * The number of runs used to warm up the JVM before measuring.
+   */
+  private static final int WARMUP_RUNS = 20;
+  /**
+   * The number of measured runs.
+   */
+  private static final int MEASURED_RUNS = 20;
+  /**
+   * The location of the data files.
+   */
+  private static final String PATH_CONFIG = "src/main/resources/example-calibration/";
+  /**
+   * The reference data.
+   */
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The serial calibrator.
+   */
+  private static final RatesCurveCalibrator SERIAL = RatesCurveCalibrator.standard();
+  /**
+   * The parallel calibrator.
+   */
+  private static final RatesCurveCalibrator PARALLEL = SERIAL.withParallelEvaluation(ForkJoinPool.commonPool());
+
+  /**
+   * Runs the example, printing the time taken to calibrate each curve group.
+   *
+   * @param args  ignored
+   */
+  public static void main(String[] args) {
+    List<CalibrationCase> cases = ImmutableList.of(
+        CalibrationCase.of("USD-DSCON-LIBOR3M", LocalDate.of(2015, 7, 21), "", "quotes.csv", null),
+        CalibrationCase.of(
+            "EUR-DSCONOIS-EURIBOR3MBS-EURIBOR6MIRS", LocalDate.of(2015, 11, 20), "-eur", "quotes-eur.csv", null),
+        CalibrationCase.of(
+            "USD-EUR-XCCY", LocalDate.of(2015, 11, 2), "-xccy", "quotes-xccy.csv", "fx-rates-xccy.csv"),
+        CalibrationCase.of(
+            "USD-DSCSOFR-EUR-DSC-ESTR", LocalDate.of(2022, 5, 30), "-xccy-ois", "quotes-xccy-ois.csv",
+            "fx-rates-xccy-ois.csv"));
+
+    System.out.println(String.format(
+        "Parallelism: %d threads", ForkJoinPool.commonPool().getParallelism()));
+    System.out.println("Curve group                              Nodes  Serial (ms)  Parallel (ms)");
+    for (CalibrationCase calibrationCase : cases) {
+      ImmutableRatesProvider serialResult = calibrationCase.calibrate(SERIAL);
+      ImmutableRatesProvider parallelResult = calibrationCase.calibrate(PARALLEL);
+      if (!serialResult.equals(parallelResult)) {
+        throw new IllegalStateException("Parallel calibration differs from serial: " + calibrationCase.name);
+      }
+      double serial = time(() -> calibrationCase.calibrate(SERIAL));
+      double parallel = time(() -> calibrationCase.calibrate(PARALLEL));
+      System.out.println(String.format(
+          "%-39s  %5d  %11.3f  %13.3f", calibrationCase.name, calibrationCase.nodeCount(), serial, parallel));
+    }
+  }
+
+  // measures the time per calibration in milliseconds, using the best of the measured runs
+  private static double time(Supplier<ImmutableRatesProvider> calibration) {
+    int count = 0;
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      count += calibration.get().getDiscountCurves().size();
+    }
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      long start = System.nanoTime();
+      count += calibration.get().getDiscountCurves().size();
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    if (count == 0) {
+      System.out.println("Avoiding hotspot: " + count);
+    }
+    return best / 1e6;
+  }
+
+  //-------------------------------------------------------------------------
+  // an example curve group, with the market data used to calibrate it
+  private static final class CalibrationCase {
+
+    private final String name;
+    private final RatesCurveGroupDefinition definition;
+    private final MarketData marketData;
+
+    private CalibrationCase(String name, RatesCurveGroupDefinition definition, MarketData marketData) {
+      this.name = name;
+      this.definition = definition;
+      this.marketData = marketData;
+    }
+
+    // loads the curve group and market data from the example files, the FX rates file may be null
+    private static CalibrationCase of(
+        String groupName,
+        LocalDate valuationDate,
+        String curvesSuffix,
+        String quotesFile,
+        String fxRatesFile) {
+
+      Map<CurveGroupName, RatesCurveGroupDefinition> definitions = RatesCalibrationCsvLoader.load(
+          resource("curves/groups" + curvesSuffix + ".csv"),
+          resource("curves/settings" + curvesSuffix + ".csv"),
+          resource("curves/calibrations" + curvesSuffix + ".csv"));
+      RatesCurveGroupDefinition definition =
+          definitions.get(CurveGroupName.of(groupName)).filtered(valuationDate, REF_DATA);
+
+      Map<QuoteId, Double> quotes = QuotesCsvLoader.load(valuationDate, resource("quotes/" + quotesFile));
+      ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(valuationDate).addValueMap(quotes);
+      if (fxRatesFile != null) {
+        Map<FxRateId, FxRate> fxRates = FxRatesCsvLoader.load(valuationDate, resource("quotes/" + fxRatesFile));
+        builder.addValueMap(fxRates);
+      }
+      return new CalibrationCase(groupName, definition, builder.build());
+    }
+
+    private static ResourceLocator resource(String path) {
+      return ResourceLocator.ofFile(new File(PATH_CONFIG + path));
+    }
+
+    private int nodeCount() {
+      return definition.getCurveDefinitions().stream().mapToInt(defn -> defn.getParameterCount()).sum();
+    }
+
+    private ImmutableRatesProvider calibrate(RatesCurveCalibrator calibrator) {
+      return calibrator.calibrate(definition, marketData, REF_DATA);
+    }
+  }
+
+}
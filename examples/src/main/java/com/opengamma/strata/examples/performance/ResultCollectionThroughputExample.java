@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.examples.performance;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.calc.runner.CalculationFunction;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.calc.runner.CalculationTask;
+import com.opengamma.strata.calc.runner.CalculationTaskCell;
+import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.calc.runner.ResultsListener;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.measure.Measures;
+
+/**
+ * Benchmark measuring the rate at which calculation results are collected as the number of threads increases.
+ * <p>
+ * The calculations are trivial, so the time taken is dominated by the cost of scheduling the tasks
+ * and collecting their results. Two paths are measured:
+ * <ul>
+ *   <li>{@code calculate}, where the results are written directly into the grid</li>
+ *   <li>{@code calculateAsync}, where the results are delivered to a listener one at a time</li>
+ * </ul>
+ * The throughput is reported in tasks per second for 1 to 64 threads.
+ */
+public class ResultCollectionThroughputExample {
+
+  /**
+   * The number of tasks in each run.
+   */
+  private static final int TASK_COUNT = 200_000;
+  /**
+   * The number of runs used to warm up the JVM before measuring.
+   */
+  private static final int WARMUP_RUNS = 5;
+  /**
+   * The number of measured runs.
+   */
+  private static final int MEASURED_RUNS = 10;
+  /**
+   * The reference data.
+   */
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+
+  /**
+   * Runs the example, printing the throughput for each number of threads.
+   *
+   * @param args  ignored
+   */
+  public static void main(String[] args) {
+    CalculationTasks tasks = createTasks();
+    MarketData marketData = MarketData.empty(LocalDate.of(2026, 1, 5));
+
+    System.out.println("Threads  calculate (tasks/s)  calculateAsync (tasks/s)");
+    for (int threads = 1; threads <= 64; threads *= 2) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        CalculationTaskRunner runner = CalculationTaskRunner.of(executor);
+        double direct = throughput(() -> runner.calculate(tasks, marketData, REF_DATA));
+        double listener = throughput(() -> {
+          ResultsListener resultsListener = new ResultsListener();
+          runner.calculateAsync(tasks, marketData, REF_DATA, resultsListener);
+          resultsListener.result();
+        });
+        System.out.println(String.format("%7d  %19.0f  %24.0f", threads, direct, listener));
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  // measures the number of tasks per second, using the best of the measured runs
+  private static double throughput(Runnable run) {
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      run.run();
+    }
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      long start = System.nanoTime();
+      run.run();
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return TASK_COUNT * 1e9 / best;
+  }
+
+  // creates one task for each of many targets, each with a single cell
+  private static CalculationTasks createTasks() {
+    TrivialFunction function = new TrivialFunction();
+    List<CalculationTask> tasks = new ArrayList<>(TASK_COUNT);
+    for (int i = 0; i < TASK_COUNT; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, Measures.PAR_RATE, ReportingCurrency.NONE);
+      tasks.add(CalculationTask.of(new TrivialTarget(), function, cell));
+    }
+    return CalculationTasks.of(tasks, ImmutableList.of(Column.of(Measures.PAR_RATE)));
+  }
+
+  //-------------------------------------------------------------------------
+  // a target with no state
+  private static final class TrivialTarget implements CalculationTarget {
+  }
+
+  // a function that returns a constant, so the calculation takes almost no time
+  private static final class TrivialFunction implements CalculationFunction<TrivialTarget> {
+
+    private static final Map<Measure, Result<?>> RESULT =
+        ImmutableMap.of(Measures.PAR_RATE, Result.success(ScenarioArray.of(1d)));
+
+    @Override
+    public Class<TrivialTarget> targetType() {
+      return TrivialTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(Measures.PAR_RATE);
+    }
+
+    @Override
+    public Currency naturalCurrency(TrivialTarget target, ReferenceData refData) {
+      return Currency.USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TrivialTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TrivialTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      return RESULT;
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.examples.performance;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleBiFunction;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Benchmark measuring the memory allocated when pricing a swap using {@link DiscountingSwapProductPricer}.
+ * <p>
+ * A rates provider caches the discount factors and index rates it creates. Each pricing is measured
+ * against the same provider, where the cached views are reused, and against a new provider, where
+ * the views are created on first use as they were before caching. The new providers are created
+ * before the measurement starts, thus only the allocation of the pricing itself is included.
+ * <p>
+ * The allocation is reported in bytes per pricing, using the allocation counter of the current thread,
+ * and the time is the best of the measured runs, in microseconds per pricing.
+ * The allocation counter requires a HotSpot JVM.
+ */
+public class SwapPricingAllocationExample {
+
+  /**
+   * The number of pricings in each run.
+   */
+  private static final int PRICINGS = 1_000;
+  /**
+   * The number of runs used to warm up the JVM before measuring.
+   */
+  private static final int WARMUP_RUNS = 50;
+  /**
+   * The number of measured runs.
+   */
+  private static final int MEASURED_RUNS = 20;
+  /**
+   * The valuation date.
+   */
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 7, 21);
+  /**
+   * The location of the data files.
+   */
+  private static final String PATH_CONFIG = "src/main/resources/example-calibration/";
+  /**
+   * The reference data.
+   */
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The swap pricer.
+   */
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  /**
+   * Runs the example, printing the allocation and time of each pricing.
+   *
+   * @param args  ignored
+   */
+  public static void main(String[] args) {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported()) {
+      System.out.println("Thread allocation counter is not supported by this JVM");
+      return;
+    }
+    ImmutableRatesProvider provider = calibrate();
+    ResolvedSwap swap = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+        .createTrade(VAL_DATE, Tenor.TENOR_10Y, BuySell.BUY, 1_000_000, 0.02, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA);
+
+    System.out.println("Measure                 Provider  Bytes/pricing  Time (us)");
+    measure(threads, "presentValue", provider, swap, (s, p) -> PRICER.presentValue(s, USD, p).getAmount());
+    measure(threads, "presentValueSensitivity", provider, swap,
+        (s, p) -> PRICER.presentValueSensitivity(s, p).build().size());
+  }
+
+  // measures the pricing against the same provider and against new providers
+  private static void measure(
+      ThreadMXBean threads,
+      String name,
+      ImmutableRatesProvider provider,
+      ResolvedSwap swap,
+      ToDoubleBiFunction<ResolvedSwap, ImmutableRatesProvider> pricing) {
+
+    print(name, "same", run(threads, () -> provider, swap, pricing));
+    print(name, "new", run(threads, () -> provider.toBuilder().build(), swap, pricing));
+  }
+
+  // runs the pricing, returning the bytes allocated and the time in nanoseconds of the best measured run
+  // the providers are obtained before each run starts, so that only the pricing is measured
+  private static long[] run(
+      ThreadMXBean threads,
+      Supplier<ImmutableRatesProvider> providerSupplier,
+      ResolvedSwap swap,
+      ToDoubleBiFunction<ResolvedSwap, ImmutableRatesProvider> pricing) {
+
+    long threadId = Thread.currentThread().getId();
+    ImmutableRatesProvider[] providers = new ImmutableRatesProvider[PRICINGS];
+    double total = 0;
+    long bestBytes = Long.MAX_VALUE;
+    long bestTime = Long.MAX_VALUE;
+    for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+      for (int i = 0; i < PRICINGS; i++) {
+        providers[i] = providerSupplier.get();
+      }
+      long startBytes = threads.getThreadAllocatedBytes(threadId);
+      long start = System.nanoTime();
+      for (int i = 0; i < PRICINGS; i++) {
+        total += pricing.applyAsDouble(swap, providers[i]);
+      }
+      long time = System.nanoTime() - start;
+      long bytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+      if (run >= WARMUP_RUNS) {
+        bestTime = Math.min(bestTime, time);
+        bestBytes = Math.min(bestBytes, bytes);
+      }
+    }
+    if (total == 0) {
+      System.out.println("Avoiding hotspot: " + total);
+    }
+    return new long[] {bestBytes, bestTime};
+  }
+
+  private static void print(String name, String providerType, long[] result) {
+    System.out.println(String.format(
+        "%-23s %-8s  %13d  %9.3f", name, providerType, result[0] / PRICINGS, result[1] / 1e3 / PRICINGS));
+  }
+
+  // calibrates the example USD curves
+  private static ImmutableRatesProvider calibrate() {
+    Map<CurveGroupName, RatesCurveGroupDefinition> definitions = RatesCalibrationCsvLoader.load(
+        resource("curves/groups.csv"),
+        resource("curves/settings.csv"),
+        resource("curves/calibrations.csv"));
+    RatesCurveGroupDefinition definition =
+        definitions.get(CurveGroupName.of("USD-DSCON-LIBOR3M")).filtered(VAL_DATE, REF_DATA);
+    Map<QuoteId, Double> quotes = QuotesCsvLoader.load(VAL_DATE, resource("quotes/quotes.csv"));
+    return RatesCurveCalibrator.standard().calibrate(definition, ImmutableMarketData.of(VAL_DATE, quotes), REF_DATA);
+  }
+
+  private static ResourceLocator resource(String path) {
+    return ResourceLocator.ofFile(new File(PATH_CONFIG + path));
+  }
+
+}
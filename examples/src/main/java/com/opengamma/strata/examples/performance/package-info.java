@@ -0,0 +1,14 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Performance examples of Strata.
+ * <p>
+ * This package contains simple benchmarks, run using a main method, measuring the
+ * throughput of key parts of Strata. The results depend on the machine, thus they
+ * are intended for comparison between runs on the same machine.
+ */
+package com.opengamma.strata.examples.performance;
@@ -6,12 +6,19 @@
 package com.opengamma.strata.calc;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
 import com.opengamma.strata.calc.runner.CalculationListener;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.calc.runner.MultiDateCalculationRunner;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -66,6 +73,80 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a work-stealing calculation runner that runs the most expensive calculations first.
+   * <p>
+   * This factory creates a fork-join pool basing the number of threads on the number of available processors.
+   * The calculations are ordered by estimated cost, refined using the time taken in earlier runs,
+   * thus the same runner should be reused across runs.
+   * See {@link CalculationTaskRunner#ofWorkStealing()} for more details.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkStealing() {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofWorkStealing());
+  }
+
+  /**
+   * Creates a calculation runner that uses the specified task runner.
+   * <p>
+   * This allows a calculation runner to be created from any of the {@link CalculationTaskRunner} factories.
+   * Closing the calculation runner closes the task runner.
+   * 
+   * @param taskRunner  the task runner to use
+   * @return the calculation runner
+   */
+  public static CalculationRunner of(CalculationTaskRunner taskRunner) {
+    return new DefaultCalculationRunner(taskRunner);
+  }
+
+  /**
+   * Creates a multi-threaded calculation runner with a separate executor for blocking I/O.
+   * <p>
+   * The calculations are performed using an executor basing the number of threads on the number
+   * of available processors, as per {@link #ofMultiThreaded()}.
+   * The {@linkplain #getIoExecutor() I/O executor} uses virtual threads when running on a JVM
+   * that supports them, and otherwise uses an unbounded pool of daemon threads.
+   * It is intended for use by a market data factory invoking blocking providers, see
+   * {@link MarketDataFactory#withIoExecutor(Executor)}.
+   * <p>
+   * Closing the runner shuts down both executors.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.ofMultiThreadedWithIoExecutor()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofMultiThreadedWithIoExecutor() {
+    return DefaultCalculationRunner.ofMultiThreadedWithIoExecutor();
+  }
+
+  /**
+   * Creates a calculation runner capable of performing calculations, specifying the executors.
+   * <p>
+   * The calculations are performed using the first executor, which is typically a bounded pool
+   * sized for CPU-bound work. The I/O executor is returned by {@link #getIoExecutor()}.
+   * As work on the I/O executor may wait for other I/O work, it should not be limited to one thread.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executors.
+   * 
+   * @param executor  the executor to use for the calculations
+   * @param ioExecutor  the executor to use for blocking I/O
+   * @return the calculation runner
+   */
+  public static CalculationRunner of(ExecutorService executor, ExecutorService ioExecutor) {
+    return DefaultCalculationRunner.of(executor, ioExecutor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -171,6 +252,39 @@ public interface CalculationRunner extends AutoCloseable {
    */
   public abstract CalculationTaskRunner getTaskRunner();
 
+  /**
+   * Gets the executor to use for blocking I/O, such as requests for market data.
+   * <p>
+   * The calculations themselves are CPU-bound and are performed by the task runner.
+   * Work that blocks on I/O, such as requests to an {@link ObservableDataProvider} or
+   * {@link TimeSeriesProvider}, is better performed using a separate executor, so that it does not
+   * hold up the calculations. The market data factory can be configured to use this executor using
+   * {@link MarketDataFactory#withIoExecutor(Executor)}, or when it is created using
+   * {@link MarketDataFactory#of(ObservableDataProvider, TimeSeriesProvider, Executor, Executor, List)}.
+   * <p>
+   * If the runner has no separate I/O executor, as determined by {@link #findIoExecutor()},
+   * this returns an executor that runs the work on the calling thread.
+   * 
+   * @return the executor to use for blocking I/O
+   */
+  public default Executor getIoExecutor() {
+    return findIoExecutor().orElse(MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Finds the separate executor to use for blocking I/O, if the runner has one.
+   * <p>
+   * A {@link MultiDateCalculationRunner} created from this runner configures its market data factory
+   * to use this executor, if present.
+   * <p>
+   * By default, this returns empty.
+   * 
+   * @return the executor to use for blocking I/O, empty if the runner has no separate I/O executor
+   */
+  public default Optional<Executor> findIoExecutor() {
+    return Optional.empty();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Closes any resources held by the component.
@@ -5,8 +5,13 @@
  */
 package com.opengamma.strata.calc;
 
+import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
@@ -28,6 +33,14 @@ class DefaultCalculationRunner implements CalculationRunner {
    * The underlying task runner.
    */
   private final CalculationTaskRunner taskRunner;
+  /**
+   * The executor to use for blocking I/O, null if the runner has no separate I/O executor.
+   */
+  private final Executor ioExecutor;
+  /**
+   * The I/O executor to shut down when the runner is closed, null if not owned by the runner.
+   */
+  private final ExecutorService ownedIoExecutor;
 
   //-------------------------------------------------------------------------
   /**
@@ -59,6 +72,51 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a multi-threaded calculation runner with a separate executor for blocking I/O.
+   * <p>
+   * The I/O executor uses virtual threads if supported by the JVM.
+   * Closing the runner shuts down both executors.
+   * 
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofMultiThreadedWithIoExecutor() {
+    ExecutorService ioExecutor = createIoExecutor();
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofMultiThreaded(), ioExecutor, ioExecutor);
+  }
+
+  /**
+   * Creates a calculation runner capable of performing calculations, specifying the executors.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executors.
+   * 
+   * @param executor  the executor to use for the calculations
+   * @param ioExecutor  the executor to use for blocking I/O
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner of(ExecutorService executor, ExecutorService ioExecutor) {
+    ArgChecker.notNull(ioExecutor, "ioExecutor");
+    return new DefaultCalculationRunner(CalculationTaskRunner.of(executor), ioExecutor, null);
+  }
+
+  // creates an executor that starts a virtual thread for each task, falling back to a cached pool of daemon threads
+  // virtual threads are only available in Java 21 and later, thus the factory method is invoked reflectively
+  static ExecutorService createIoExecutor() {
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException ex) {
+      ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+      ThreadFactory threadFactory = r -> {
+        Thread t = defaultFactory.newThread(r);
+        t.setName("CalculationRunnerIo-" + t.getName());
+        t.setDaemon(true);
+        return t;
+      };
+      return Executors.newCachedThreadPool(threadFactory);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
@@ -66,7 +124,24 @@ class DefaultCalculationRunner implements CalculationRunner {
    * @param taskRunner  the underlying task runner
    */
   DefaultCalculationRunner(CalculationTaskRunner taskRunner) {
+    this(taskRunner, null, null);
+  }
+
+  /**
+   * Creates an instance specifying the underlying task runner and the I/O executor to use.
+   * 
+   * @param taskRunner  the underlying task runner
+   * @param ioExecutor  the executor to use for blocking I/O, null if none
+   * @param ownedIoExecutor  the I/O executor to shut down when the runner is closed, null if none
+   */
+  private DefaultCalculationRunner(
+      CalculationTaskRunner taskRunner,
+      Executor ioExecutor,
+      ExecutorService ownedIoExecutor) {
+
     this.taskRunner = ArgChecker.notNull(taskRunner, "taskRunner");
+    this.ioExecutor = ioExecutor;
+    this.ownedIoExecutor = ownedIoExecutor;
   }
 
   //-------------------------------------------------------------------------
@@ -127,9 +202,17 @@ class DefaultCalculationRunner implements CalculationRunner {
     return taskRunner;
   }
 
+  @Override
+  public Optional<Executor> findIoExecutor() {
+    return Optional.ofNullable(ioExecutor);
+  }
+
   @Override
   public void close() {
     taskRunner.close();
+    if (ownedIoExecutor != null) {
+      ownedIoExecutor.shutdown();
+    }
   }
 
 }
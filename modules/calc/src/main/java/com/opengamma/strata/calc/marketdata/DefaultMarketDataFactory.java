@@ -5,21 +5,29 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import static com.opengamma.strata.collect.Guavate.joinFuture;
 import static com.opengamma.strata.collect.Guavate.not;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.metrics.Metrics;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
@@ -30,6 +38,26 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * The market data is built one level of the dependency tree at a time.
+ * If an executor is specified, the non-observable values in each level are built in parallel,
+ * as they are independent of one another. The market data functions must be thread-safe in this case.
+ * <p>
+ * The providers are invoked once for each level, with all the observable values and all the time-series
+ * needed by the level requested in one batch. As observable values and time-series have no dependencies,
+ * they are all requested when building the first level.
+ * <p>
+ * If an I/O executor is specified, the providers are invoked asynchronously using it.
+ * The requests for a level run while the non-observable values in that level are built,
+ * thus slow blocking providers do not hold up the building of calibrated data such as curves.
+ * The providers must be thread-safe in this case.
+ * <p>
+ * By default, perturbations are applied to the market data as it is built.
+ * If lazy perturbations are enabled, each perturbation is applied the first time the
+ * perturbed values are requested, thus no work is done for values that are never used.
+ * <p>
+ * If a persistent cache is specified, the values built by the market data functions are stored in the cache,
+ * and are read from the cache instead of being built again if the inputs are unchanged.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -42,6 +70,18 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** The executor used to build independent items of market data in parallel, null to build sequentially. */
+  private final Executor executor;
+
+  /** The executor used to invoke the providers, null to invoke them on the calling thread. */
+  private final Executor ioExecutor;
+
+  /** Whether perturbations are applied when the perturbed values are first requested. */
+  private final boolean lazyPerturbations;
+
+  /** The persistent cache of values built by the market data functions, null if there is no cache. */
+  private final PersistentMarketDataCache cache;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +92,60 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, null, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series,
+   * building independent items of market data in parallel using the executor.
+   * <p>
+   * The market data functions are used to build the market data.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build market data in parallel, null to build sequentially
+   * @param functions  the functions that create the market data
+   */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, executor, null, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series,
+   * specifying the executors used to build market data and to invoke the providers.
+   * <p>
+   * The market data functions are used to build the market data.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build market data in parallel, null to build sequentially
+   * @param ioExecutor  the executor used to invoke the providers, null to invoke them on the calling thread
+   * @param functions  the functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      Executor ioExecutor,
       List<MarketDataFunction<?, ?>> functions) {
 
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.executor = executor;
+    this.ioExecutor = ioExecutor;
+    this.lazyPerturbations = false;
+    this.cache = null;
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -69,6 +155,40 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     this.functions = ImmutableMap.copyOf(builderMap);
   }
 
+  // creates a copy of the factory, specifying the I/O executor, whether perturbations are applied lazily and the cache
+  private DefaultMarketDataFactory(
+      DefaultMarketDataFactory base,
+      Executor ioExecutor,
+      boolean lazyPerturbations,
+      PersistentMarketDataCache cache) {
+
+    this.observableDataProvider = base.observableDataProvider;
+    this.timeSeriesProvider = base.timeSeriesProvider;
+    this.functions = base.functions;
+    this.executor = base.executor;
+    this.ioExecutor = ioExecutor;
+    this.lazyPerturbations = lazyPerturbations;
+    this.cache = cache;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataFactory withLazyPerturbations() {
+    return lazyPerturbations ? this : new DefaultMarketDataFactory(this, ioExecutor, true, cache);
+  }
+
+  @Override
+  public MarketDataFactory withPersistentCache(PersistentMarketDataCache cache) {
+    ArgChecker.notNull(cache, "cache");
+    return new DefaultMarketDataFactory(this, ioExecutor, lazyPerturbations, cache);
+  }
+
+  @Override
+  public MarketDataFactory withIoExecutor(Executor ioExecutor) {
+    ArgChecker.notNull(ioExecutor, "ioExecutor");
+    return new DefaultMarketDataFactory(this, ioExecutor, lazyPerturbations, cache);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public BuiltMarketData create(
@@ -82,6 +202,35 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return new BuiltMarketData(smd);
   }
 
+  @Override
+  public BuiltMarketData update(
+      BuiltMarketData previousData,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData,
+      ReferenceData refData) {
+
+    if (!previousData.getValuationDate().equals(suppliedData.getValuationDate())) {
+      return create(requirements, marketDataConfig, suppliedData, refData);
+    }
+    // The dependency tree is built from the supplied data alone, so it links the changed data,
+    // such as quotes, to everything built from it, such as curve groups and the curves within them
+    ScenarioMarketData md = ScenarioMarketData.of(1, suppliedData);
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, md, marketDataConfig, functions);
+    Set<MarketDataId<?>> affectedIds = new HashSet<>();
+    root.findAffected(changedIds, affectedIds);
+
+    // The data that is not affected is supplied from the previous data, thus only the affected data is built
+    // Time series are leaves of the tree, so only those that have themselves changed are requested again
+    ImmutableMarketData unaffectedData = ImmutableMarketData.builder(previousData.getValuationDate())
+        .add(previousData)
+        .removeValueIf(affectedIds::contains)
+        .removeTimeSeriesIf(changedIds::contains)
+        .build();
+    return create(requirements, marketDataConfig, suppliedData.combinedWith(unaffectedData), refData);
+  }
+
   @Override
   public BuiltScenarioMarketData createMultiScenario(
       MarketDataRequirements requirements,
@@ -138,13 +287,37 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       // The requirements contained in the leaf nodes
       MarketDataRequirements leafRequirements = pair.getSecond();
 
-      // Time series of observable data ------------------------------------------------------------
+      // Requests to the providers -----------------------------------------------------------------
 
-      // Build any time series that are required but not available
-      leafRequirements.getTimeSeries().stream()
+      // Request any time series that are required but not available
+      Set<ObservableId> timeSeriesIds = leafRequirements.getTimeSeries().stream()
           .filter(id -> marketData.getTimeSeries(id).isEmpty())
           .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+          .collect(toImmutableSet());
+      CompletableFuture<Map<ObservableId, Result<LocalDateDoubleTimeSeries>>> timeSeriesFuture =
+          provideTimeSeries(timeSeriesIds);
+
+      // Request observable data that is not already available
+      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+          .filter(not(marketData::containsValue))
+          .filter(not(suppliedData::containsValue))
+          .collect(toImmutableSet());
+      CompletableFuture<Map<ObservableId, Result<Double>>> observableFuture = provideObservableData(observableIds);
+
+      // Non-observable data is built while any asynchronous requests to the providers are running
+      Set<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
+          .filter(not(marketData::containsValue))
+          .filter(not(suppliedData::containsValue))
+          .collect(toImmutableSet());
+
+      Map<MarketDataId<?>, Result<MarketDataBox<?>>> nonObservableResults =
+          buildNonObservableData(nonObservableIds, marketDataConfig, marketData, refData);
+
+      // Time series of observable data ------------------------------------------------------------
+
+      // Add the time series from the provider
+      MapStream.of(joinFuture(timeSeriesFuture))
+          .forEach((id, res) -> dataBuilder.addTimeSeriesResult(id, res));
 
       // Copy supplied time series to the scenario data
       leafRequirements.getTimeSeries().stream()
@@ -153,18 +326,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
 
       // Single values of observable data -----------------------------------------------------------
 
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
+      // Add the observable data from the provider
+      MapStream.of(joinFuture(observableFuture))
+          .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
 
       // Copy observable data from the supplied data to the builder, applying any matching perturbations
       leafRequirements.getObservables().stream()
@@ -173,15 +337,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
 
       // Non-observable data -----------------------------------------------------------------------
 
-      // Filter out IDs for the data that is already available and build the rest
-      Set<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      Map<MarketDataId<?>, Result<MarketDataBox<?>>> nonObservableResults =
-          buildNonObservableData(nonObservableIds, marketDataConfig, marketData, refData);
-
+      // Add the data that was built
       MapStream.of(nonObservableResults)
           .forEach((id, result) -> addResult(id, result, refData, scenarioDefinition, dataBuilder));
 
@@ -202,6 +358,31 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   }
 
   //-------------------------------------------------------------------------
+  // requests the time series from the provider in one batch, asynchronously if there is an I/O executor
+  private CompletableFuture<Map<ObservableId, Result<LocalDateDoubleTimeSeries>>> provideTimeSeries(
+      Set<ObservableId> ids) {
+
+    if (ids.isEmpty()) {
+      return CompletableFuture.completedFuture(ImmutableMap.of());
+    }
+    if (ioExecutor == null) {
+      return CompletableFuture.completedFuture(timeSeriesProvider.provideTimeSeries(ids));
+    }
+    return timeSeriesProvider.provideTimeSeriesAsync(ids, ioExecutor);
+  }
+
+  // requests the observable data from the provider in one batch, asynchronously if there is an I/O executor
+  private CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableData(Set<ObservableId> ids) {
+    // Observable data is requested in bulk so it can be efficiently requested from data provider in one operation
+    if (ids.isEmpty()) {
+      return CompletableFuture.completedFuture(ImmutableMap.of());
+    }
+    if (ioExecutor == null) {
+      return CompletableFuture.completedFuture(observableDataProvider.provideObservableData(ids));
+    }
+    return observableDataProvider.provideObservableDataAsync(ids, ioExecutor);
+  }
+
   /**
    * Builds items of non-observable market data using a market data function.
    *
@@ -224,25 +405,50 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     // parameter information. When the functions are extracted from the map and used it's impossible to
     // convince the compiler the operations are safe, although the logic guarantees it.
 
+    long start = Metrics.startTime();
+    MarketDataFunction marketDataFunction = findFunction(id);
+    Result<MarketDataBox<?>> result = cache != null ?
+        Result.of(() -> cache.build(marketDataFunction, id, marketDataConfig, suppliedData, refData)) :
+        Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    Metrics.recordTime("MarketData", id, start, result.isSuccess());
+    return result;
+  }
+
+  // finds the function for the ID, throwing an exception if there is none
+  private MarketDataFunction<?, ?> findFunction(MarketDataId<?> id) {
     // This cast removes a spurious warning
+    @SuppressWarnings("unchecked")
     Class<? extends MarketDataId<?>> idClass = (Class<? extends MarketDataId<?>>) id.getClass();
-    MarketDataFunction marketDataFunction = functions.get(idClass);
+    MarketDataFunction<?, ?> marketDataFunction = functions.get(idClass);
 
     if (marketDataFunction == null) {
       throw new IllegalStateException("No market data function available for market data ID of type " + idClass.getName());
     }
-    return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    return marketDataFunction;
   }
 
-  @SuppressWarnings("unchecked")
   private Map<MarketDataId<?>, Result<MarketDataBox<?>>> buildNonObservableData(
       Set<? extends MarketDataId<?>> ids,
       MarketDataConfig marketDataConfig,
       BuiltScenarioMarketData marketData,
       ReferenceData refData) {
 
-    return ids.stream()
-        .collect(toImmutableMap(id -> id, id -> buildNonObservableData(id, marketDataConfig, marketData, refData)));
+    if (executor == null || ids.size() < 2) {
+      return ids.stream()
+          .collect(toImmutableMap(id -> id, id -> buildNonObservableData(id, marketDataConfig, marketData, refData)));
+    }
+    // The values in a level only depend on values in earlier levels, so they can be built in parallel.
+    // The function for each ID is checked before submission so a missing function fails as in the sequential case.
+    // Result.of() catches any exceptions thrown by the functions, so joining the futures does not throw
+    ids.forEach(this::findFunction);
+    Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> futures = ids.stream()
+        .collect(toImmutableMap(
+            id -> id,
+            id -> CompletableFuture.supplyAsync(
+                () -> buildNonObservableData(id, marketDataConfig, marketData, refData), executor)));
+    return MapStream.of(futures)
+        .mapValues(future -> future.join())
+        .toMap();
   }
 
   /**
@@ -327,9 +533,14 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       // are compatible
       PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
       MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
-      // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
-      Result<MarketDataBox<?>> result = Result.of(() -> mapping.applyPerturbation(objectValue, refData));
-      builder.addResult(id, result);
+      if (lazyPerturbations) {
+        // The perturbation is applied when the perturbed values are first requested
+        builder.addBox(id, new LazyPerturbedMarketDataBox<>(objectValue, mapping, refData));
+      } else {
+        // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
+        Result<MarketDataBox<?>> result = Result.of(() -> mapping.applyPerturbation(objectValue, refData));
+        builder.addResult(id, result);
+      }
     } else {
       builder.addBox(id, value);
     }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.io.Serializable;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.function.ObjIntFunction;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * A box containing market data values for multiple scenarios, derived by applying a perturbation when first used.
+ * <p>
+ * The box holds the base value and the perturbation mapping, and applies the perturbation the first time
+ * any of the values are requested, caching the perturbed values. Thus no work is done for values that
+ * are never used. The number of scenarios and the market data type are known without applying the perturbation.
+ * <p>
+ * If the perturbation fails, an exception is thrown each time a value is requested,
+ * rather than the failure being recorded when the market data is built.
+ * <p>
+ * This class is thread-safe. When serialized, the perturbation is applied and the perturbed box is serialized.
+ *
+ * @param <T>  the type of data held in the box
+ */
+final class LazyPerturbedMarketDataBox<T> implements MarketDataBox<T>, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /** The base value. */
+  private final MarketDataBox<T> baseValue;
+  /** The perturbation mapping to apply to the base value. */
+  private final PerturbationMapping<T> mapping;
+  /** The reference data used when applying the perturbation. */
+  private final ReferenceData refData;
+  /** The perturbed values, null until the perturbation is applied. */
+  private volatile Result<MarketDataBox<T>> perturbed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance that applies the perturbation to the base value when first used.
+   *
+   * @param baseValue  the base value
+   * @param mapping  the perturbation mapping to apply
+   * @param refData  the reference data used when applying the perturbation
+   */
+  LazyPerturbedMarketDataBox(MarketDataBox<T> baseValue, PerturbationMapping<T> mapping, ReferenceData refData) {
+    this.baseValue = baseValue;
+    this.mapping = mapping;
+    this.refData = refData;
+  }
+
+  // applies the perturbation if it has not already been applied
+  private MarketDataBox<T> perturbed() {
+    Result<MarketDataBox<T>> result = perturbed;
+    if (result == null) {
+      synchronized (this) {
+        result = perturbed;
+        if (result == null) {
+          // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
+          result = Result.of(() -> mapping.applyPerturbation(baseValue, refData));
+          perturbed = result;
+        }
+      }
+    }
+    return result.getValue();
+  }
+
+  // the perturbed box is serialized, as the perturbation and reference data are not needed once applied
+  private Object writeReplace() {
+    return perturbed();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public T getSingleValue() {
+    return perturbed().getSingleValue();
+  }
+
+  @Override
+  public ScenarioArray<T> getScenarioValue() {
+    MarketDataBox<T> box = perturbed();
+    return box.isSingleValue() ?
+        ScenarioArray.ofSingleValue(getScenarioCount(), box.getSingleValue()) :
+        box.getScenarioValue();
+  }
+
+  @Override
+  public T getValue(int scenarioIndex) {
+    return perturbed().getValue(scenarioIndex);
+  }
+
+  @Override
+  public boolean isSingleValue() {
+    return false;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return mapping.getScenarioCount();
+  }
+
+  @Override
+  public Class<?> getMarketDataType() {
+    return baseValue.getMarketDataType();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public <R> MarketDataBox<R> map(Function<T, R> fn) {
+    return perturbed().map(fn);
+  }
+
+  @Override
+  public <R> MarketDataBox<R> mapWithIndex(int scenarioCount, ObjIntFunction<T, R> fn) {
+    return perturbed().mapWithIndex(scenarioCount, fn);
+  }
+
+  @Override
+  public <U, R> MarketDataBox<R> combineWith(MarketDataBox<U> other, BiFunction<T, U, R> fn) {
+    return perturbed().combineWith(other, fn);
+  }
+
+  @Override
+  public Stream<T> stream() {
+    return perturbed().stream();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    Result<MarketDataBox<T>> result = perturbed;
+    return result != null && result.isSuccess() ?
+        result.getValue().toString() :
+        "LazyPerturbedMarketDataBox[" + baseValue + ", " + mapping + "]";
+  }
+
+}
@@ -6,11 +6,16 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -74,6 +79,127 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions);
   }
 
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series,
+   * using an executor to build independent items of market data in parallel.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Market data is built one level of the dependency tree at a time, with the non-observable
+   * values in each level, such as independent curve groups and surfaces, built in parallel.
+   * As such, the market data functions must be thread-safe.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param executor  the executor used to build market data in parallel
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    ArgChecker.notNull(executor, "executor");
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, executor, functions);
+  }
+
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series,
+   * using one executor to build market data in parallel and another to invoke the providers.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Market data is built one level of the dependency tree at a time, with the non-observable
+   * values in each level built in parallel using the executor, as described in
+   * {@link #of(ObservableDataProvider, TimeSeriesProvider, Executor, List)}.
+   * If the executor is null, the values are built sequentially on the calling thread.
+   * <p>
+   * The providers are invoked using the I/O executor, with each time-series requested separately.
+   * The requests for each level run while the non-observable values in the level are built.
+   * This is intended for providers that block on I/O, such as those backed by a database or quote store,
+   * where an executor with many threads, such as one using virtual threads, allows the requests to
+   * proceed without holding up the threads used for calibration.
+   * See {@link CalculationRunner#getIoExecutor()}.
+   * As such, the market data functions and the providers must be thread-safe.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executors.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param executor  the executor used to build market data in parallel, null to build sequentially
+   * @param ioExecutor  the executor used to invoke the providers
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      Executor ioExecutor,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    ArgChecker.notNull(ioExecutor, "ioExecutor");
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, executor, ioExecutor, functions);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a factory that applies perturbations lazily.
+   * <p>
+   * By default, when building market data for scenarios, the perturbations in the {@link ScenarioDefinition}
+   * are applied to each matching value as it is built. The returned factory instead records the base value
+   * and the perturbation, applying the perturbation the first time the perturbed values are requested from
+   * the market data and caching the result. This avoids the work of perturbing values that are never used,
+   * such as when applying a large matrix of shocks to many quotes.
+   * <p>
+   * When perturbations are applied lazily, a perturbation that fails is not reported as a failure
+   * in the built market data. Instead, an exception is thrown when the perturbed values are requested.
+   * <p>
+   * By default, this returns this factory, applying perturbations eagerly.
+   *
+   * @return a factory that applies perturbations lazily
+   */
+  public default MarketDataFactory withLazyPerturbations() {
+    return this;
+  }
+
+  /**
+   * Returns a factory that uses a persistent cache of built market data.
+   * <p>
+   * The values built by the market data functions, such as calibrated curves, are stored in the cache.
+   * When the same value is required again with the same inputs, including in a later process,
+   * it is read from the cache instead of being built again.
+   * See {@link PersistentMarketDataCache} for details of how the inputs are compared.
+   * <p>
+   * By default, this returns this factory, building all market data.
+   *
+   * @param cache  the cache of built market data
+   * @return a factory that uses the cache
+   */
+  public default MarketDataFactory withPersistentCache(PersistentMarketDataCache cache) {
+    return this;
+  }
+
+  /**
+   * Returns a factory that invokes the providers using the specified executor.
+   * <p>
+   * The providers of observable data and time-series are invoked using the I/O executor,
+   * as described in {@link #of(ObservableDataProvider, TimeSeriesProvider, Executor, Executor, List)}.
+   * Any I/O executor previously specified is replaced.
+   * This is typically used to apply the {@linkplain CalculationRunner#getIoExecutor() I/O executor}
+   * of a calculation runner to a factory.
+   * <p>
+   * By default, this returns this factory, invoking the providers on the calling thread.
+   *
+   * @param ioExecutor  the executor used to invoke the providers
+   * @return a factory that invokes the providers using the executor
+   */
+  public default MarketDataFactory withIoExecutor(Executor ioExecutor) {
+    return this;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data.
@@ -94,6 +220,37 @@ public interface MarketDataFactory {
       MarketData suppliedData,
       ReferenceData refData);
 
+  /**
+   * Rebuilds a set of market data following a change to some of the data it was built from.
+   * <p>
+   * This is used when a small part of the supplied data changes, such as a few quotes ticking intraday.
+   * Only the market data that depends, directly or indirectly, on the changed IDs is built again.
+   * The remaining data is taken from the previously built market data.
+   * <p>
+   * The changed IDs must include every ID whose value in the supplied data differs from the data
+   * used to build the previous market data. If the valuation date has changed, all data is built again.
+   * <p>
+   * The default implementation builds all the market data again.
+   *
+   * @param previousData  the market data previously built from the requirements
+   * @param changedIds  the IDs of the supplied data that have changed
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param suppliedData  market data supplied by the user
+   * @param refData  the reference data
+   * @return the market data required by the calculations plus details of any data that could not be built
+   */
+  public default BuiltMarketData update(
+      BuiltMarketData previousData,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData,
+      ReferenceData refData) {
+
+    return create(requirements, marketDataConfig, suppliedData, refData);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds the market data required for performing calculations for a set of scenarios.
@@ -9,6 +9,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.ArgChecker;
@@ -164,6 +165,28 @@ final class MarketDataNode {
     return Pair.of(node, requirements);
   }
 
+  /**
+   * Finds the market data that depends, directly or indirectly, on any of the specified IDs.
+   * <p>
+   * The IDs of the affected nodes, including any nodes whose own ID is in the specified set,
+   * are added to the set of affected IDs.
+   *
+   * @param changedIds  the IDs of the market data that has changed
+   * @param affectedIds  the set to which the IDs of the affected nodes are added
+   * @return true if this node is affected by the changes
+   */
+  boolean findAffected(Set<? extends MarketDataId<?>> changedIds, Set<MarketDataId<?>> affectedIds) {
+    boolean affected = id != null && changedIds.contains(id);
+    for (MarketDataNode child : dependencies) {
+      // every child is visited, so all affected nodes are found, not just the first
+      affected |= child.findAffected(changedIds, affectedIds);
+    }
+    if (affected && id != null) {
+      affectedIds.add(id);
+    }
+    return affected;
+  }
+
   /**
    * Returns true if this node has no children.
    *
@@ -9,6 +9,8 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
@@ -52,4 +54,25 @@ public interface ObservableDataProvider {
    */
   public abstract Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> identifiers);
 
+  /**
+   * Provides market data for the specified identifiers asynchronously.
+   * <p>
+   * This is used by the market data factory when an executor is available for I/O.
+   * The returned future completes with a map containing one entry for each identifier that was requested,
+   * as for {@link #provideObservableData(Set)}.
+   * <p>
+   * By default, {@link #provideObservableData(Set)} is invoked using the executor.
+   * Implementations that have a native asynchronous API should override this method.
+   *
+   * @param identifiers  the market data identifiers to find
+   * @param executor  the executor that may be used to perform blocking requests
+   * @return a future completing with the map of market data values, keyed by identifier
+   */
+  public default CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+      Set<? extends ObservableId> identifiers,
+      Executor executor) {
+
+    return CompletableFuture.supplyAsync(() -> provideObservableData(identifiers), executor);
+  }
+
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.io.SerializedValue;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A persistent cache of built market data, stored as files in a local directory.
+ * <p>
+ * Building market data such as calibrated curves can be expensive, and the same values are
+ * often built again when a process is restarted, even though none of the inputs have changed.
+ * When a market data factory has a cache, each value built by a {@link MarketDataFunction}
+ * is stored in the cache, and is read back instead of being built again if the inputs are unchanged.
+ * <p>
+ * The cache is content-addressed. Each value is keyed by a digest of the namespace of the cache, the function,
+ * the market data ID, the valuation date, the market data configuration and the values of the
+ * market data required to build it, as returned by {@link MarketDataFunction#requirements}.
+ * If any of these change, the key changes and the value is built again.
+ * The whole of the market data configuration is used, as it is not known which part a function uses.
+ * <p>
+ * A function that is a Joda-Bean or {@code Serializable} is part of the key in serialized form,
+ * thus functions with different state build different values. Other functions are only identified by their type.
+ * If such a function has state that affects the values it builds, for example the calibration measures
+ * used to calibrate curves, factories with differently configured functions must use caches with
+ * different namespaces, or different directories.
+ * <p>
+ * The key does not contain any version of the code. The cache must be {@linkplain #clear() cleared},
+ * or the namespace changed, if the code that builds the values changes, for example the calibration.
+ * Reference data is not part of the key either. The cache must be cleared if the reference data changes,
+ * for example if a holiday calendar is updated.
+ * <p>
+ * Keys and values are serialized using {@link SerializedValue}, thus as Joda-Beans in binary form
+ * where possible. Values that cannot be serialized are built as normal and are not cached.
+ * Files that cannot be read, for example because the serialized classes have changed, are replaced.
+ * <p>
+ * This class is thread-safe. Files are written atomically, thus a directory can be shared
+ * between processes.
+ */
+public final class PersistentMarketDataCache {
+
+  /** The logger. */
+  private static final Logger log = LoggerFactory.getLogger(PersistentMarketDataCache.class);
+  /** The suffix of the cache files. */
+  private static final String SUFFIX = ".bin";
+
+  /**
+   * The directory containing the cache files.
+   */
+  private final Path directory;
+  /**
+   * The namespace, which is part of the key of every value.
+   */
+  private final String namespace;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that stores the cached values in the specified directory.
+   * <p>
+   * The directory is created if it does not exist.
+   * The namespace is empty.
+   *
+   * @param directory  the directory containing the cache files
+   * @return the cache
+   * @throws UncheckedIOException if the directory cannot be created
+   */
+  public static PersistentMarketDataCache of(Path directory) {
+    return of(directory, "");
+  }
+
+  /**
+   * Obtains an instance that stores the cached values in the specified directory, specifying the namespace.
+   * <p>
+   * The directory is created if it does not exist.
+   * The namespace is part of the key of every value, thus caches with different namespaces never share values,
+   * even if they share a directory. It can be used to distinguish factories whose functions are configured
+   * differently, or to identify the version of the code that builds the values.
+   *
+   * @param directory  the directory containing the cache files
+   * @param namespace  the namespace, which is part of the key of every value
+   * @return the cache
+   * @throws UncheckedIOException if the directory cannot be created
+   */
+  public static PersistentMarketDataCache of(Path directory, String namespace) {
+    ArgChecker.notNull(directory, "directory");
+    ArgChecker.notNull(namespace, "namespace");
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return new PersistentMarketDataCache(directory, namespace);
+  }
+
+  // restricted constructor
+  private PersistentMarketDataCache(Path directory, String namespace) {
+    this.directory = directory;
+    this.namespace = namespace;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the directory containing the cache files.
+   *
+   * @return the directory
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Gets the namespace, which is part of the key of every value.
+   *
+   * @return the namespace
+   */
+  public String getNamespace() {
+    return namespace;
+  }
+
+  /**
+   * Removes all the values from the cache.
+   *
+   * @throws UncheckedIOException if the files cannot be deleted
+   */
+  public void clear() {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+      for (Path file : files) {
+        Files.deleteIfExists(file);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds an item of market data using the function, returning the cached value if the inputs are unchanged.
+   * <p>
+   * If the key cannot be calculated, for example because the inputs cannot be serialized,
+   * the value is built without using the cache.
+   *
+   * @param <T>  the type of the market data
+   * @param <I>  the type of the market data ID
+   * @param function  the function used to build the market data
+   * @param id  the ID of the market data
+   * @param marketDataConfig  configuration specifying how the market data should be built
+   * @param marketData  a set of market data including any data required to build the requested data
+   * @param refData  the reference data
+   * @return the built market data
+   */
+  <T, I extends MarketDataId<? extends T>> MarketDataBox<T> build(
+      MarketDataFunction<T, I> function,
+      I id,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    Path file;
+    try {
+      file = directory.resolve(key(function, id, marketDataConfig, marketData) + SUFFIX);
+    } catch (RuntimeException ex) {
+      // the inputs could not be serialized or are not available, thus the value cannot be cached
+      log.debug("Unable to create cache key for market data '{}': {}", id, ex.getMessage());
+      return function.build(id, marketDataConfig, marketData, refData);
+    }
+    MarketDataBox<T> cached = read(file);
+    if (cached != null) {
+      return cached;
+    }
+    MarketDataBox<T> built = function.build(id, marketDataConfig, marketData, refData);
+    write(file, built);
+    return built;
+  }
+
+  // calculates the key from the namespace, the function and the inputs
+  private String key(
+      MarketDataFunction<?, ?> function,
+      MarketDataId<?> id,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData marketData) {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    MarketDataRequirements requirements = ((MarketDataFunction) function).requirements(id, marketDataConfig);
+    Hasher hasher = Hashing.sha256().newHasher();
+    putSerialized(hasher, namespace);
+    putFunction(hasher, function);
+    hasher.putInt(marketData.getScenarioCount());
+    putSerialized(hasher, id);
+    putSerialized(hasher, marketData.getValuationDate());
+    putSerialized(hasher, marketDataConfig);
+    for (ObservableId observableId : requirements.getObservables()) {
+      putSerialized(hasher, observableId);
+      putSerialized(hasher, marketData.getValue(observableId));
+    }
+    for (MarketDataId<?> nonObservableId : requirements.getNonObservables()) {
+      putSerialized(hasher, nonObservableId);
+      putSerialized(hasher, marketData.getValue(nonObservableId));
+    }
+    for (ObservableId timeSeriesId : requirements.getTimeSeries()) {
+      putSerialized(hasher, timeSeriesId);
+      putSerialized(hasher, marketData.getTimeSeries(timeSeriesId));
+    }
+    return hasher.hash().toString();
+  }
+
+  // adds the function to the key, in serialized form if possible so that the state of the function is included
+  private static void putFunction(Hasher hasher, MarketDataFunction<?, ?> function) {
+    if (function instanceof Bean || function instanceof Serializable) {
+      putSerialized(hasher, function);
+    } else {
+      putSerialized(hasher, function.getClass().getName());
+    }
+  }
+
+  // adds the serialized form of the value to the key, prefixed by the length so the key is unambiguous
+  private static void putSerialized(Hasher hasher, Object value) {
+    byte[] bytes = serialize(value);
+    hasher.putInt(bytes.length);
+    hasher.putBytes(bytes);
+  }
+
+  // serializes a value, throwing an exception if it cannot be serialized
+  @SuppressWarnings("unchecked")
+  private static byte[] serialize(Object value) {
+    SerializedValue serialized = SerializedValue.serialize((Class<Object>) value.getClass(), value);
+    return JodaBeanSer.COMPACT.binWriter().write(serialized);
+  }
+
+  // reads the cached value, returning null if there is no cached value or the file cannot be read
+  @SuppressWarnings("unchecked")
+  private static <T> MarketDataBox<T> read(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      byte[] bytes = Files.readAllBytes(file);
+      SerializedValue serialized = JodaBeanSer.COMPACT.binReader().read(bytes, SerializedValue.class);
+      return serialized.deserialize(MarketDataBox.class);
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Unable to read cached market data from '{}', the value will be built: {}", file, ex.getMessage());
+      return null;
+    }
+  }
+
+  // writes the value to the cache, using a temporary file so that other readers never see a partial file
+  private void write(Path file, MarketDataBox<?> value) {
+    Path tempFile = null;
+    try {
+      byte[] bytes = serialize(value);
+      tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      Files.write(tempFile, bytes);
+      Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | RuntimeException ex) {
+      log.debug("Unable to cache market data in '{}': {}", file, ex.getMessage());
+      deleteQuietly(tempFile);
+    }
+  }
+
+  // deletes a file, ignoring any errors
+  private static void deleteQuietly(Path file) {
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException ex) {
+        // ignored, the file is not used
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return namespace.isEmpty() ?
+        "PersistentMarketDataCache[" + directory + "]" :
+        "PersistentMarketDataCache[" + directory + ", " + namespace + "]";
+  }
+
+}
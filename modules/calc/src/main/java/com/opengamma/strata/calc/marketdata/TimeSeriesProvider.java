@@ -5,6 +5,14 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.ObservableId;
@@ -53,4 +61,51 @@ public interface TimeSeriesProvider {
    */
   public abstract Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId identifier);
 
+  /**
+   * Provides the time-series for the specified identifiers.
+   * <p>
+   * The implementation will provide a time-series for each identifier.
+   * If a time-series cannot be obtained for an identifier, a failure will be returned.
+   * The returned map must contain one entry for each identifier that was requested.
+   * <p>
+   * By default, each time-series is requested separately using {@link #provideTimeSeries(ObservableId)}.
+   * Implementations that can request many time-series in one operation should override this method.
+   *
+   * @param identifiers  the market data identifiers to find
+   * @return the map of time-series, keyed by identifier
+   */
+  public default Map<ObservableId, Result<LocalDateDoubleTimeSeries>> provideTimeSeries(
+      Set<? extends ObservableId> identifiers) {
+
+    return identifiers.stream()
+        .collect(toImmutableMap(id -> id, id -> provideTimeSeries(id)));
+  }
+
+  /**
+   * Provides the time-series for the specified identifiers asynchronously.
+   * <p>
+   * This is used by the market data factory when an executor is available for I/O.
+   * The returned future completes with a map containing one entry for each identifier that was requested,
+   * as for {@link #provideTimeSeries(Set)}.
+   * <p>
+   * By default, each time-series is requested separately using the executor, so the requests
+   * for different identifiers can block concurrently. Implementations that can request many
+   * time-series in one operation, or that have a native asynchronous API, should override this method.
+   *
+   * @param identifiers  the market data identifiers to find
+   * @param executor  the executor that may be used to perform blocking requests
+   * @return a future completing with the map of time-series, keyed by identifier
+   */
+  public default CompletableFuture<Map<ObservableId, Result<LocalDateDoubleTimeSeries>>> provideTimeSeriesAsync(
+      Set<? extends ObservableId> identifiers,
+      Executor executor) {
+
+    Map<ObservableId, CompletableFuture<Result<LocalDateDoubleTimeSeries>>> futures = identifiers.stream()
+        .collect(toImmutableMap(
+            id -> id,
+            id -> CompletableFuture.supplyAsync(() -> provideTimeSeries(id), executor)));
+    return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+        .thenApply(ignored -> MapStream.of(futures).mapValues(future -> future.join()).toMap());
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import java.io.Serializable;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
@@ -22,7 +23,12 @@ import com.opengamma.strata.calc.Measure;
  * @param <R> the type of the measure calculated by the function
  */
 public abstract class AbstractDerivedCalculationFunction<T extends CalculationTarget, R>
-    implements DerivedCalculationFunction<T, R> {
+    implements DerivedCalculationFunction<T, R>, Serializable {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
 
   /** The target type handled by the function, often a trade. */
   private final Class<T> targetType;
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation function that can calculate measures for many targets in a single call.
+ * <p>
+ * The calculation runner groups tasks that share the same function, parameters and measures
+ * into batches of up to {@link #batchSize()} targets. Each batch is passed to
+ * {@link #calculateBatch(List, Set, CalculationParameters, ScenarioMarketData, ReferenceData)},
+ * allowing the function to resolve market data, such as curves and FX rates, once per batch
+ * rather than once per target. This is of most benefit for large books of similar trades.
+ * <p>
+ * If the batch calculation throws an exception, the runner falls back to calculating each target
+ * individually using {@code calculate}, thus a failure only affects the target that caused it.
+ *
+ * @param <T>  the type of target handled by this function
+ */
+public interface BatchCalculationFunction<T extends CalculationTarget> extends CalculationFunction<T> {
+
+  /**
+   * Returns the maximum number of targets to be calculated in a single batch.
+   * <p>
+   * Smaller batches allow the runner to spread the work over more threads.
+   * The default is 100.
+   *
+   * @return the maximum batch size, greater than zero
+   */
+  public default int batchSize() {
+    return 100;
+  }
+
+  /**
+   * Calculates values of multiple measures for the target using multiple sets of market data.
+   * <p>
+   * The default implementation calculates a batch containing the single target.
+   *
+   * @param target  the target of the calculation
+   * @param measures  the set of measures to calculate
+   * @param parameters  the parameters that affect how the calculation is performed
+   * @param marketData  the multi-scenario market data to be used in the calculation
+   * @param refData  the reference data to be used in the calculation
+   * @return the read-only map of calculated values, keyed by their measure
+   */
+  @Override
+  public default Map<Measure, Result<?>> calculate(
+      T target,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    return calculateBatch(ImmutableList.of(target), measures, parameters, marketData, refData).get(0);
+  }
+
+  /**
+   * Calculates values of multiple measures for each target in the batch using multiple sets of market data.
+   * <p>
+   * The set of measures must only contain measures that the function supports,
+   * as returned by {@link #supportedMeasures()}. The market data must provide at least the
+   * set of data requested by {@link #requirements(CalculationTarget, Set, CalculationParameters, ReferenceData)}
+   * for each of the targets.
+   * <p>
+   * The result must contain one map for each target, in the same order as the targets.
+   * A failure that only affects a single target should be returned as a failure result in
+   * the map for that target rather than thrown.
+   *
+   * @param targets  the targets of the calculation
+   * @param measures  the set of measures to calculate
+   * @param parameters  the parameters that affect how the calculation is performed
+   * @param marketData  the multi-scenario market data to be used in the calculation
+   * @param refData  the reference data to be used in the calculation
+   * @return the list of read-only maps of calculated values, keyed by their measure, one for each target
+   */
+  public abstract List<Map<Measure, Result<?>>> calculateBatch(
+      List<T> targets,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData);
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A cache of values that can be shared between calculation tasks and between calculation runs.
+ * <p>
+ * Many tasks perform identical work, such as resolving the same trade for each set of
+ * calculation parameters, or calculating a value that is needed by several measures.
+ * This cache allows that work to be performed once, with the result shared by all the tasks
+ * that need it, including tasks in later runs that use the same cache.
+ * <p>
+ * The cache is made available to calculation functions by adding it to the calculation rules
+ * as a parameter. Functions can then find it using {@link CalculationParameters#findParameter(Class)},
+ * or use {@link #resolve(Resolvable, CalculationParameters, ReferenceData)} which falls back to
+ * resolving directly if there is no cache. When building the tasks, {@link CalculationTasks}
+ * also uses the cache to avoid resolving the same target more than once.
+ * <p>
+ * Each entry is keyed by the identity of an owner, such as the target, an equality-based key,
+ * such as the function or the name of the value, and the identity of a scope, such as the
+ * reference data or market data the value was derived from. Using identity for the owner and
+ * scope means that equal but distinct instances, for example the market data of a later run,
+ * never share cached values, and that the key is cheap to calculate.
+ * <p>
+ * Entries are never evicted, thus the cache should be scoped to a set of related runs,
+ * such as those for a single portfolio and a single set of reference data, and then discarded
+ * or {@linkplain #clear() cleared}.
+ * <p>
+ * This class is thread-safe. A value may occasionally be calculated more than once if two
+ * tasks request it at the same time, but only one value will be stored and returned.
+ * When serialized, the cache is empty.
+ */
+public final class CalculationCache implements CalculationParameter, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+  /**
+   * The key used for resolved objects.
+   */
+  private static final Object RESOLVED = new Object();
+
+  /**
+   * The cached values.
+   */
+  private final transient ConcurrentHashMap<Key, Object> values = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty cache.
+   *
+   * @return the cache
+   */
+  public static CalculationCache create() {
+    return new CalculationCache();
+  }
+
+  // restricted constructor
+  private CalculationCache() {
+  }
+
+  // the cache is not serialized, an empty cache is created instead
+  private Object readResolve() {
+    return new CalculationCache();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves an object using the cache from the parameters, if present.
+   * <p>
+   * If the parameters contain a cache, the resolved form is obtained from the cache,
+   * keyed by the identity of the object and the reference data.
+   * Otherwise the object is resolved directly.
+   *
+   * @param <R>  the type of the resolved form
+   * @param resolvable  the object to resolve, such as a trade
+   * @param parameters  the calculation parameters, which may contain a cache
+   * @param refData  the reference data to use when resolving
+   * @return the resolved form
+   * @throws RuntimeException if unable to resolve
+   */
+  public static <R> R resolve(Resolvable<R> resolvable, CalculationParameters parameters, ReferenceData refData) {
+    return parameters.findParameter(CalculationCache.class)
+        .map(cache -> cache.resolve(resolvable, refData))
+        .orElseGet(() -> resolvable.resolve(refData));
+  }
+
+  /**
+   * Resolves an object, using the cached resolved form if available.
+   * <p>
+   * The resolved form is keyed by the identity of the object and the reference data.
+   * If resolution fails, the exception is propagated and nothing is cached.
+   *
+   * @param <R>  the type of the resolved form
+   * @param resolvable  the object to resolve, such as a trade
+   * @param refData  the reference data to use when resolving
+   * @return the resolved form
+   * @throws RuntimeException if unable to resolve
+   */
+  public <R> R resolve(Resolvable<R> resolvable, ReferenceData refData) {
+    ArgChecker.notNull(resolvable, "resolvable");
+    ArgChecker.notNull(refData, "refData");
+    return get(resolvable, RESOLVED, refData, () -> resolvable.resolve(refData));
+  }
+
+  /**
+   * Gets a value from the cache, calculating it if it is not present.
+   * <p>
+   * The value is keyed by the identity of the owner and the scope, and the equality of the key.
+   * For example, the owner might be a trade, the key the name of an intermediate value shared
+   * by several measures, and the scope the market data used to calculate the value.
+   * <p>
+   * The supplier is invoked without holding any lock, thus it may itself use the cache.
+   * If the supplier throws an exception, it is propagated and nothing is cached.
+   * The supplier must not return null.
+   *
+   * @param <T>  the type of the value
+   * @param owner  the owner of the value, compared by identity
+   * @param key  the key identifying the value within the owner, compared using {@code equals}
+   * @param scope  the scope of the value, compared by identity
+   * @param supplier  the supplier used to calculate the value if it is not present
+   * @return the value
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object owner, Object key, Object scope, Supplier<T> supplier) {
+    ArgChecker.notNull(supplier, "supplier");
+    Key cacheKey = new Key(owner, key, scope);
+    Object value = values.get(cacheKey);
+    if (value != null) {
+      return (T) value;
+    }
+    T calculated = ArgChecker.notNull(supplier.get(), "value");
+    Object existing = values.putIfAbsent(cacheKey, calculated);
+    return existing != null ? (T) existing : calculated;
+  }
+
+  /**
+   * Returns the number of values in the cache.
+   *
+   * @return the number of values
+   */
+  public int size() {
+    return values.size();
+  }
+
+  /**
+   * Removes all values from the cache.
+   */
+  public void clear() {
+    values.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CalculationCache[size=" + values.size() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The key of a cached value.
+   */
+  private static final class Key {
+
+    /** The owner, compared by identity. */
+    private final Object owner;
+    /** The key, compared using equals. */
+    private final Object key;
+    /** The scope, compared by identity. */
+    private final Object scope;
+    /** The hash code. */
+    private final int hashCode;
+
+    private Key(Object owner, Object key, Object scope) {
+      this.owner = ArgChecker.notNull(owner, "owner");
+      this.key = ArgChecker.notNull(key, "key");
+      this.scope = ArgChecker.notNull(scope, "scope");
+      this.hashCode = 31 * (31 * System.identityHashCode(owner) + key.hashCode()) + System.identityHashCode(scope);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return owner == other.owner && scope == other.scope && Objects.equals(key, other.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
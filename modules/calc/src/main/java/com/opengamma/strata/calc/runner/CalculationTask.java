@@ -11,6 +11,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.lang.invoke.MethodHandles;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -26,16 +27,18 @@ import org.joda.beans.impl.light.LightMetaBean;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.ReferenceDataNotFoundException;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyPair;
-import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.metrics.Metrics;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
@@ -140,6 +143,22 @@ public final class CalculationTask implements ImmutableBean {
     return cells.stream().map(c -> c.getMeasure()).collect(toImmutableSet());
   }
 
+  /**
+   * Returns a copy of this task with the cells moved to the specified row.
+   * <p>
+   * This is used to calculate a subset of the rows of a grid as a grid of their own.
+   *
+   * @param rowIndex  the new row index
+   * @return a copy of this task in the specified row
+   */
+  CalculationTask withRowIndex(int rowIndex) {
+    List<CalculationTaskCell> movedCells = cells.stream()
+        .map(cell -> CalculationTaskCell.of(
+            rowIndex, cell.getColumnIndex(), cell.getMeasure(), cell.getReportingCurrency()))
+        .collect(toImmutableList());
+    return new CalculationTask(target, function, parameters, movedCells);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns requirements specifying the market data the function needs to perform its calculations.
@@ -147,14 +166,63 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return requirements specifying the market data the function needs to perform its calculations
    */
-  @SuppressWarnings("unchecked")
   public MarketDataRequirements requirements(ReferenceData refData) {
-    // determine market data requirements of the function
-    FunctionRequirements functionRequirements = function.requirements(target, getMeasures(), parameters, refData);
+    MarketDataRequirementsBuilder requirementsBuilder = MarketDataRequirements.builder();
+    addRequirements(functionRequirements(refData), conversionCurrencies(refData), requirementsBuilder);
+    return requirementsBuilder.build();
+  }
+
+  /**
+   * Returns the requirements of the function.
+   * 
+   * @param refData  the reference data
+   * @return the requirements of the function
+   */
+  @SuppressWarnings("unchecked")
+  FunctionRequirements functionRequirements(ReferenceData refData) {
+    return function.requirements(target, getMeasures(), parameters, refData);
+  }
+
+  /**
+   * Returns the reporting currencies that the function output must be converted to.
+   * <p>
+   * These are the reporting currencies of the cells whose measure is currency convertible.
+   * 
+   * @param refData  the reference data
+   * @return the reporting currencies used for currency conversion
+   */
+  Set<Currency> conversionCurrencies(ReferenceData refData) {
+    Set<Currency> currencies = null;
+    for (CalculationTaskCell cell : cells) {
+      if (cell.getMeasure().isCurrencyConvertible() && !cell.getReportingCurrency().isNone()) {
+        if (currencies == null) {
+          currencies = new HashSet<>();
+        }
+        currencies.add(cell.reportingCurrency(this, refData));
+      }
+    }
+    return currencies == null ? ImmutableSet.of() : currencies;
+  }
+
+  /**
+   * Adds the market data requirements derived from the requirements of the function to the builder.
+   * <p>
+   * Tasks for targets with the same structure, such as trades with the same currency and indices,
+   * typically have equal function requirements and conversion currencies, and thus the same
+   * market data requirements.
+   * 
+   * @param functionRequirements  the requirements of the function
+   * @param conversionCurrencies  the reporting currencies used for currency conversion
+   * @param requirementsBuilder  the builder to add the requirements to
+   */
+  static void addRequirements(
+      FunctionRequirements functionRequirements,
+      Set<Currency> conversionCurrencies,
+      MarketDataRequirementsBuilder requirementsBuilder) {
+
     ObservableSource obsSource = functionRequirements.getObservableSource();
 
     // convert function requirements to market data requirements
-    MarketDataRequirementsBuilder requirementsBuilder = MarketDataRequirements.builder();
     for (ObservableId id : functionRequirements.getTimeSeriesRequirements()) {
       requirementsBuilder.addTimeSeries(id.withObservableSource(obsSource));
     }
@@ -167,18 +235,13 @@ public final class CalculationTask implements ImmutableBean {
     }
 
     // add requirements for the FX rates needed to convert the output values into the reporting currency
-    for (CalculationTaskCell cell : cells) {
-      if (cell.getMeasure().isCurrencyConvertible() && !cell.getReportingCurrency().isNone()) {
-        Currency reportingCurrency = cell.reportingCurrency(this, refData);
-        List<MarketDataId<FxRate>> fxRateIds = functionRequirements.getOutputCurrencies().stream()
-            .filter(outputCurrency -> !outputCurrency.equals(reportingCurrency))
-            .map(outputCurrency -> CurrencyPair.of(outputCurrency, reportingCurrency))
-            .map(pair -> FxRateId.of(pair, obsSource))
-            .collect(toImmutableList());
-        requirementsBuilder.addValues(fxRateIds);
+    for (Currency reportingCurrency : conversionCurrencies) {
+      for (Currency outputCurrency : functionRequirements.getOutputCurrencies()) {
+        if (!outputCurrency.equals(reportingCurrency)) {
+          requirementsBuilder.addValues(FxRateId.of(CurrencyPair.of(outputCurrency, reportingCurrency), obsSource));
+        }
       }
     }
-    return requirementsBuilder.build();
   }
 
   /**
@@ -203,28 +266,72 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
+    return execute(marketData, ScenarioFxRateProviders.of(marketData), refData);
+  }
+
+  // executes the task, using FX rate providers shared with other tasks using the same market data
+  CalculationResults execute(ScenarioMarketData marketData, ScenarioFxRateProviders fxProviders, ReferenceData refData) {
     // calculate the results
     Map<Measure, Result<?>> results = calculate(marketData, refData);
 
-    // get a suitable FX provider
-    ScenarioFxRateProvider fxProvider = parameters.findParameter(FxRateLookup.class)
-        .map(lookup -> LookupScenarioFxRateProvider.of(marketData, lookup))
-        .orElse(ScenarioFxRateProvider.of(marketData));
+    // convert the results
+    return createResults(results, fxProviders.fxProvider(parameters), refData);
+  }
+
+  /**
+   * Executes a batch of tasks, performing calculations for the targets using multiple sets of market data.
+   * <p>
+   * The tasks must all have the same function, parameters and measures.
+   * If the function is a {@link BatchCalculationFunction}, it is invoked once for the whole batch
+   * and a single FX rate provider is shared by all the tasks. Otherwise, each task is executed in turn.
+   *
+   * @param tasks  the tasks to execute
+   * @param marketData  the market data used in the calculation
+   * @param fxProviders  the FX rate providers for the market data
+   * @param refData  the reference data
+   * @return results of the calculation, one for each task, in the same order as the tasks
+   */
+  static List<CalculationResults> executeBatch(
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      ScenarioFxRateProviders fxProviders,
+      ReferenceData refData) {
+
+    CalculationTask first = tasks.get(0);
+    if (tasks.size() == 1 || !(first.function instanceof BatchCalculationFunction)) {
+      return tasks.stream()
+          .map(task -> task.execute(marketData, fxProviders, refData))
+          .collect(toImmutableList());
+    }
+    // calculate the results
+    List<Map<Measure, Result<?>>> results = calculateBatch(tasks, marketData, refData);
+
+    // convert the results, sharing the FX provider
+    ScenarioFxRateProvider fxProvider = fxProviders.fxProvider(first.parameters);
+    ImmutableList.Builder<CalculationResults> resultsBuilder = ImmutableList.builder();
+    for (int i = 0; i < tasks.size(); i++) {
+      resultsBuilder.add(tasks.get(i).createResults(results.get(i), fxProvider, refData));
+    }
+    return resultsBuilder.build();
+  }
+
+  // converts the results, using a normal loop for better stack traces
+  private CalculationResults createResults(
+      Map<Measure, Result<?>> results,
+      ScenarioFxRateProvider fxProvider,
+      ReferenceData refData) {
 
-    // convert the results, using a normal loop for better stack traces
     ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
     for (CalculationTaskCell cell : cells) {
       resultBuilder.add(cell.createResult(this, target, results, fxProvider, refData));
     }
-
-    // return the result
     return CalculationResults.of(target, resultBuilder.build());
   }
 
   // calculates the result
   private Map<Measure, Result<?>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
+    long start = Metrics.startTime();
     try {
       Set<Measure> requestedMeasures = getMeasures();
       Set<Measure> supportedMeasures = function.supportedMeasures();
@@ -233,17 +340,93 @@ public final class CalculationTask implements ImmutableBean {
       if (!measures.isEmpty()) {
         map = function.calculate(target, measures, parameters, marketData, refData);
       }
-      // check if result does not contain all requested measures
-      if (!map.keySet().containsAll(requestedMeasures)) {
-        return handleMissing(requestedMeasures, supportedMeasures, map);
-      }
-      return map;
+      recordMetrics(start, true);
+      return checkMeasures(requestedMeasures, supportedMeasures, map);
 
     } catch (RuntimeException ex) {
+      recordMetrics(start, false);
       return handleFailure(ex);
     }
   }
 
+  // records the time taken against the function, the type of target and each measure
+  private void recordMetrics(long start, boolean success) {
+    if (start != 0) {
+      recordElapsedMetrics(System.nanoTime() - start, success);
+    }
+  }
+
+  // records the elapsed time against the function, the type of target and each measure
+  private void recordElapsedMetrics(long elapsedNanos, boolean success) {
+    Metrics.recordElapsedTime("CalculationFunction", function.getClass(), elapsedNanos, success);
+    Metrics.recordElapsedTime("CalculationTarget", target.getClass(), elapsedNanos, success);
+    for (Measure measure : getMeasures()) {
+      Metrics.recordElapsedTime("Measure", measure, elapsedNanos, success);
+    }
+  }
+
+  // calculates the results of a batch, falling back to one task at a time if the batch fails
+  @SuppressWarnings("unchecked")
+  private static List<Map<Measure, Result<?>>> calculateBatch(
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    CalculationTask first = tasks.get(0);
+    BatchCalculationFunction<CalculationTarget> function = (BatchCalculationFunction<CalculationTarget>) first.function;
+    long start = Metrics.startTime();
+    try {
+      Set<Measure> requestedMeasures = first.getMeasures();
+      Set<Measure> supportedMeasures = function.supportedMeasures();
+      Set<Measure> measures = Sets.intersection(requestedMeasures, supportedMeasures);
+      if (measures.isEmpty()) {
+        return tasks.stream()
+            .map(task -> task.checkMeasures(requestedMeasures, supportedMeasures, ImmutableMap.of()))
+            .collect(toImmutableList());
+      }
+      List<CalculationTarget> targets = tasks.stream()
+          .map(task -> task.target)
+          .collect(toImmutableList());
+      List<Map<Measure, Result<?>>> maps =
+          function.calculateBatch(targets, measures, first.parameters, marketData, refData);
+      if (maps.size() != tasks.size()) {
+        throw new IllegalStateException(Messages.format(
+            "Function '{}' returned {} results for a batch of {} targets",
+            function.getClass().getSimpleName(),
+            maps.size(),
+            tasks.size()));
+      }
+      ImmutableList.Builder<Map<Measure, Result<?>>> builder = ImmutableList.builder();
+      for (int i = 0; i < tasks.size(); i++) {
+        builder.add(tasks.get(i).checkMeasures(requestedMeasures, supportedMeasures, maps.get(i)));
+      }
+      // the time taken by the batch is divided equally between the tasks
+      if (start != 0) {
+        long elapsedPerTask = (System.nanoTime() - start) / tasks.size();
+        tasks.forEach(task -> task.recordElapsedMetrics(elapsedPerTask, true));
+      }
+      return builder.build();
+
+    } catch (RuntimeException ex) {
+      // calculate each target individually, so that a failure only affects the target that caused it
+      return tasks.stream()
+          .map(task -> task.calculate(marketData, refData))
+          .collect(toImmutableList());
+    }
+  }
+
+  // check if result does not contain all requested measures
+  private Map<Measure, Result<?>> checkMeasures(
+      Set<Measure> requestedMeasures,
+      Set<Measure> supportedMeasures,
+      Map<Measure, Result<?>> calculatedResults) {
+
+    if (!calculatedResults.keySet().containsAll(requestedMeasures)) {
+      return handleMissing(requestedMeasures, supportedMeasures, calculatedResults);
+    }
+    return calculatedResults;
+  }
+
   // populate the result with failures
   private Map<Measure, Result<?>> handleMissing(
       Set<Measure> requestedMeasures,
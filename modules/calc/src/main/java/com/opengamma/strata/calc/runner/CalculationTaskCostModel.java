@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.Measure;
+
+/**
+ * Estimates the relative cost of executing calculation tasks.
+ * <p>
+ * The cost of a task is estimated from the type of the function, the type of the target,
+ * the set of measures, the number of cells and the number of scenarios. Before any timings are available,
+ * the cost is assumed to be proportional to the number of cells multiplied by the number of scenarios.
+ * Once a task has been executed, the observed time per cell and scenario is recorded and used for
+ * subsequent estimates of tasks of the same shape, smoothed with an exponential moving average.
+ * <p>
+ * The model is intended to live as long as the runner that owns it, so that the timings
+ * of earlier runs refine the ordering of later runs.
+ * <p>
+ * This class is thread-safe.
+ */
+final class CalculationTaskCostModel {
+
+  /**
+   * The weight given to the latest observation when updating the moving average.
+   */
+  private static final double SMOOTHING = 0.3;
+
+  /**
+   * The observed cost per cell and scenario in nanoseconds, keyed by the shape of the task.
+   */
+  private final ConcurrentMap<CostKey, Double> observedCosts = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty model.
+   */
+  CalculationTaskCostModel() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Estimates the cost of executing the task.
+   * <p>
+   * The result is only meaningful relative to the estimates of other tasks.
+   *
+   * @param task  the task
+   * @param scenarioCount  the number of scenarios
+   * @return the estimated cost
+   */
+  double estimate(CalculationTask task, int scenarioCount) {
+    return estimate(task, scenarioCount, maxObservedCost());
+  }
+
+  // estimates the cost of the task, using the specified cost per cell if the shape has not been observed
+  private double estimate(CalculationTask task, int scenarioCount, double unobservedCost) {
+    Double observed = observedCosts.get(CostKey.of(task));
+    double perCell = observed != null ? observed : unobservedCost;
+    return perCell * task.getCells().size() * scenarioCount;
+  }
+
+  // unknown tasks are assumed to be as expensive per cell as the most expensive known task
+  // this ensures they are started early, and measured, rather than holding up the end of the run
+  private double maxObservedCost() {
+    return observedCosts.values().stream()
+        .mapToDouble(Double::doubleValue)
+        .max()
+        .orElse(1d);
+  }
+
+  /**
+   * Records the time taken to execute the task.
+   *
+   * @param task  the task
+   * @param scenarioCount  the number of scenarios
+   * @param elapsedNanos  the elapsed time in nanoseconds
+   */
+  void record(CalculationTask task, int scenarioCount, long elapsedNanos) {
+    double perCell = (double) elapsedNanos / Math.max(scenarioCount, 1) / Math.max(task.getCells().size(), 1);
+    observedCosts.merge(
+        CostKey.of(task),
+        perCell,
+        (previous, latest) -> previous + SMOOTHING * (latest - previous));
+  }
+
+  /**
+   * Returns the tasks ordered so that the most expensive is first.
+   * <p>
+   * The estimates are taken once, before sorting, so concurrent updates do not affect the sort.
+   *
+   * @param tasks  the tasks
+   * @param scenarioCount  the number of scenarios
+   * @return the tasks, most expensive first
+   */
+  List<CalculationTask> mostExpensiveFirst(List<CalculationTask> tasks, int scenarioCount) {
+    int size = tasks.size();
+    Integer[] order = new Integer[size];
+    double[] costs = new double[size];
+    double unobservedCost = maxObservedCost();
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+      costs[i] = estimate(tasks.get(i), scenarioCount, unobservedCost);
+    }
+    // stable sort, so tasks of equal cost retain their row order
+    Arrays.sort(order, Comparator.comparingDouble((Integer i) -> costs[i]).reversed());
+    ImmutableList.Builder<CalculationTask> builder = ImmutableList.builder();
+    for (Integer index : order) {
+      builder.add(tasks.get(index));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The shape of a task, used to group tasks that are expected to have similar cost.
+   */
+  private static final class CostKey {
+
+    private final Class<?> functionType;
+    private final Class<?> targetType;
+    private final Set<Measure> measures;
+
+    private static CostKey of(CalculationTask task) {
+      return new CostKey(task.getFunction().getClass(), task.getTarget().getClass(), task.getMeasures());
+    }
+
+    private CostKey(Class<?> functionType, Class<?> targetType, Set<Measure> measures) {
+      this.functionType = functionType;
+      this.targetType = targetType;
+      this.measures = measures;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof CostKey) {
+        CostKey other = (CostKey) obj;
+        return functionType.equals(other.functionType) &&
+            targetType.equals(other.targetType) &&
+            measures.equals(other.measures);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(functionType, targetType, measures);
+    }
+
+    @Override
+    public String toString() {
+      return "CostKey[" + functionType.getSimpleName() + ", " + targetType.getSimpleName() + ", " + measures + "]";
+    }
+  }
+
+}
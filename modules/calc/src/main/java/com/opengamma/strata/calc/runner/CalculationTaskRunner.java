@@ -7,12 +7,17 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -79,6 +84,85 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a work-stealing calculation task runner that runs the most expensive tasks first.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the number of threads on the number of available processors.
+   * Before submission, the tasks are ordered by an estimate of their cost, based on the function,
+   * target type, measures and number of scenarios. The estimates are refined using the time taken
+   * by tasks in earlier runs, thus the same runner should be reused across runs.
+   * Idle threads in the pool take queued tasks from busy threads, avoiding a long tail where
+   * one expensive task scheduled last holds up the whole batch.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing() {
+    return DefaultCalculationTaskRunner.ofWorkStealing();
+  }
+
+  /**
+   * Creates a calculation task runner that runs the most expensive tasks first, specifying the executor.
+   * <p>
+   * Before submission, the tasks are ordered by an estimate of their cost, which is refined
+   * using the time taken by tasks in earlier runs. A {@link ForkJoinPool} is recommended.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing(ExecutorService executor) {
+    return DefaultCalculationTaskRunner.ofWorkStealing(executor);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that splits the scenarios of each task into chunks.
+   * <p>
+   * This factory creates an executor basing the number of threads on the number of available processors.
+   * When the number of scenarios exceeds the chunk size, each task is calculated separately for each
+   * chunk of scenarios, allowing a small number of tasks with a large number of scenarios to use every thread.
+   * The results for each chunk are joined into a single {@link ScenarioArray}, retaining the type of
+   * {@link DoubleScenarioArray}, {@link CurrencyScenarioArray} and {@link MultiCurrencyScenarioArray}.
+   * As such, this should only be used with functions that return a scenario array for each measure.
+   * The tasks are ordered by estimated cost, refined using the time taken by each chunk in earlier runs.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofScenarioChunks(1000)) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @param scenarioChunkSize  the maximum number of scenarios calculated by a single unit of work
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofScenarioChunks(int scenarioChunkSize) {
+    return DefaultCalculationTaskRunner.ofScenarioChunks(scenarioChunkSize);
+  }
+
+  /**
+   * Creates a calculation task runner that splits the scenarios of each task into chunks, specifying the executor.
+   * <p>
+   * When the number of scenarios exceeds the chunk size, each task is calculated separately for each
+   * chunk of scenarios, with the results joined into a single {@link ScenarioArray}.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param scenarioChunkSize  the maximum number of scenarios calculated by a single unit of work
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofScenarioChunks(ExecutorService executor, int scenarioChunkSize) {
+    return DefaultCalculationTaskRunner.ofScenarioChunks(executor, scenarioChunkSize);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -8,7 +8,10 @@ package com.opengamma.strata.calc.runner;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.lang.invoke.MethodHandles;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import org.joda.beans.ImmutableBean;
 import org.joda.beans.JodaBeanUtils;
@@ -24,6 +27,7 @@ import com.google.common.collect.ListMultimap;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.ResolvableCalculationTarget;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Column;
@@ -32,6 +36,7 @@ import com.opengamma.strata.calc.ReportingCurrency;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.tuple.Pair;
 
 /**
  * The tasks that will be used to perform the calculations.
@@ -95,6 +100,8 @@ public final class CalculationTasks implements ImmutableBean {
    * The columns represent the measures to calculate.
    * <p>
    * The targets will be resolved if they implement {@link ResolvableCalculationTarget}.
+   * If the parameters of the rules contain a {@link CalculationCache}, the resolved targets are
+   * obtained from the cache, avoiding resolving the same target again when the tasks are rebuilt.
    * 
    * @param rules  the rules defining how the calculation is performed
    * @param targets  the targets for which values of the measures will be calculated
@@ -116,9 +123,10 @@ public final class CalculationTasks implements ImmutableBean {
             .collect(toImmutableList());
 
     // loop around the targets, then the columns, to build the tasks
+    Optional<CalculationCache> cache = rules.getParameters().findParameter(CalculationCache.class);
     ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
     for (int rowIndex = 0; rowIndex < targets.size(); rowIndex++) {
-      CalculationTarget target = resolveTarget(targets.get(rowIndex), refData);
+      CalculationTarget target = resolveTarget(targets.get(rowIndex), refData, cache);
 
       // find the applicable function, resolving the target if necessary
       CalculationFunction<?> fn = target instanceof UnresolvableTarget ?
@@ -134,11 +142,19 @@ public final class CalculationTasks implements ImmutableBean {
     return new CalculationTasks(taskBuilder.build(), columns);
   }
 
-  // resolves the target
-  private static CalculationTarget resolveTarget(CalculationTarget target, ReferenceData refData) {
+  // resolves the target, using the cache if available to avoid resolving the same target again
+  private static CalculationTarget resolveTarget(
+      CalculationTarget target,
+      ReferenceData refData,
+      Optional<CalculationCache> cache) {
+
     if (target instanceof ResolvableCalculationTarget) {
       ResolvableCalculationTarget resolvable = (ResolvableCalculationTarget) target;
       try {
+        if (cache.isPresent()) {
+          return cache.get().get(
+              resolvable, ResolvableCalculationTarget.class, refData, () -> resolvable.resolveTarget(refData));
+        }
         return resolvable.resolveTarget(refData);
       } catch (RuntimeException ex) {
         return new UnresolvableTarget(resolvable, ex.getMessage());
@@ -242,10 +258,17 @@ public final class CalculationTasks implements ImmutableBean {
    * @throws RuntimeException if unable to obtain the requirements
    */
   public MarketDataRequirements requirements(ReferenceData refData) {
+    // tasks for targets with the same structure, such as trades in the same currency and indices,
+    // have equal function requirements, which only need to be converted and added once
     // use for loop not streams for shorter stack traces
     MarketDataRequirementsBuilder builder = MarketDataRequirements.builder();
+    Set<Pair<FunctionRequirements, Set<Currency>>> added = new HashSet<>();
     for (CalculationTask task : tasks) {
-      builder.addRequirements(task.requirements(refData));
+      FunctionRequirements functionRequirements = task.functionRequirements(refData);
+      Set<Currency> conversionCurrencies = task.conversionCurrencies(refData);
+      if (added.add(Pair.of(functionRequirements, conversionCurrencies))) {
+        CalculationTask.addRequirements(functionRequirements, conversionCurrencies, builder);
+      }
     }
     return builder.build();
   }
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A worker process that performs calculations on behalf of a {@link ShardedCalculationTaskRunner}.
+ * <p>
+ * The worker communicates with the coordinator, and then performs the calculations for each shard
+ * of tasks it receives, sending the results of each task back as soon as it completes.
+ * The calculations are performed using a multi-threaded {@link CalculationTaskRunner}.
+ * The worker exits when the coordinator closes the connection.
+ * <p>
+ * The worker is started using the {@link #main(String[])} method, with the arguments
+ * {@code host port [threads]}, where the host and port are those the coordinator is listening on,
+ * and the optional number of threads defaults to the number of available processors.
+ * The token identifying the worker to the coordinator must be in the environment variable
+ * {@value #TOKEN_VARIABLE}. Workers launched by the coordinator itself use the arguments
+ * {@code pipe [threads]}, and communicate using their standard input and output.
+ * The classpath must contain the classes of the targets, functions and market data.
+ */
+public final class CalculationWorker {
+
+  /**
+   * The environment variable containing the token that identifies the worker to the coordinator.
+   */
+  public static final String TOKEN_VARIABLE = "STRATA_CALCULATION_WORKER_TOKEN";
+  /**
+   * The argument used in place of the host and port to communicate using standard input and output.
+   */
+  static final String PIPE = "pipe";
+
+  /** The logger. */
+  private static final Logger log = LoggerFactory.getLogger(CalculationWorker.class);
+
+  /**
+   * The input from the coordinator.
+   */
+  private final DataInputStream in;
+  /**
+   * The output to the coordinator.
+   */
+  private final DataOutputStream out;
+  /**
+   * The runner used to perform the calculations.
+   */
+  private final DefaultCalculationTaskRunner taskRunner;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs a worker, communicating with the coordinator.
+   * <p>
+   * This method returns when the coordinator closes the connection.
+   *
+   * @param args  the host and port, or {@code pipe}, followed by the optional number of threads
+   * @throws IOException if unable to communicate with the coordinator
+   */
+  public static void main(String[] args) throws IOException {
+    boolean pipe = args.length > 0 && args[0].equals(PIPE);
+    int argCount = pipe ? 1 : 2;
+    if (args.length < argCount || args.length > argCount + 1) {
+      throw new IllegalArgumentException(
+          "Usage: CalculationWorker host port [threads], or CalculationWorker pipe [threads]");
+    }
+    DefaultCalculationTaskRunner taskRunner = args.length > argCount ?
+        DefaultCalculationTaskRunner.of(Executors.newFixedThreadPool(Integer.parseInt(args[argCount]))) :
+        DefaultCalculationTaskRunner.ofMultiThreaded();
+    try {
+      if (pipe) {
+        // anything else written to standard output, such as logging, would corrupt the messages
+        OutputStream stdout = new FileOutputStream(FileDescriptor.out);
+        System.setOut(System.err);
+        new CalculationWorker(System.in, stdout, taskRunner).run();
+      } else {
+        String token = System.getenv(TOKEN_VARIABLE);
+        if (token == null) {
+          throw new IllegalArgumentException("Environment variable " + TOKEN_VARIABLE + " must be set");
+        }
+        connect(args[0], Integer.parseInt(args[1]), token, taskRunner);
+      }
+    } finally {
+      taskRunner.close();
+    }
+  }
+
+  /**
+   * Runs a worker, connecting to the coordinator using a socket.
+   * <p>
+   * This method returns when the coordinator closes the connection.
+   *
+   * @param host  the host the coordinator is listening on
+   * @param port  the port the coordinator is listening on
+   * @param token  the token identifying the worker to the coordinator
+   * @param taskRunner  the runner used to perform the calculations
+   * @throws IOException if unable to connect to the coordinator
+   */
+  static void connect(String host, int port, String token, DefaultCalculationTaskRunner taskRunner)
+      throws IOException {
+
+    try (Socket socket = new Socket(host, port)) {
+      socket.setTcpNoDelay(true);
+      CalculationWorker worker = new CalculationWorker(socket.getInputStream(), socket.getOutputStream(), taskRunner);
+      ShardProtocol.writeToken(worker.out, token);
+      worker.run();
+    }
+  }
+
+  // creates an instance
+  private CalculationWorker(InputStream in, OutputStream out, DefaultCalculationTaskRunner taskRunner) {
+    this.in = new DataInputStream(new BufferedInputStream(in));
+    this.out = new DataOutputStream(new BufferedOutputStream(out));
+    this.taskRunner = taskRunner;
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates each shard received, until the coordinator closes the connection or a shard cannot be read
+  private void run() throws IOException {
+    Set<String> allowedPackages;
+    try {
+      allowedPackages = ShardProtocol.readPackages(in);
+    } catch (EOFException ex) {
+      // the coordinator has rejected or closed the connection
+      return;
+    }
+    while (true) {
+      byte[] environment;
+      byte[] taskBytes;
+      try {
+        environment = ShardProtocol.readMessage(in, ShardProtocol.MAX_MESSAGE_LENGTH);
+        taskBytes = ShardProtocol.readMessage(in, ShardProtocol.MAX_MESSAGE_LENGTH);
+      } catch (EOFException ex) {
+        // the coordinator has closed the connection
+        return;
+      }
+      ScenarioMarketData marketData;
+      ReferenceData refData;
+      List<CalculationTask> tasks;
+      try {
+        Object[] marketAndRefData = ShardProtocol.deserialize(environment, Object[].class, allowedPackages);
+        marketData = (ScenarioMarketData) marketAndRefData[0];
+        refData = (ReferenceData) marketAndRefData[1];
+        tasks = ShardProtocol.decodeTasks(taskBytes, allowedPackages);
+      } catch (RuntimeException ex) {
+        log.error("Unable to read calculation tasks", ex);
+        ShardProtocol.writeFailure(out, Messages.format("Unable to read calculation tasks: {}", ex.getMessage()));
+        return;
+      }
+      if (!calculate(tasks, marketData, refData)) {
+        return;
+      }
+    }
+  }
+
+  // calculates the tasks, sending the results to the coordinator, returning false if they could not be sent
+  private boolean calculate(
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    CountDownLatch latch = new CountDownLatch(tasks.size());
+    AtomicReference<Exception> sendFailure = new AtomicReference<>();
+    taskRunner.submit(tasks, marketData, refData, results -> {
+      try {
+        // the results are serialized on the calculation thread, only the write is serialized
+        byte[] bytes = ShardProtocol.encodeResults(results);
+        synchronized (out) {
+          ShardProtocol.writeMessage(out, bytes);
+          out.flush();
+        }
+      } catch (IOException | RuntimeException ex) {
+        sendFailure.compareAndSet(null, ex);
+      } finally {
+        latch.countDown();
+      }
+    });
+    try {
+      latch.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    if (sendFailure.get() != null) {
+      // the coordinator fails the tasks whose results were not received when the connection is closed
+      log.error("Unable to send calculation results", sendFailure.get());
+      return false;
+    }
+    return true;
+  }
+
+}
@@ -7,14 +7,22 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.Column;
@@ -30,6 +38,17 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * Tasks whose function is a {@link BatchCalculationFunction} are grouped by function, parameters and measures,
+ * with each batch being executed as a single unit of work.
+ * <p>
+ * The runner can optionally order the tasks using a {@link CalculationTaskCostModel}.
+ * When enabled, the tasks estimated to be most expensive are submitted first and the time taken
+ * by each task is recorded to refine the estimates for later runs.
+ * <p>
+ * The runner can optionally split the scenarios into chunks. When enabled, and the number of scenarios
+ * exceeds the chunk size, each task is calculated separately for each chunk of scenarios,
+ * with the results joined once all the chunks are complete.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
@@ -38,6 +57,14 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The model used to order the tasks, null if tasks are submitted in row order.
+   */
+  private final CalculationTaskCostModel costModel;
+  /**
+   * The maximum number of scenarios calculated by a single unit of work, zero if the scenarios are not split.
+   */
+  private final int scenarioChunkSize;
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +81,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), null, 0);
   }
 
   /**
@@ -66,7 +93,77 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, null, 0);
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner that runs the most expensive tasks first.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the number of threads on the number of available processors.
+   * The tasks are ordered by estimated cost before being submitted, with the estimates refined
+   * using the time taken by tasks in earlier runs of the same runner.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (DefaultCalculationTaskRunner runner = DefaultCalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   *
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing() {
+    return ofWorkStealing(createWorkStealingPool(Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Creates a calculation task runner that runs the most expensive tasks first, specifying the executor.
+   * <p>
+   * The tasks are ordered by estimated cost before being submitted, with the estimates refined
+   * using the time taken by tasks in earlier runs of the same runner.
+   * A {@link ForkJoinPool} is recommended, as idle worker threads will take queued tasks
+   * from busy threads, but any executor may be used.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor to use
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing(ExecutorService executor) {
+    return new DefaultCalculationTaskRunner(executor, new CalculationTaskCostModel(), 0);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that splits the scenarios of each task into chunks.
+   * <p>
+   * This factory creates an executor basing the number of threads on the number of available processors.
+   * When the number of scenarios exceeds the chunk size, each task is calculated separately for each chunk
+   * of scenarios, allowing the chunks to be calculated in parallel.
+   *
+   * @param scenarioChunkSize  the maximum number of scenarios calculated by a single unit of work
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofScenarioChunks(int scenarioChunkSize) {
+    return ofScenarioChunks(createExecutor(Runtime.getRuntime().availableProcessors()), scenarioChunkSize);
+  }
+
+  /**
+   * Creates a calculation task runner that splits the scenarios of each task into chunks, specifying the executor.
+   * <p>
+   * When the number of scenarios exceeds the chunk size, each task is calculated separately for each chunk
+   * of scenarios, allowing the chunks to be calculated in parallel. The results for each chunk are joined
+   * into a single {@link ScenarioArray}, retaining the type of double, currency and multi-currency arrays.
+   * The tasks are ordered by estimated cost before being submitted, with the estimates refined
+   * using the time taken by each chunk.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor to use
+   * @param scenarioChunkSize  the maximum number of scenarios calculated by a single unit of work
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofScenarioChunks(ExecutorService executor, int scenarioChunkSize) {
+    ArgChecker.notNegativeOrZero(scenarioChunkSize, "scenarioChunkSize");
+    return new DefaultCalculationTaskRunner(executor, new CalculationTaskCostModel(), scenarioChunkSize);
   }
 
   // create an executor with daemon threads
@@ -82,14 +179,53 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a work-stealing pool, the threads of a fork-join pool are daemon threads
+  private static ForkJoinPool createWorkStealingPool(int threads) {
+    int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      return t;
+    };
+    // async mode gives first-in-first-out processing, so the most expensive tasks are started first
+    return new ForkJoinPool(effectiveThreads, threadFactory, null, true);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param costModel  the model used to order the tasks, null to submit the tasks in row order
+   * @param scenarioChunkSize  the maximum number of scenarios calculated by a unit of work, zero for no limit
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(
+      ExecutorService executor,
+      CalculationTaskCostModel costModel,
+      int scenarioChunkSize) {
+
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.costModel = costModel;
+    this.scenarioChunkSize = scenarioChunkSize;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the executor used to perform the calculations.
+   *
+   * @return the executor
+   */
+  Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Gets the model used to order the tasks.
+   *
+   * @return the cost model, null if tasks are submitted in row order
+   */
+  CalculationTaskCostModel getCostModel() {
+    return costModel;
   }
 
   //-------------------------------------------------------------------------
@@ -124,7 +260,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * <p>
    * If this method is called with a {@code ScenarioArray} containing more than one value it throws an exception.
    */
-  private static Result<?> unwrapScenarioResult(Result<?> result) {
+  static Result<?> unwrapScenarioResult(Result<?> result) {
     if (result.isFailure()) {
       return result;
     }
@@ -161,9 +297,10 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       ScenarioMarketData marketData,
       ReferenceData refData) {
 
-    ResultsListener listener = new ResultsListener();
-    calculateMultiScenarioAsync(tasks, marketData, refData, listener);
-    return listener.result();
+    // the results are written directly into the grid, avoiding the serialized delivery needed by a listener
+    ResultsCollector collector = new ResultsCollector(tasks);
+    submit(tasks.getTasks(), marketData, refData, collector);
+    return collector.result();
   }
 
   @Override
@@ -179,24 +316,163 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // it also calls the listener with single CalculationResult cells, not CalculationResults
     Consumer<CalculationResults> consumer =
         new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+    submit(taskList, marketData, refData, consumer);
+  }
+
+  /**
+   * Submits the tasks to the executor, passing the results of each task to the consumer.
+   * <p>
+   * This returns once the tasks have been submitted. The consumer is invoked concurrently
+   * by the calculation threads as each task or batch of tasks completes.
+   *
+   * @param taskList  the tasks to calculate
+   * @param marketData  the market data used in the calculations
+   * @param refData  the reference data used in the calculations
+   * @param consumer  the consumer of the results of each task
+   */
+  void submit(
+      List<CalculationTask> taskList,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    // run each task using the executor, most expensive first if there is a cost model
+    // tasks using a batch function are grouped so that each batch is calculated in a single call
+    // the FX rate providers are shared by all tasks, so the FX rates are only looked up once
+    List<CalculationTask> orderedTasks =
+        costModel != null ? costModel.mostExpensiveFirst(taskList, marketData.getScenarioCount()) : taskList;
+    if (scenarioChunkSize > 0 && marketData.getScenarioCount() > scenarioChunkSize) {
+      // each task is calculated separately for each chunk of scenarios
+      ScenarioChunks chunks = ScenarioChunks.of(marketData, scenarioChunkSize);
+      for (List<CalculationTask> batch : batches(orderedTasks)) {
+        runChunkedBatch(batch, chunks, refData, consumer);
+      }
+      return;
+    }
+    ScenarioFxRateProviders fxProviders = ScenarioFxRateProviders.of(marketData);
+    for (List<CalculationTask> batch : batches(orderedTasks)) {
+      if (batch.size() > 1) {
+        runBatch(batch, marketData, fxProviders, refData, consumer);
+      } else if (costModel != null) {
+        runTimedTask(batch.get(0), marketData, fxProviders, refData, consumer);
+      } else {
+        runTask(batch.get(0), marketData, fxProviders, refData, consumer);
+      }
+    }
+  }
 
-    // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+  // groups tasks that share a batch function, parameters and measures, retaining the order of the first task
+  private static List<List<CalculationTask>> batches(List<CalculationTask> tasks) {
+    List<List<CalculationTask>> batches = new ArrayList<>(tasks.size());
+    Map<List<Object>, List<CalculationTask>> openBatches = new HashMap<>();
+    for (CalculationTask task : tasks) {
+      CalculationFunction<?> function = task.getFunction();
+      if (function instanceof BatchCalculationFunction) {
+        int batchSize = ((BatchCalculationFunction<?>) function).batchSize();
+        List<Object> key = ImmutableList.of(function, task.getParameters(), task.getMeasures());
+        List<CalculationTask> batch = openBatches.get(key);
+        if (batch == null || batch.size() >= batchSize) {
+          batch = new ArrayList<>();
+          batches.add(batch);
+          openBatches.put(key, batch);
+        }
+        batch.add(task);
+      } else {
+        batches.add(ImmutableList.of(task));
+      }
+    }
+    return batches;
   }
 
   // submits a task to the executor to be run
   private void runTask(
       CalculationTask task,
       ScenarioMarketData marketData,
+      ScenarioFxRateProviders fxProviders,
       ReferenceData refData,
       Consumer<CalculationResults> consumer) {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, fxProviders, refData);
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // submits a task to the executor to be run, recording the time taken in the cost model
+  private void runTimedTask(
+      CalculationTask task,
+      ScenarioMarketData marketData,
+      ScenarioFxRateProviders fxProviders,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    Supplier<CalculationResults> taskExecutor = () -> {
+      long start = System.nanoTime();
+      CalculationResults results = task.execute(marketData, fxProviders, refData);
+      costModel.record(task, marketData.getScenarioCount(), System.nanoTime() - start);
+      return results;
+    };
+    CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
+  }
+
+  // submits a batch of tasks to the executor to be run as a single unit of work
+  private void runBatch(
+      List<CalculationTask> batch,
+      ScenarioMarketData marketData,
+      ScenarioFxRateProviders fxProviders,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    Supplier<List<CalculationResults>> batchExecutor = () -> {
+      long start = System.nanoTime();
+      List<CalculationResults> results = CalculationTask.executeBatch(batch, marketData, fxProviders, refData);
+      if (costModel != null) {
+        long elapsedPerTask = (System.nanoTime() - start) / batch.size();
+        batch.forEach(task -> costModel.record(task, marketData.getScenarioCount(), elapsedPerTask));
+      }
+      return results;
+    };
+    CompletableFuture.supplyAsync(batchExecutor, executor).thenAccept(results -> results.forEach(consumer));
+  }
+
+  // submits a task or batch of tasks to the executor to be run for each chunk of scenarios
+  // the results of the chunks are joined and passed to the consumer when all the chunks are complete
+  private void runChunkedBatch(
+      List<CalculationTask> batch,
+      ScenarioChunks chunks,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    List<CompletableFuture<List<CalculationResults>>> futures = new ArrayList<>(chunks.size());
+    for (int i = 0; i < chunks.size(); i++) {
+      ScenarioMarketData chunkMarketData = chunks.marketData(i);
+      ScenarioFxRateProviders chunkFxProviders = chunks.fxProviders(i);
+      Supplier<List<CalculationResults>> chunkExecutor = () -> {
+        long start = System.nanoTime();
+        List<CalculationResults> results =
+            CalculationTask.executeBatch(batch, chunkMarketData, chunkFxProviders, refData);
+        if (costModel != null) {
+          long elapsedPerTask = (System.nanoTime() - start) / batch.size();
+          batch.forEach(task -> costModel.record(task, chunkMarketData.getScenarioCount(), elapsedPerTask));
+        }
+        return results;
+      };
+      futures.add(CompletableFuture.supplyAsync(chunkExecutor, executor));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+        .thenRun(() -> {
+          List<List<CalculationResults>> chunkResults = futures.stream()
+              .map(CompletableFuture::join)
+              .collect(toImmutableList());
+          for (int taskIndex = 0; taskIndex < batch.size(); taskIndex++) {
+            int index = taskIndex;
+            consumer.accept(ScenarioChunks.join(chunkResults.stream()
+                .map(results -> results.get(index))
+                .collect(toImmutableList()), chunks.getScenarioCount()));
+          }
+        });
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
@@ -211,11 +487,11 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * containing a single value before passing the value to the delegate listener.
    * This is used by the single scenario async method.
    */
-  private static final class UnwrappingListener implements CalculationListener {
+  static final class UnwrappingListener implements CalculationListener {
 
     private final CalculationListener delegate;
 
-    private UnwrappingListener(CalculationListener delegate) {
+    UnwrappingListener(CalculationListener delegate) {
       this.delegate = delegate;
     }
 
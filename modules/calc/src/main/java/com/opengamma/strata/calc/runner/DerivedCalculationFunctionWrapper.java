@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import static java.util.stream.Collectors.toList;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,7 +34,13 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * Most of the logic is concerned with bookkeeping - packing and unpacking maps of measures and results before
  * passing them on or returning them.
  */
-class DerivedCalculationFunctionWrapper<T extends CalculationTarget, R> implements CalculationFunction<T> {
+class DerivedCalculationFunctionWrapper<T extends CalculationTarget, R>
+    implements CalculationFunction<T>, Serializable {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
 
   /**
    * The derived calculation function which calculates one measure.
@@ -81,6 +88,20 @@ class DerivedCalculationFunctionWrapper<T extends CalculationTarget, R> implemen
         delegateMeasures;
   }
 
+  /**
+   * Checks if this function can be serialized, which requires the derived and delegate functions to be serializable.
+   *
+   * @return true if the function can be serialized
+   */
+  boolean isSerializable() {
+    if (!(derivedFunction instanceof Serializable)) {
+      return false;
+    }
+    return delegate instanceof DerivedCalculationFunctionWrapper ?
+        ((DerivedCalculationFunctionWrapper<?, ?>) delegate).isSerializable() :
+        delegate instanceof Serializable;
+  }
+
   @Override
   public Class<T> targetType() {
     return derivedFunction.targetType();
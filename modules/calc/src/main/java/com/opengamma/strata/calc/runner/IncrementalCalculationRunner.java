@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Sets;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.BuiltMarketData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Runs a fixed set of calculations repeatedly, recalculating only the results affected by changes to market data.
+ * <p>
+ * Intraday, typically only a few quotes change between one run of the calculations and the next.
+ * This runner keeps the market data and results of the previous run, together with an index from
+ * each item of market data to the targets whose calculations require it.
+ * When the supplied market data changes, the {@link MarketDataFactory} only builds the market data
+ * that depends on the changed data, such as the curve groups using a changed quote, and only the
+ * targets whose required market data has changed are calculated again.
+ * <p>
+ * All the calculations for a target are performed again if any of them is affected.
+ * If the valuation date changes, all the market data is built and all the targets are calculated again.
+ * <p>
+ * The runner does not own the task runner, thus it is the callers responsibility to close it.
+ * <p>
+ * This class is mutable and thread-safe. Calculations are performed one run at a time.
+ */
+public final class IncrementalCalculationRunner {
+
+  /**
+   * The runner used to perform the calculations.
+   */
+  private final CalculationTaskRunner taskRunner;
+  /**
+   * The factory used to build the market data.
+   */
+  private final MarketDataFactory marketDataFactory;
+  /**
+   * The configuration used to build the market data.
+   */
+  private final MarketDataConfig marketDataConfig;
+  /**
+   * The calculations to perform.
+   */
+  private final CalculationTasks tasks;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The market data required by all the calculations.
+   */
+  private final MarketDataRequirements requirements;
+  /**
+   * The tasks for each row, keyed by row index.
+   */
+  private final ImmutableListMultimap<Integer, CalculationTask> tasksByRow;
+  /**
+   * The rows whose calculations require each item of market data, keyed by market data ID.
+   */
+  private final ImmutableSetMultimap<MarketDataId<?>, Integer> rowsByValueId;
+  /**
+   * The rows whose calculations require each time-series, keyed by observable ID.
+   */
+  private final ImmutableSetMultimap<ObservableId, Integer> rowsByTimeSeriesId;
+
+  /**
+   * The market data supplied for the previous run, null before the first run.
+   */
+  private MarketData suppliedData;
+  /**
+   * The market data built for the previous run, null before the first run.
+   */
+  private BuiltMarketData marketData;
+  /**
+   * The results of the previous run, null before the first run.
+   */
+  private Results results;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that will perform the specified calculations.
+   * <p>
+   * The market data requirements of each task are determined once, when the instance is created.
+   *
+   * @param taskRunner  the runner used to perform the calculations
+   * @param marketDataFactory  the factory used to build the market data
+   * @param marketDataConfig  the configuration used to build the market data
+   * @param tasks  the calculations to perform
+   * @param refData  the reference data
+   * @return the incremental runner
+   */
+  public static IncrementalCalculationRunner of(
+      CalculationTaskRunner taskRunner,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      CalculationTasks tasks,
+      ReferenceData refData) {
+
+    return new IncrementalCalculationRunner(taskRunner, marketDataFactory, marketDataConfig, tasks, refData);
+  }
+
+  // creates an instance, indexing the requirements of the tasks
+  private IncrementalCalculationRunner(
+      CalculationTaskRunner taskRunner,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      CalculationTasks tasks,
+      ReferenceData refData) {
+
+    this.taskRunner = ArgChecker.notNull(taskRunner, "taskRunner");
+    this.marketDataFactory = ArgChecker.notNull(marketDataFactory, "marketDataFactory");
+    this.marketDataConfig = ArgChecker.notNull(marketDataConfig, "marketDataConfig");
+    this.tasks = ArgChecker.notNull(tasks, "tasks");
+    this.refData = ArgChecker.notNull(refData, "refData");
+
+    // use for loop not streams for shorter stack traces
+    MarketDataRequirementsBuilder requirementsBuilder = MarketDataRequirements.builder();
+    ImmutableListMultimap.Builder<Integer, CalculationTask> tasksByRowBuilder = ImmutableListMultimap.builder();
+    ImmutableSetMultimap.Builder<MarketDataId<?>, Integer> valueBuilder = ImmutableSetMultimap.builder();
+    ImmutableSetMultimap.Builder<ObservableId, Integer> timeSeriesBuilder = ImmutableSetMultimap.builder();
+    for (CalculationTask task : tasks.getTasks()) {
+      MarketDataRequirements taskRequirements = task.requirements(refData);
+      requirementsBuilder.addRequirements(taskRequirements);
+      int rowIndex = task.getRowIndex();
+      tasksByRowBuilder.put(rowIndex, task);
+      for (MarketDataId<?> id : taskRequirements.getObservables()) {
+        valueBuilder.put(id, rowIndex);
+      }
+      for (MarketDataId<?> id : taskRequirements.getNonObservables()) {
+        valueBuilder.put(id, rowIndex);
+      }
+      for (ObservableId id : taskRequirements.getTimeSeries()) {
+        timeSeriesBuilder.put(id, rowIndex);
+      }
+    }
+    this.requirements = requirementsBuilder.build();
+    this.tasksByRow = tasksByRowBuilder.build();
+    this.rowsByValueId = valueBuilder.build();
+    this.rowsByTimeSeriesId = timeSeriesBuilder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds all the market data and performs all the calculations.
+   * <p>
+   * The market data and results are retained for use by subsequent updates.
+   *
+   * @param suppliedData  the market data supplied by the user, such as quotes
+   * @return the grid of calculation results
+   */
+  public synchronized Results calculate(MarketData suppliedData) {
+    ArgChecker.notNull(suppliedData, "suppliedData");
+    BuiltMarketData builtData = marketDataFactory.create(requirements, marketDataConfig, suppliedData, refData);
+    Results calculated = taskRunner.calculate(tasks, builtData, refData);
+    this.suppliedData = suppliedData;
+    this.marketData = builtData;
+    this.results = calculated;
+    return calculated;
+  }
+
+  /**
+   * Updates the results following a change to the supplied market data.
+   * <p>
+   * The changed market data is found by comparing the supplied data with that of the previous run.
+   * If there has been no previous run, all the calculations are performed.
+   *
+   * @param suppliedData  the market data supplied by the user, such as quotes
+   * @return the grid of calculation results
+   */
+  public synchronized Results update(MarketData suppliedData) {
+    ArgChecker.notNull(suppliedData, "suppliedData");
+    if (results == null) {
+      return calculate(suppliedData);
+    }
+    return update(suppliedData, changedIds(this.suppliedData, suppliedData));
+  }
+
+  /**
+   * Updates the results following a change to the specified items of supplied market data.
+   * <p>
+   * This is more efficient than {@link #update(MarketData)} when the source of the market data
+   * already knows which items have changed, as the supplied data does not need to be compared.
+   * The changed IDs must include every ID whose value or time-series differs from the previous run.
+   * If there has been no previous run, all the calculations are performed.
+   *
+   * @param suppliedData  the market data supplied by the user, such as quotes
+   * @param changedIds  the IDs of the supplied market data that have changed since the previous run
+   * @return the grid of calculation results
+   */
+  public synchronized Results update(MarketData suppliedData, Set<? extends MarketDataId<?>> changedIds) {
+    ArgChecker.notNull(suppliedData, "suppliedData");
+    ArgChecker.notNull(changedIds, "changedIds");
+    if (results == null || !marketData.getValuationDate().equals(suppliedData.getValuationDate())) {
+      return calculate(suppliedData);
+    }
+    BuiltMarketData builtData =
+        marketDataFactory.update(marketData, changedIds, requirements, marketDataConfig, suppliedData, refData);
+    SortedSet<Integer> affectedRows = affectedRows(marketData, builtData);
+    Results calculated = affectedRows.isEmpty() ? results : recalculate(affectedRows, builtData);
+    this.suppliedData = suppliedData;
+    this.marketData = builtData;
+    this.results = calculated;
+    return calculated;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the IDs of the values and time-series that differ between two sets of market data
+  private static Set<MarketDataId<?>> changedIds(MarketData previous, MarketData current) {
+    Set<MarketDataId<?>> changed = new HashSet<>();
+    for (MarketDataId<?> id : Sets.union(previous.getIds(), current.getIds())) {
+      if (!previous.findValue(id).equals(current.findValue(id))) {
+        changed.add(id);
+      }
+    }
+    for (ObservableId id : Sets.union(previous.getTimeSeriesIds(), current.getTimeSeriesIds())) {
+      if (!previous.getTimeSeries(id).equals(current.getTimeSeries(id))) {
+        changed.add(id);
+      }
+    }
+    return changed;
+  }
+
+  // finds the rows that require market data whose value differs between the previous and current market data
+  // unaffected values are reused by the factory, so the identity check in Objects.equals() is usually sufficient
+  private SortedSet<Integer> affectedRows(BuiltMarketData previous, BuiltMarketData current) {
+    SortedSet<Integer> affectedRows = new TreeSet<>();
+    for (MarketDataId<?> id : rowsByValueId.keySet()) {
+      if (!Objects.equals(previous.findValue(id).orElse(null), current.findValue(id).orElse(null))) {
+        affectedRows.addAll(rowsByValueId.get(id));
+      }
+    }
+    for (ObservableId id : rowsByTimeSeriesId.keySet()) {
+      if (!Objects.equals(previous.getTimeSeries(id), current.getTimeSeries(id))) {
+        affectedRows.addAll(rowsByTimeSeriesId.get(id));
+      }
+    }
+    return affectedRows;
+  }
+
+  // performs the calculations for the affected rows, merging the results with those of the previous run
+  private Results recalculate(SortedSet<Integer> affectedRows, BuiltMarketData builtData) {
+    // the affected rows are renumbered, as a set of tasks must form a complete grid
+    List<CalculationTask> affectedTasks = new ArrayList<>();
+    int[] rowIndices = new int[affectedRows.size()];
+    int newRowIndex = 0;
+    for (int rowIndex : affectedRows) {
+      for (CalculationTask task : tasksByRow.get(rowIndex)) {
+        affectedTasks.add(task.withRowIndex(newRowIndex));
+      }
+      rowIndices[newRowIndex++] = rowIndex;
+    }
+    Results affectedResults =
+        taskRunner.calculate(CalculationTasks.of(affectedTasks, tasks.getColumns()), builtData, refData);
+
+    // replace the affected rows in the previous results
+    int columnCount = results.getColumnCount();
+    List<Result<?>> cells = new ArrayList<>(results.getCells());
+    for (int i = 0; i < rowIndices.length; i++) {
+      for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+        cells.set(rowIndices[i] * columnCount + columnIndex, affectedResults.get(i, columnIndex));
+      }
+    }
+    return Results.of(results.getColumns(), cells);
+  }
+
+}
@@ -6,15 +6,21 @@
 package com.opengamma.strata.calc.runner;
 
 import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRateProvider;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
  * A provider of scenario FX rates that uses FX rate lookup.
  * The use of {@link FxRateLookup} allows triangulation currency and observable source to be controlled.
+ * <p>
+ * The arrays of rates returned by {@link #fxRates(Currency, Currency)} are cached by currency pair.
  */
 class LookupScenarioFxRateProvider
     implements ScenarioFxRateProvider, Serializable {
@@ -30,6 +36,10 @@ class LookupScenarioFxRateProvider
    * The FX rate lookup.
    */
   private final FxRateLookup lookup;
+  /**
+   * The cached arrays of rates, keyed by currency pair.
+   */
+  private final transient ConcurrentHashMap<CurrencyPair, DoubleArray> ratesCache = new ConcurrentHashMap<>();
 
   // obtains an instance, returning the interface type to make type system happy at call site
   static ScenarioFxRateProvider of(ScenarioMarketData marketData, FxRateLookup lookup) {
@@ -41,11 +51,26 @@ class LookupScenarioFxRateProvider
     this.lookup = ArgChecker.notNull(lookup, "lookup");
   }
 
+  // recreates the cache after deserialization
+  private Object readResolve() {
+    return new LookupScenarioFxRateProvider(marketData, lookup);
+  }
+
   @Override
   public int getScenarioCount() {
     return marketData.getScenarioCount();
   }
 
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(getScenarioCount(), 1);
+    }
+    return ratesCache.computeIfAbsent(
+        CurrencyPair.of(baseCurrency, counterCurrency),
+        pair -> DoubleArray.of(getScenarioCount(), i -> fxRateProvider(i).fxRate(pair.getBase(), pair.getCounter())));
+  }
+
   @Override
   public FxRateProvider fxRateProvider(int scenarioIndex) {
     return lookup.fxRateProvider(marketData.scenario(scenarioIndex));
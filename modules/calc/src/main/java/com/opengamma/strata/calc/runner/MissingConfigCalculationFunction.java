@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,7 +22,12 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * Function used when there is no function registered that can calculate a requested value.
  */
 final class MissingConfigCalculationFunction
-    implements CalculationFunction<CalculationTarget> {
+    implements CalculationFunction<CalculationTarget>, Serializable {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
 
   /**
    * Shared instance.
@@ -32,6 +38,11 @@ final class MissingConfigCalculationFunction
   private MissingConfigCalculationFunction() {
   }
 
+  // resolve after deserialization
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public Class<CalculationTarget> targetType() {
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.joinFuture;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.BuiltMarketData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.data.MarketData;
+
+/**
+ * Runs the same calculations for a sequence of valuation dates.
+ * <p>
+ * Applications such as P&amp;L explain and back-testing perform the same calculations for many
+ * valuation dates, each with its own market data. Calling {@link CalculationRunner#calculate}
+ * once for each date creates the tasks, resolves the targets and determines the market data
+ * requirements every time. Instead, this runner does that work once, and then for each date
+ * builds the market data using a {@link MarketDataFactory} and performs the calculations.
+ * <p>
+ * The dates are processed as a pipeline. While the calculations are performed for one date,
+ * the market data for the next date is built using the executor. The results for each date are
+ * passed to the consumer as soon as the calculations for the date are complete, on the thread that
+ * calls the {@code calculate} method, thus the consumer does not need to be thread-safe.
+ * At most two sets of market data are held at any one time.
+ * <p>
+ * The runner does not own the task runner or the executor, thus it is the callers responsibility to close them.
+ */
+public final class MultiDateCalculationRunner {
+
+  /**
+   * The runner used to perform the calculations.
+   */
+  private final CalculationTaskRunner taskRunner;
+  /**
+   * The factory used to build the market data for each date.
+   */
+  private final MarketDataFactory marketDataFactory;
+  /**
+   * The configuration specifying how the market data is built.
+   */
+  private final MarketDataConfig marketDataConfig;
+  /**
+   * The executor used to build the market data for the next date.
+   */
+  private final Executor executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance based on a calculation runner.
+   * <p>
+   * The calculations are performed using the task runner of the calculation runner.
+   * Building market data, including calibration, is CPU-bound, thus the market data for the next date
+   * is built using the executor of the task runner, or the common fork-join pool if the task runner
+   * does not expose one.
+   * <p>
+   * If the runner has a separate {@linkplain CalculationRunner#findIoExecutor() I/O executor}, the market data
+   * factory is configured to invoke its providers using it, see {@link MarketDataFactory#withIoExecutor(Executor)}.
+   * Otherwise the factory is used unchanged.
+   *
+   * @param runner  the runner used to perform the calculations
+   * @param marketDataFactory  the factory used to build the market data for each date
+   * @param marketDataConfig  the configuration specifying how the market data is built
+   * @return the multi-date runner
+   */
+  public static MultiDateCalculationRunner of(
+      CalculationRunner runner,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    ArgChecker.notNull(runner, "runner");
+    CalculationTaskRunner taskRunner = runner.getTaskRunner();
+    Executor executor = taskRunner instanceof DefaultCalculationTaskRunner ?
+        ((DefaultCalculationTaskRunner) taskRunner).getExecutor() :
+        ForkJoinPool.commonPool();
+    return of(runner, marketDataFactory, marketDataConfig, executor);
+  }
+
+  /**
+   * Obtains an instance based on a calculation runner, specifying the executor used to build market data.
+   * <p>
+   * The calculations are performed using the task runner of the calculation runner.
+   * If the runner has a separate {@linkplain CalculationRunner#findIoExecutor() I/O executor}, the market data
+   * factory is configured to invoke its providers using it, see {@link MarketDataFactory#withIoExecutor(Executor)}.
+   * Otherwise the factory is used unchanged.
+   *
+   * @param runner  the runner used to perform the calculations
+   * @param marketDataFactory  the factory used to build the market data for each date
+   * @param marketDataConfig  the configuration specifying how the market data is built
+   * @param executor  the executor used to build the market data for the next date
+   * @return the multi-date runner
+   */
+  public static MultiDateCalculationRunner of(
+      CalculationRunner runner,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      Executor executor) {
+
+    ArgChecker.notNull(runner, "runner");
+    ArgChecker.notNull(marketDataFactory, "marketDataFactory");
+    MarketDataFactory factory = runner.findIoExecutor()
+        .map(marketDataFactory::withIoExecutor)
+        .orElse(marketDataFactory);
+    return new MultiDateCalculationRunner(runner.getTaskRunner(), factory, marketDataConfig, executor);
+  }
+
+  /**
+   * Obtains an instance based on a task runner, specifying the executor used to build market data.
+   *
+   * @param taskRunner  the runner used to perform the calculations
+   * @param marketDataFactory  the factory used to build the market data for each date
+   * @param marketDataConfig  the configuration specifying how the market data is built
+   * @param executor  the executor used to build the market data for the next date
+   * @return the multi-date runner
+   */
+  public static MultiDateCalculationRunner of(
+      CalculationTaskRunner taskRunner,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      Executor executor) {
+
+    return new MultiDateCalculationRunner(taskRunner, marketDataFactory, marketDataConfig, executor);
+  }
+
+  // creates an instance
+  private MultiDateCalculationRunner(
+      CalculationTaskRunner taskRunner,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      Executor executor) {
+
+    this.taskRunner = ArgChecker.notNull(taskRunner, "taskRunner");
+    this.marketDataFactory = ArgChecker.notNull(marketDataFactory, "marketDataFactory");
+    this.marketDataConfig = ArgChecker.notNull(marketDataConfig, "marketDataConfig");
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs calculations for each valuation date, passing the results for each date to the consumer.
+   * <p>
+   * The tasks are created and the targets resolved once, and shared by all the dates.
+   *
+   * @param calculationRules  the rules defining how the calculation is performed
+   * @param targets  the targets for which values of the measures will be calculated
+   * @param columns  the configuration for the columns that will be calculated, including the measure
+   * @param valuationDates  the valuation dates, in the order they are to be calculated
+   * @param suppliedData  the function providing the market data supplied for each valuation date
+   * @param refData  the reference data to be used in the calculations
+   * @param consumer  the consumer of the results for each valuation date
+   * @throws RuntimeException if unable to build the market data for a date
+   */
+  public void calculate(
+      CalculationRules calculationRules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      List<LocalDate> valuationDates,
+      Function<LocalDate, ? extends MarketData> suppliedData,
+      ReferenceData refData,
+      BiConsumer<LocalDate, Results> consumer) {
+
+    CalculationTasks tasks = CalculationTasks.of(calculationRules, targets, columns, refData);
+    calculate(tasks, valuationDates, suppliedData, refData, consumer);
+  }
+
+  /**
+   * Performs calculations for each valuation date, passing the results for each date to the consumer.
+   * <p>
+   * The market data requirements are determined once, and the market data for each date
+   * is built from the data supplied for that date. The valuation date of the supplied
+   * data must match the date it is supplied for.
+   * <p>
+   * This method blocks until the results for all dates have been passed to the consumer.
+   * If the market data cannot be built for a date, the exception is thrown once the results
+   * for the previous dates have been passed to the consumer.
+   *
+   * @param tasks  the calculation tasks to invoke
+   * @param valuationDates  the valuation dates, in the order they are to be calculated
+   * @param suppliedData  the function providing the market data supplied for each valuation date
+   * @param refData  the reference data to be used in the calculations
+   * @param consumer  the consumer of the results for each valuation date
+   * @throws RuntimeException if unable to build the market data for a date
+   */
+  public void calculate(
+      CalculationTasks tasks,
+      List<LocalDate> valuationDates,
+      Function<LocalDate, ? extends MarketData> suppliedData,
+      ReferenceData refData,
+      BiConsumer<LocalDate, Results> consumer) {
+
+    ArgChecker.notNull(tasks, "tasks");
+    ArgChecker.notNull(suppliedData, "suppliedData");
+    ArgChecker.notNull(refData, "refData");
+    ArgChecker.notNull(consumer, "consumer");
+    List<LocalDate> dates = ImmutableList.copyOf(valuationDates);
+    if (dates.isEmpty()) {
+      return;
+    }
+    MarketDataRequirements requirements = tasks.requirements(refData);
+
+    // the market data for the next date is built while the calculations for the current date are performed
+    CompletableFuture<BuiltMarketData> next = buildMarketData(requirements, dates.get(0), suppliedData, refData);
+    for (int i = 0; i < dates.size(); i++) {
+      BuiltMarketData marketData = joinFuture(next);
+      if (i + 1 < dates.size()) {
+        next = buildMarketData(requirements, dates.get(i + 1), suppliedData, refData);
+      }
+      Results results = taskRunner.calculate(tasks, marketData, refData);
+      consumer.accept(dates.get(i), results);
+    }
+  }
+
+  // builds the market data for a date using the executor
+  private CompletableFuture<BuiltMarketData> buildMarketData(
+      MarketDataRequirements requirements,
+      LocalDate valuationDate,
+      Function<LocalDate, ? extends MarketData> suppliedData,
+      ReferenceData refData) {
+
+    return CompletableFuture.supplyAsync(
+        () -> {
+          MarketData marketData = suppliedData.apply(valuationDate);
+          if (!valuationDate.equals(marketData.getValuationDate())) {
+            throw new IllegalArgumentException(Messages.format(
+                "Market data supplied for {} has a different valuation date: {}",
+                valuationDate,
+                marketData.getValuationDate()));
+          }
+          return marketDataFactory.create(requirements, marketDataConfig, marketData, refData);
+        },
+        executor);
+  }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Collects the results of calculation tasks into a grid, without locking.
+ * <p>
+ * This is used in place of a {@link ResultsListener} when the caller only needs the complete grid of results.
+ * Each cell in the grid is calculated by exactly one task, thus calculation threads write their
+ * results directly into a preallocated array without any coordination.
+ * An atomic counter of the outstanding tasks is used to determine when the grid is complete.
+ * <p>
+ * This class is thread-safe.
+ */
+final class ResultsCollector implements Consumer<CalculationResults> {
+
+  /** The column headers of the results. */
+  private final List<ColumnHeader> headers;
+  /** The number of columns. */
+  private final int columnCount;
+  /**
+   * The results, in row-major order.
+   * <p>
+   * The array is not volatile. Each element is written once, before the writing thread decrements the
+   * count of outstanding tasks, and the thread that decrements the count to zero reads the elements
+   * after that. The atomic decrements ensure all the writes are visible to the reading thread.
+   */
+  private final Result<?>[] cells;
+  /** The number of tasks whose results have not yet been received. */
+  private final AtomicInteger outstandingTasks;
+  /** A future representing the grid of results. */
+  private final CompletableFuture<Results> future = new CompletableFuture<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance that collects the results of the specified tasks.
+   *
+   * @param tasks  the tasks whose results are to be collected
+   */
+  ResultsCollector(CalculationTasks tasks) {
+    List<Column> columns = tasks.getColumns();
+    this.headers = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    this.columnCount = columns.size();
+    this.cells = new Result<?>[tasks.getTargets().size() * columnCount];
+    this.outstandingTasks = new AtomicInteger(tasks.getTasks().size());
+    if (tasks.getTasks().isEmpty()) {
+      future.complete(Results.of(headers, Arrays.asList(cells)));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Accepts the results of a task, completing the grid if it is the last task.
+   * <p>
+   * This method can be invoked concurrently by multiple threads.
+   *
+   * @param results  the results of a task
+   */
+  @Override
+  public void accept(CalculationResults results) {
+    for (CalculationResult cell : results.getCells()) {
+      cells[cell.getRowIndex() * columnCount + cell.getColumnIndex()] = cell.getResult();
+    }
+    if (outstandingTasks.decrementAndGet() == 0) {
+      future.complete(Results.of(headers, Arrays.asList(cells)));
+    }
+  }
+
+  /**
+   * Returns the grid of results, blocking until it is available.
+   * <p>
+   * If the thread is interrupted while this method is blocked, then a runtime exception
+   * is thrown, but with the interrupt flag set.
+   *
+   * @return the grid of results
+   */
+  Results result() {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    } catch (ExecutionException ex) {
+      throw new RuntimeException("Exception getting result", ex);
+    }
+  }
+
+}
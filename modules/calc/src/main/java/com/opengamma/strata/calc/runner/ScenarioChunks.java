@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Splits scenario market data into chunks of scenarios, and joins the results calculated for each chunk.
+ * <p>
+ * This allows the scenarios of a single task to be calculated in parallel.
+ * The results of each chunk must be a {@link ScenarioArray}, which are joined in scenario order.
+ * Double, currency and multi-currency arrays are joined into an array of the same type.
+ */
+final class ScenarioChunks {
+
+  /**
+   * The total number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The market data for each chunk of scenarios.
+   */
+  private final List<ScenarioMarketData> marketData;
+  /**
+   * The FX rate providers for each chunk of scenarios.
+   */
+  private final List<ScenarioFxRateProviders> fxProviders;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Splits the market data into chunks of scenarios.
+   * <p>
+   * The scenarios are divided as evenly as possible, with no chunk larger than the specified size.
+   *
+   * @param marketData  the market data
+   * @param maxChunkSize  the maximum number of scenarios in each chunk
+   * @return the chunks
+   */
+  static ScenarioChunks of(ScenarioMarketData marketData, int maxChunkSize) {
+    int scenarioCount = marketData.getScenarioCount();
+    int chunkCount = (scenarioCount + maxChunkSize - 1) / maxChunkSize;
+    ImmutableList.Builder<ScenarioMarketData> chunks = ImmutableList.builder();
+    ImmutableList.Builder<ScenarioFxRateProviders> fxProviders = ImmutableList.builder();
+    for (int i = 0; i < chunkCount; i++) {
+      ScenarioMarketData chunk = marketData.scenarioRange(
+          (int) ((long) scenarioCount * i / chunkCount),
+          (int) ((long) scenarioCount * (i + 1) / chunkCount));
+      chunks.add(chunk);
+      fxProviders.add(ScenarioFxRateProviders.of(chunk));
+    }
+    return new ScenarioChunks(scenarioCount, chunks.build(), fxProviders.build());
+  }
+
+  // restricted constructor
+  private ScenarioChunks(
+      int scenarioCount,
+      List<ScenarioMarketData> marketData,
+      List<ScenarioFxRateProviders> fxProviders) {
+
+    this.scenarioCount = scenarioCount;
+    this.marketData = marketData;
+    this.fxProviders = fxProviders;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total number of scenarios in all the chunks.
+   *
+   * @return the number of scenarios
+   */
+  int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  /**
+   * Gets the number of chunks.
+   *
+   * @return the number of chunks
+   */
+  int size() {
+    return marketData.size();
+  }
+
+  /**
+   * Gets the market data for a chunk.
+   *
+   * @param chunkIndex  the index of the chunk
+   * @return the market data for the chunk
+   */
+  ScenarioMarketData marketData(int chunkIndex) {
+    return marketData.get(chunkIndex);
+  }
+
+  /**
+   * Gets the FX rate providers for a chunk.
+   *
+   * @param chunkIndex  the index of the chunk
+   * @return the FX rate providers for the chunk
+   */
+  ScenarioFxRateProviders fxProviders(int chunkIndex) {
+    return fxProviders.get(chunkIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Joins the results of a task calculated for each chunk.
+   * <p>
+   * The results of each chunk must have the same cells in the same order,
+   * as they are calculated by the same task.
+   * If the joined results of a cell do not contain the expected number of scenarios, the result of the cell
+   * is a failure, as the results could not be matched to the scenarios.
+   *
+   * @param chunkResults  the results for each chunk, in scenario order
+   * @param scenarioCount  the total number of scenarios in the chunks
+   * @return the results for all the scenarios
+   */
+  static CalculationResults join(List<CalculationResults> chunkResults, int scenarioCount) {
+    CalculationResults first = chunkResults.get(0);
+    ImmutableList.Builder<CalculationResult> cells = ImmutableList.builder();
+    for (int cellIndex = 0; cellIndex < first.getCells().size(); cellIndex++) {
+      List<Result<?>> results = new ArrayList<>(chunkResults.size());
+      for (CalculationResults chunk : chunkResults) {
+        results.add(chunk.getCells().get(cellIndex).getResult());
+      }
+      cells.add(first.getCells().get(cellIndex).withResult(joinResults(results, scenarioCount)));
+    }
+    return CalculationResults.of(first.getTarget(), cells.build());
+  }
+
+  // joins the results of a cell, returning the first failure if any chunk failed
+  private static Result<?> joinResults(List<Result<?>> results, int scenarioCount) {
+    List<ScenarioArray<?>> arrays = new ArrayList<>(results.size());
+    int joinedCount = 0;
+    for (Result<?> result : results) {
+      if (result.isFailure()) {
+        return result;
+      }
+      if (!(result.getValue() instanceof ScenarioArray)) {
+        return Result.failure(
+            FailureReason.UNSUPPORTED,
+            "Result of type '{}' cannot be joined when the scenarios are calculated in chunks",
+            result.getValue().getClass().getName());
+      }
+      ScenarioArray<?> array = (ScenarioArray<?>) result.getValue();
+      arrays.add(array);
+      joinedCount += array.getScenarioCount();
+    }
+    if (joinedCount != scenarioCount) {
+      return Result.failure(
+          FailureReason.CALCULATION_FAILED,
+          "Results of the chunks contain {} scenarios but {} scenarios were calculated",
+          joinedCount,
+          scenarioCount);
+    }
+    return Result.success(joinArrays(arrays));
+  }
+
+  // joins the arrays, retaining the type of the array if possible
+  private static ScenarioArray<?> joinArrays(List<ScenarioArray<?>> arrays) {
+    ScenarioArray<?> first = arrays.get(0);
+    if (arrays.stream().allMatch(array -> array instanceof DoubleScenarioArray)) {
+      DoubleArray values = DoubleArray.EMPTY;
+      for (ScenarioArray<?> array : arrays) {
+        values = values.concat(((DoubleScenarioArray) array).getValues());
+      }
+      return DoubleScenarioArray.of(values);
+    }
+    if (first instanceof CurrencyScenarioArray) {
+      Currency currency = ((CurrencyScenarioArray) first).getCurrency();
+      if (arrays.stream().allMatch(array -> array instanceof CurrencyScenarioArray &&
+          ((CurrencyScenarioArray) array).getCurrency().equals(currency))) {
+        DoubleArray values = DoubleArray.EMPTY;
+        for (ScenarioArray<?> array : arrays) {
+          values = values.concat(((CurrencyScenarioArray) array).getAmounts().getValues());
+        }
+        return CurrencyScenarioArray.of(currency, values);
+      }
+    }
+    if (arrays.stream().allMatch(array -> array instanceof MultiCurrencyScenarioArray)) {
+      return MultiCurrencyScenarioArray.of(arrays.stream()
+          .flatMap(array -> ((MultiCurrencyScenarioArray) array).stream())
+          .collect(toImmutableList()));
+    }
+    return ScenarioArray.of(arrays.stream()
+        .flatMap(ScenarioArray::stream)
+        .collect(toImmutableList()));
+  }
+
+}
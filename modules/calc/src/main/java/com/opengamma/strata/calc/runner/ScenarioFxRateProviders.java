@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * The scenario FX rate providers used when converting the results of a set of tasks.
+ * <p>
+ * A provider is created for each distinct {@link FxRateLookup} and shared by all tasks using it.
+ * As the providers cache the FX rates for each currency pair, the rates are only looked up
+ * once per set of market data, rather than once for each task.
+ * <p>
+ * This class is thread-safe.
+ */
+final class ScenarioFxRateProviders {
+
+  /**
+   * The market data for a set of scenarios.
+   */
+  private final ScenarioMarketData marketData;
+  /**
+   * The providers, keyed by the lookup, empty for the default provider.
+   */
+  private final ConcurrentHashMap<Optional<FxRateLookup>, ScenarioFxRateProvider> providers =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Obtains an instance for the market data.
+   *
+   * @param marketData  the market data
+   * @return the providers
+   */
+  static ScenarioFxRateProviders of(ScenarioMarketData marketData) {
+    return new ScenarioFxRateProviders(marketData);
+  }
+
+  // restricted constructor
+  private ScenarioFxRateProviders(ScenarioMarketData marketData) {
+    this.marketData = marketData;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the FX rate provider suitable for the parameters.
+   *
+   * @param parameters  the calculation parameters
+   * @return the FX rate provider
+   */
+  ScenarioFxRateProvider fxProvider(CalculationParameters parameters) {
+    return providers.computeIfAbsent(parameters.findParameter(FxRateLookup.class), this::createProvider);
+  }
+
+  // creates the provider for the lookup
+  private ScenarioFxRateProvider createProvider(Optional<FxRateLookup> lookup) {
+    return lookup
+        .map(lkp -> LookupScenarioFxRateProvider.of(marketData, lkp))
+        .orElse(ScenarioFxRateProvider.of(marketData));
+  }
+
+}
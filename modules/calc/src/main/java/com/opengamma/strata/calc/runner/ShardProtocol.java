@@ -0,0 +1,497 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * The protocol used to send calculation tasks to a worker process and receive the results.
+ * <p>
+ * All messages are length-prefixed byte arrays, each containing objects in Java serialized form.
+ * A message with a negative length, or a length greater than the maximum, is rejected.
+ * <p>
+ * When a worker connects using a socket, it first sends the token that identifies it to the coordinator.
+ * The coordinator closes any connection that does not send the expected token.
+ * The coordinator then sends the packages whose classes can be deserialized, in addition to the
+ * {@linkplain #DEFAULT_PACKAGES default packages}. Both the coordinator and the worker reject any
+ * serialized object containing a class outside these packages.
+ * <p>
+ * A request from the coordinator consists of two messages. The first contains the market data and
+ * reference data, serialized once and sent unchanged to every worker. The second contains the tasks.
+ * The functions of the tasks must be serializable. The tasks are serialized together, thus tasks
+ * that share a function on the coordinator also share it on the worker.
+ * <p>
+ * The worker replies with a message containing the {@link CalculationResults} of each task, in the order
+ * the tasks complete. If the worker cannot process the request, it replies with a negative length,
+ * followed by the message of the error, and exits.
+ */
+final class ShardProtocol {
+
+  /**
+   * The length sent in place of a message to indicate that the worker has failed.
+   */
+  static final int FAILURE = -1;
+  /**
+   * The maximum length of a message, which is the maximum size of an array.
+   */
+  static final int MAX_MESSAGE_LENGTH = Integer.MAX_VALUE - 8;
+  /**
+   * The maximum length of the token sent by a worker when it connects.
+   */
+  static final int MAX_TOKEN_LENGTH = 1024;
+  /**
+   * The packages whose classes can always be deserialized.
+   */
+  static final ImmutableSet<String> DEFAULT_PACKAGES = ImmutableSet.of(
+      "java.lang.",
+      "java.math.",
+      "java.time.",
+      "java.util.",
+      "com.google.common.",
+      "org.joda.",
+      "com.opengamma.strata.");
+  /**
+   * The maximum number of packages sent to a worker.
+   */
+  private static final int MAX_PACKAGES = 10_000;
+  /**
+   * The size of the chunks a large message is read in.
+   */
+  private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+  /**
+   * Restricted constructor.
+   */
+  private ShardProtocol() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a length-prefixed message.
+   *
+   * @param out  the output stream
+   * @param bytes  the message
+   * @throws IOException if an IO error occurs
+   */
+  static void writeMessage(DataOutputStream out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Writes the failure message.
+   *
+   * @param out  the output stream
+   * @param message  the message describing the failure
+   * @throws IOException if an IO error occurs
+   */
+  static void writeFailure(DataOutputStream out, String message) throws IOException {
+    out.writeInt(FAILURE);
+    // writeUTF is limited to 64k bytes
+    out.writeUTF(message.length() > 10_000 ? message.substring(0, 10_000) : message);
+    out.flush();
+  }
+
+  /**
+   * Reads a length-prefixed message.
+   * <p>
+   * The message is read in chunks, thus memory is only allocated as the bytes of the message arrive.
+   *
+   * @param in  the input stream
+   * @param maxLength  the maximum length of the message
+   * @return the message
+   * @throws IOException if an IO error occurs, the length is invalid, or the message is a failure
+   */
+  static byte[] readMessage(DataInputStream in, int maxLength) throws IOException {
+    int length = in.readInt();
+    if (length == FAILURE) {
+      throw new IOException("Calculation worker failed: " + in.readUTF());
+    }
+    if (length < 0 || length > maxLength) {
+      throw new IOException(Messages.format("Invalid message length: {}", length));
+    }
+    if (length <= READ_CHUNK_SIZE) {
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      return bytes;
+    }
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(READ_CHUNK_SIZE);
+    byte[] chunk = new byte[READ_CHUNK_SIZE];
+    int remaining = length;
+    while (remaining > 0) {
+      int read = in.read(chunk, 0, Math.min(remaining, READ_CHUNK_SIZE));
+      if (read < 0) {
+        throw new EOFException("Message ended before the expected length");
+      }
+      baos.write(chunk, 0, read);
+      remaining -= read;
+    }
+    return baos.toByteArray();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the token that identifies a worker to the coordinator.
+   *
+   * @param out  the output stream
+   * @param token  the token
+   * @throws IOException if an IO error occurs
+   */
+  static void writeToken(DataOutputStream out, String token) throws IOException {
+    writeMessage(out, token.getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  /**
+   * Reads the token sent by a worker, checking it matches the expected token.
+   *
+   * @param in  the input stream
+   * @param expectedToken  the expected token
+   * @return true if the token matches
+   * @throws IOException if an IO error occurs
+   */
+  static boolean readToken(DataInputStream in, String expectedToken) throws IOException {
+    byte[] token = readMessage(in, MAX_TOKEN_LENGTH);
+    // constant time comparison, so the token cannot be guessed from the response time
+    return MessageDigest.isEqual(token, expectedToken.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Writes the packages whose classes can be deserialized.
+   *
+   * @param out  the output stream
+   * @param packages  the packages
+   * @throws IOException if an IO error occurs
+   */
+  static void writePackages(DataOutputStream out, Set<String> packages) throws IOException {
+    out.writeInt(packages.size());
+    for (String pkg : packages) {
+      out.writeUTF(pkg);
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads the packages whose classes can be deserialized.
+   *
+   * @param in  the input stream
+   * @return the packages, including the default packages
+   * @throws IOException if an IO error occurs, or the number of packages is invalid
+   */
+  static ImmutableSet<String> readPackages(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0 || count > MAX_PACKAGES) {
+      throw new IOException(Messages.format("Invalid number of packages: {}", count));
+    }
+    Set<String> packages = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      packages.add(in.readUTF());
+    }
+    return allowedPackages(packages);
+  }
+
+  /**
+   * Obtains the packages whose classes can be deserialized.
+   * <p>
+   * The result contains the default packages and the specified packages.
+   * Each package name ends with a dot, thus it only matches the classes of the package and its sub-packages.
+   *
+   * @param packages  the additional packages
+   * @return the packages
+   */
+  static ImmutableSet<String> allowedPackages(Set<String> packages) {
+    return ImmutableSet.<String>builder()
+        .addAll(DEFAULT_PACKAGES)
+        .addAll(packages.stream()
+            .map(pkg -> pkg.endsWith(".") ? pkg : pkg + ".")
+            .collect(toImmutableSet()))
+        .build();
+  }
+
+  /**
+   * Checks if a class can be deserialized.
+   *
+   * @param className  the name of the class, as returned by {@link Class#getName()}
+   * @param allowedPackages  the packages whose classes can be deserialized
+   * @return true if the class can be deserialized
+   */
+  static boolean isAllowed(String className, Set<String> allowedPackages) {
+    // array classes are named '[[Lcom.foo.Bar;' and arrays of primitives '[[D'
+    String elementName = className;
+    if (className.startsWith("[")) {
+      elementName = className.substring(className.lastIndexOf('[') + 1);
+      if (elementName.length() == 1) {
+        return true;
+      }
+      elementName = elementName.substring(1, elementName.length() - 1);
+    }
+    for (String pkg : allowedPackages) {
+      if (elementName.startsWith(pkg)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Serializes an object.
+   *
+   * @param value  the value to serialize
+   * @return the serialized form
+   * @throws UncheckedIOException if the value cannot be serialized
+   */
+  static byte[] serialize(Object value) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return baos.toByteArray();
+  }
+
+  /**
+   * Deserializes an object.
+   * <p>
+   * Only classes in the allowed packages can be deserialized. Proxy classes cannot be deserialized.
+   *
+   * @param <T>  the expected type
+   * @param bytes  the serialized form
+   * @param type  the expected type
+   * @param allowedPackages  the packages whose classes can be deserialized
+   * @return the value
+   * @throws UncheckedIOException if the value cannot be deserialized, or contains a class that is not allowed
+   * @throws ClassCastException if the value is not of the expected type
+   */
+  static <T> T deserialize(byte[] bytes, Class<T> type, Set<String> allowedPackages) {
+    try (ObjectInputStream ois = new FilteringObjectInputStream(new ByteArrayInputStream(bytes), allowedPackages)) {
+      return type.cast(ois.readObject());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (ClassNotFoundException ex) {
+      throw new UncheckedIOException(new IOException(ex));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts the tasks to their serialized form.
+   *
+   * @param tasks  the tasks
+   * @return the serialized form
+   * @throws IllegalArgumentException if the function of a task is not serializable
+   * @throws UncheckedIOException if a task cannot be serialized
+   */
+  static byte[] encodeTasks(List<CalculationTask> tasks) {
+    ImmutableList<TaskData> taskData = tasks.stream()
+        .map(TaskData::new)
+        .collect(toImmutableList());
+    return serialize(taskData);
+  }
+
+  /**
+   * Creates the tasks from their serialized form.
+   *
+   * @param bytes  the serialized form
+   * @param allowedPackages  the packages whose classes can be deserialized
+   * @return the tasks
+   * @throws RuntimeException if the tasks cannot be created
+   */
+  static List<CalculationTask> decodeTasks(byte[] bytes, Set<String> allowedPackages) {
+    @SuppressWarnings("unchecked")
+    List<TaskData> taskData = deserialize(bytes, List.class, allowedPackages);
+    return taskData.stream()
+        .map(TaskData::toTask)
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts the results of a task to their serialized form.
+   * <p>
+   * Any result that cannot be serialized is replaced by a failure.
+   *
+   * @param results  the results
+   * @return the serialized form
+   */
+  static byte[] encodeResults(CalculationResults results) {
+    try {
+      return serialize(results);
+    } catch (RuntimeException ex) {
+      // find the cells that cannot be serialized, replacing them with failures
+      List<CalculationResult> cells = results.getCells().stream()
+          .map(cell -> serializableResult(cell))
+          .collect(toImmutableList());
+      return serialize(CalculationResults.of(results.getTarget(), cells));
+    }
+  }
+
+  // replaces the result with a failure if it cannot be serialized
+  private static CalculationResult serializableResult(CalculationResult cell) {
+    try {
+      serialize(cell);
+      return cell;
+    } catch (RuntimeException ex) {
+      return cell.withResult(Result.failure(
+          FailureReason.ERROR,
+          ex,
+          "Result could not be sent from the calculation worker: {}",
+          ex.getMessage()));
+    }
+  }
+
+  /**
+   * Creates the results of a task when it could not be calculated.
+   *
+   * @param task  the task
+   * @param message  the message describing the failure
+   * @return the results, a failure for each cell
+   */
+  static CalculationResults failureResults(CalculationTask task, String message) {
+    List<CalculationResult> cells = task.getCells().stream()
+        .map(cell -> CalculationResult.of(
+            cell.getRowIndex(),
+            cell.getColumnIndex(),
+            Result.failure(FailureReason.ERROR, "{}", message)))
+        .collect(toImmutableList());
+    return CalculationResults.of(task.getTarget(), cells);
+  }
+
+  /**
+   * Obtains the key identifying a task from its results.
+   * <p>
+   * No two tasks calculate the same cell, and the first cell of the results is the first cell of the task.
+   *
+   * @param results  the results of the task
+   * @return the key
+   */
+  static long key(CalculationResults results) {
+    CalculationResult cell = results.getCells().get(0);
+    return key(cell.getRowIndex(), cell.getColumnIndex());
+  }
+
+  /**
+   * Obtains the key identifying a task.
+   *
+   * @param task  the task
+   * @return the key
+   */
+  static long key(CalculationTask task) {
+    CalculationTaskCell cell = task.getCells().get(0);
+    return key(cell.getRowIndex(), cell.getColumnIndex());
+  }
+
+  // combines the row and column into a key
+  private static long key(int rowIndex, int columnIndex) {
+    return ((long) rowIndex << 32) | columnIndex;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The serialized form of a task.
+   */
+  private static final class TaskData implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CalculationTarget target;
+    private final CalculationFunction<?> function;
+    private final CalculationParameters parameters;
+    private final int[] rowIndices;
+    private final int[] columnIndices;
+    private final Measure[] measures;
+    private final ReportingCurrency[] reportingCurrencies;
+
+    private TaskData(CalculationTask task) {
+      CalculationFunction<?> fn = task.getFunction();
+      boolean serializable = fn instanceof DerivedCalculationFunctionWrapper ?
+          ((DerivedCalculationFunctionWrapper<?, ?>) fn).isSerializable() :
+          fn instanceof Serializable;
+      if (!serializable) {
+        // a function cannot be recreated in the worker without losing its state
+        throw new IllegalArgumentException(Messages.format(
+            "Calculation function '{}' must be serializable to be calculated by a worker",
+            fn.getClass().getName()));
+      }
+      List<CalculationTaskCell> cells = task.getCells();
+      this.target = task.getTarget();
+      this.function = fn;
+      this.parameters = task.getParameters();
+      this.rowIndices = cells.stream().mapToInt(CalculationTaskCell::getRowIndex).toArray();
+      this.columnIndices = cells.stream().mapToInt(CalculationTaskCell::getColumnIndex).toArray();
+      this.measures = cells.stream().map(CalculationTaskCell::getMeasure).toArray(Measure[]::new);
+      this.reportingCurrencies =
+          cells.stream().map(CalculationTaskCell::getReportingCurrency).toArray(ReportingCurrency[]::new);
+    }
+
+    // creates the task
+    private CalculationTask toTask() {
+      ImmutableList.Builder<CalculationTaskCell> cells = ImmutableList.builder();
+      for (int i = 0; i < rowIndices.length; i++) {
+        cells.add(CalculationTaskCell.of(rowIndices[i], columnIndices[i], measures[i], reportingCurrencies[i]));
+      }
+      return CalculationTask.of(target, function, parameters, cells.build());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * An object input stream that only resolves the classes of the allowed packages.
+   */
+  private static final class FilteringObjectInputStream extends ObjectInputStream {
+
+    private final Set<String> allowedPackages;
+
+    private FilteringObjectInputStream(InputStream in, Set<String> allowedPackages) throws IOException {
+      super(in);
+      this.allowedPackages = allowedPackages;
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+      if (!isAllowed(desc.getName(), allowedPackages)) {
+        throw new InvalidClassException(desc.getName(), "Class is not in the packages allowed to be deserialized");
+      }
+      return super.resolveClass(desc);
+    }
+
+    @Override
+    protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+      throw new InvalidClassException("Proxy classes are not allowed to be deserialized");
+    }
+  }
+
+}
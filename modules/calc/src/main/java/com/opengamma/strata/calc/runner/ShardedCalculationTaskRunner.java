@@ -0,0 +1,534 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation task runner that distributes the calculations across a set of worker processes.
+ * <p>
+ * All the calculations of a single runner are limited by the heap and garbage collection of one JVM.
+ * This runner instead splits the tasks by row into one shard per worker, with each worker being a
+ * separate process running {@link CalculationWorker}. The rows are split into contiguous blocks
+ * containing similar numbers of tasks, thus all the tasks of a row are calculated by the same worker.
+ * <p>
+ * The market data and reference data are serialized once, and the same bytes sent to each worker
+ * together with its shard of tasks. The results of each task are sent back as soon as they are
+ * calculated, and passed to the listener or added to the grid of results in the normal way.
+ * If a worker fails, or a result cannot be sent, the affected cells contain failures.
+ * A worker that has failed is not used for subsequent calculations.
+ * <p>
+ * The targets, functions, market data, reference data, parameters and results must be serializable.
+ * To prevent a worker or coordinator deserializing arbitrary classes, only the classes of the
+ * Java core packages, Guava, Joda and Strata can be deserialized by default. The packages of any
+ * other classes, such as those of custom trades or market data, must be specified when creating the runner.
+ * <p>
+ * The workers can be launched on the local machine using {@link #ofLocalWorkers(int)}, communicating
+ * using the standard input and output of each worker process. Alternatively, the workers can be started
+ * separately, for example on other machines, and connected using {@link #ofWorkers(ServerSocket, int, String)}.
+ * Each worker identifies itself using a secret token, typically created using {@link #createToken()},
+ * and any connection that does not send the token is closed.
+ * Each worker performs one calculation at a time. If the runner is used concurrently, the
+ * shards of each calculation are queued until the workers are available.
+ * <p>
+ * The runner owns the worker connections and any processes it launched, which are stopped when it is closed.
+ */
+public final class ShardedCalculationTaskRunner implements CalculationTaskRunner {
+
+  /** The logger. */
+  private static final Logger log = LoggerFactory.getLogger(ShardedCalculationTaskRunner.class);
+  /** The time to wait for the workers to connect, in milliseconds. */
+  private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+  /** The time to wait for a connected worker to send its token, in milliseconds. */
+  private static final int TOKEN_TIMEOUT_MILLIS = 10_000;
+  /** The time to wait for the local workers to exit when the runner is closed, in seconds. */
+  private static final int EXIT_TIMEOUT_SECONDS = 10;
+  /** The number of random bytes in a token. */
+  private static final int TOKEN_BYTES = 32;
+
+  /**
+   * The connections to the workers.
+   */
+  private final List<WorkerConnection> workers;
+  /**
+   * The worker processes launched by this runner, empty if the workers were started separately.
+   */
+  private final List<Process> processes;
+  /**
+   * The packages whose classes can be deserialized, including the default packages.
+   */
+  private final Set<String> allowedPackages;
+  /**
+   * The executor used to send the shards and receive the results, one thread per worker.
+   */
+  private final ExecutorService executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that launches worker processes on the local machine.
+   * <p>
+   * Each worker is a new JVM using the same Java installation and classpath as this JVM.
+   *
+   * @param workerCount  the number of worker processes
+   * @return the runner
+   * @throws UncheckedIOException if the workers cannot be launched
+   */
+  public static ShardedCalculationTaskRunner ofLocalWorkers(int workerCount) {
+    return ofLocalWorkers(workerCount, ImmutableList.of(), ImmutableSet.of());
+  }
+
+  /**
+   * Obtains an instance that launches worker processes on the local machine, specifying the JVM options.
+   * <p>
+   * Each worker is a new JVM using the same Java installation and classpath as this JVM,
+   * with the specified options, such as the maximum heap size.
+   *
+   * @param workerCount  the number of worker processes
+   * @param jvmOptions  the options passed to each worker JVM, such as {@code -Xmx4g}
+   * @return the runner
+   * @throws UncheckedIOException if the workers cannot be launched
+   */
+  public static ShardedCalculationTaskRunner ofLocalWorkers(int workerCount, List<String> jvmOptions) {
+    return ofLocalWorkers(workerCount, jvmOptions, ImmutableSet.of());
+  }
+
+  /**
+   * Obtains an instance that launches worker processes on the local machine, specifying the JVM options
+   * and the additional packages whose classes can be deserialized.
+   * <p>
+   * Each worker is a new JVM using the same Java installation and classpath as this JVM,
+   * with the specified options, such as the maximum heap size.
+   * The runner communicates with each worker using the standard input and output of the process,
+   * thus no other process can connect to the runner.
+   *
+   * @param workerCount  the number of worker processes
+   * @param jvmOptions  the options passed to each worker JVM, such as {@code -Xmx4g}
+   * @param allowedPackages  the packages whose classes can be deserialized, in addition to the defaults
+   * @return the runner
+   * @throws UncheckedIOException if the workers cannot be launched
+   */
+  public static ShardedCalculationTaskRunner ofLocalWorkers(
+      int workerCount,
+      List<String> jvmOptions,
+      Set<String> allowedPackages) {
+
+    ArgChecker.notNegativeOrZero(workerCount, "workerCount");
+    ArgChecker.noNulls(jvmOptions, "jvmOptions");
+    ArgChecker.noNulls(allowedPackages, "allowedPackages");
+    ImmutableSet<String> packages = ShardProtocol.allowedPackages(allowedPackages);
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    List<Process> processes = new ArrayList<>();
+    List<WorkerConnection> workers = new ArrayList<>();
+    try {
+      for (int i = 0; i < workerCount; i++) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(CalculationWorker.class.getName());
+        command.add(CalculationWorker.PIPE);
+        Process process = new ProcessBuilder(command).redirectError(Redirect.INHERIT).start();
+        processes.add(process);
+        WorkerConnection worker = new WorkerConnection(process.getInputStream(), process.getOutputStream(), () -> {
+          // the worker exits when its standard input is closed
+          process.getOutputStream().close();
+          process.getInputStream().close();
+        });
+        workers.add(worker);
+        worker.start(packages);
+      }
+      return new ShardedCalculationTaskRunner(workers, processes, packages);
+    } catch (IOException | RuntimeException ex) {
+      workers.forEach(WorkerConnection::close);
+      processes.forEach(Process::destroyForcibly);
+      throw ex instanceof IOException ? new UncheckedIOException((IOException) ex) : (RuntimeException) ex;
+    }
+  }
+
+  /**
+   * Obtains an instance using workers that connect to the specified server socket.
+   * <p>
+   * Each worker must be started separately, running {@link CalculationWorker} with the host and port of the socket,
+   * and with the token in the environment variable {@link CalculationWorker#TOKEN_VARIABLE}.
+   * This blocks until the specified number of workers have connected and sent the token.
+   * The server socket is not closed, and can be used to accept further connections.
+   *
+   * @param serverSocket  the server socket the workers connect to
+   * @param workerCount  the number of workers
+   * @param token  the secret token that the workers must send, see {@link #createToken()}
+   * @return the runner
+   * @throws UncheckedIOException if the workers do not connect
+   */
+  public static ShardedCalculationTaskRunner ofWorkers(ServerSocket serverSocket, int workerCount, String token) {
+    return ofWorkers(serverSocket, workerCount, token, ImmutableSet.of());
+  }
+
+  /**
+   * Obtains an instance using workers that connect to the specified server socket, specifying
+   * the additional packages whose classes can be deserialized.
+   * <p>
+   * Each worker must be started separately, running {@link CalculationWorker} with the host and port of the socket,
+   * and with the token in the environment variable {@link CalculationWorker#TOKEN_VARIABLE}.
+   * This blocks until the specified number of workers have connected and sent the token.
+   * The server socket is not closed, and can be used to accept further connections.
+   *
+   * @param serverSocket  the server socket the workers connect to
+   * @param workerCount  the number of workers
+   * @param token  the secret token that the workers must send, see {@link #createToken()}
+   * @param allowedPackages  the packages whose classes can be deserialized, in addition to the defaults
+   * @return the runner
+   * @throws UncheckedIOException if the workers do not connect
+   */
+  public static ShardedCalculationTaskRunner ofWorkers(
+      ServerSocket serverSocket,
+      int workerCount,
+      String token,
+      Set<String> allowedPackages) {
+
+    ArgChecker.notNull(serverSocket, "serverSocket");
+    ArgChecker.notNegativeOrZero(workerCount, "workerCount");
+    ArgChecker.notEmpty(token, "token");
+    ArgChecker.noNulls(allowedPackages, "allowedPackages");
+    ImmutableSet<String> packages = ShardProtocol.allowedPackages(allowedPackages);
+    try {
+      return new ShardedCalculationTaskRunner(
+          accept(serverSocket, workerCount, token, packages), ImmutableList.of(), packages);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Creates a random token that identifies the workers to the runner.
+   * <p>
+   * The token is created using a cryptographically strong random number generator.
+   *
+   * @return the token
+   */
+  public static String createToken() {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    new SecureRandom().nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  // waits for the workers to connect, closing any connection that does not send the token
+  private static List<WorkerConnection> accept(
+      ServerSocket serverSocket,
+      int workerCount,
+      String token,
+      Set<String> packages) throws IOException {
+
+    List<WorkerConnection> workers = new ArrayList<>();
+    int timeout = serverSocket.getSoTimeout();
+    long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+    try {
+      while (workers.size() < workerCount) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          throw new SocketTimeoutException("Timed out waiting for calculation workers to connect");
+        }
+        serverSocket.setSoTimeout((int) remaining);
+        Socket socket = serverSocket.accept();
+        if (authenticate(socket, token)) {
+          WorkerConnection worker = new WorkerConnection(socket.getInputStream(), socket.getOutputStream(), socket);
+          workers.add(worker);
+          worker.start(packages);
+        }
+      }
+      return workers;
+    } catch (IOException ex) {
+      workers.forEach(WorkerConnection::close);
+      throw ex;
+    } finally {
+      serverSocket.setSoTimeout(timeout);
+    }
+  }
+
+  // checks that the connection sends the token, closing it if not
+  private static boolean authenticate(Socket socket, String token) {
+    try {
+      socket.setTcpNoDelay(true);
+      socket.setSoTimeout(TOKEN_TIMEOUT_MILLIS);
+      if (ShardProtocol.readToken(new DataInputStream(socket.getInputStream()), token)) {
+        socket.setSoTimeout(0);
+        return true;
+      }
+      log.warn("Rejected calculation worker connection from {}: invalid token", socket.getRemoteSocketAddress());
+    } catch (IOException ex) {
+      log.warn("Rejected calculation worker connection from {}: {}", socket.getRemoteSocketAddress(), ex.getMessage());
+    }
+    try {
+      socket.close();
+    } catch (IOException ex) {
+      // ignored, the connection is not used
+    }
+    return false;
+  }
+
+  // creates an instance
+  private ShardedCalculationTaskRunner(
+      List<WorkerConnection> workers,
+      List<Process> processes,
+      Set<String> allowedPackages) {
+
+    this.workers = ImmutableList.copyOf(workers);
+    this.processes = ImmutableList.copyOf(processes);
+    this.allowedPackages = allowedPackages;
+    this.executor = Executors.newFixedThreadPool(workers.size(), r -> {
+      Thread thread = new Thread(r, "ShardedCalculationTaskRunner");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of workers that are available.
+   * <p>
+   * This excludes any workers that have failed.
+   *
+   * @return the number of available workers
+   */
+  public int getWorkerCount() {
+    return (int) workers.stream().filter(WorkerConnection::isAvailable).count();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculate(CalculationTasks tasks, MarketData marketData, ReferenceData refData) {
+    // since there is only one scenario it is not desirable to return scenario result containers
+    Results results = calculateMultiScenario(tasks, ScenarioMarketData.of(1, marketData), refData);
+    List<Result<?>> mappedResults = results.getCells().stream()
+        .map(DefaultCalculationTaskRunner::unwrapScenarioResult)
+        .collect(toImmutableList());
+    return Results.of(results.getColumns(), mappedResults);
+  }
+
+  @Override
+  public void calculateAsync(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
+    ScenarioMarketData md = ScenarioMarketData.of(1, marketData);
+    calculateMultiScenarioAsync(tasks, md, refData, new DefaultCalculationTaskRunner.UnwrappingListener(listener));
+  }
+
+  @Override
+  public Results calculateMultiScenario(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    ResultsCollector collector = new ResultsCollector(tasks);
+    submit(tasks.getTasks(), marketData, refData, collector);
+    return collector.result();
+  }
+
+  @Override
+  public void calculateMultiScenarioAsync(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
+    List<CalculationTask> taskList = tasks.getTasks();
+    Consumer<CalculationResults> consumer =
+        new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+    submit(taskList, marketData, refData, consumer);
+  }
+
+  // sends a shard of the tasks to each available worker, passing the results of each task to the consumer
+  private void submit(
+      List<CalculationTask> taskList,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    if (taskList.isEmpty()) {
+      return;
+    }
+    List<WorkerConnection> available = workers.stream()
+        .filter(WorkerConnection::isAvailable)
+        .collect(toImmutableList());
+    if (available.isEmpty()) {
+      throw new IllegalStateException("No calculation workers are available");
+    }
+    // the market data is serialized once and sent to every worker
+    // everything is serialized before sending, thus anything not serializable fails the calculation here
+    byte[] environment = ShardProtocol.serialize(new Object[] {marketData, refData});
+    List<List<CalculationTask>> shards = shards(taskList, available.size());
+    List<byte[]> encodedShards = shards.stream()
+        .map(ShardProtocol::encodeTasks)
+        .collect(toImmutableList());
+    for (int i = 0; i < shards.size(); i++) {
+      WorkerConnection worker = available.get(i);
+      List<CalculationTask> shard = shards.get(i);
+      byte[] encodedShard = encodedShards.get(i);
+      executor.execute(() -> worker.calculate(environment, shard, encodedShard, allowedPackages, consumer));
+    }
+  }
+
+  // splits the tasks into contiguous blocks of rows with similar numbers of tasks
+  private static List<List<CalculationTask>> shards(List<CalculationTask> tasks, int shardCount) {
+    List<List<CalculationTask>> shards = new ArrayList<>(shardCount);
+    int start = 0;
+    for (int i = 0; i < shardCount && start < tasks.size(); i++) {
+      int end = Math.max(start + 1, (int) ((long) tasks.size() * (i + 1) / shardCount));
+      // the tasks for a row are adjacent, and are not split between shards
+      while (end < tasks.size() && tasks.get(end).getRowIndex() == tasks.get(end - 1).getRowIndex()) {
+        end++;
+      }
+      shards.add(tasks.subList(start, end));
+      start = end;
+    }
+    return shards;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void close() {
+    workers.forEach(WorkerConnection::close);
+    executor.shutdown();
+    for (Process process : processes) {
+      try {
+        if (!process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          process.destroyForcibly();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        process.destroyForcibly();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("ShardedCalculationTaskRunner[{} workers]", workers.size());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The connection to a worker.
+   * <p>
+   * This class is thread-safe. Only one shard is calculated at a time.
+   */
+  private static final class WorkerConnection {
+
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final Closeable connection;
+    private volatile boolean available = true;
+
+    private WorkerConnection(InputStream in, OutputStream out, Closeable connection) {
+      this.in = new DataInputStream(new BufferedInputStream(in));
+      this.out = new DataOutputStream(new BufferedOutputStream(out));
+      this.connection = connection;
+    }
+
+    // sends the packages whose classes the worker can deserialize
+    private void start(Set<String> packages) throws IOException {
+      ShardProtocol.writePackages(out, packages);
+    }
+
+    private boolean isAvailable() {
+      return available;
+    }
+
+    // sends the shard to the worker and passes the results to the consumer, failing the tasks not calculated
+    private synchronized void calculate(
+        byte[] environment,
+        List<CalculationTask> shard,
+        byte[] encodedShard,
+        Set<String> allowedPackages,
+        Consumer<CalculationResults> consumer) {
+
+      Set<Long> received = new HashSet<>();
+      String failureMessage = "Calculation results could not be read";
+      try {
+        if (!available) {
+          throw new IOException("Calculation worker is not available");
+        }
+        ShardProtocol.writeMessage(out, environment);
+        ShardProtocol.writeMessage(out, encodedShard);
+        out.flush();
+        for (int i = 0; i < shard.size(); i++) {
+          byte[] bytes = ShardProtocol.readMessage(in, ShardProtocol.MAX_MESSAGE_LENGTH);
+          try {
+            CalculationResults results = ShardProtocol.deserialize(bytes, CalculationResults.class, allowedPackages);
+            received.add(ShardProtocol.key(results));
+            consumer.accept(results);
+          } catch (RuntimeException ex) {
+            // the results of one task could not be read, the task is failed below
+            log.warn("Unable to read calculation results from worker", ex);
+          }
+        }
+      } catch (IOException | RuntimeException ex) {
+        // an IO error means the connection or the worker has failed, so the worker is not used again
+        if (ex instanceof IOException) {
+          close();
+        }
+        log.warn("Calculation worker failed: {}", ex.getMessage());
+        failureMessage = Messages.format("Calculation worker failed: {}", ex.getMessage());
+      }
+      for (CalculationTask task : shard) {
+        if (!received.contains(ShardProtocol.key(task))) {
+          consumer.accept(ShardProtocol.failureResults(task, failureMessage));
+        }
+      }
+    }
+
+    private void close() {
+      available = false;
+      try {
+        connection.close();
+      } catch (IOException ex) {
+        // ignored, the worker exits when the connection is closed
+      }
+    }
+  }
+
+}
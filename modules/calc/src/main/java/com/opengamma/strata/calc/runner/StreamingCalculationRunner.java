@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Runs calculations for a very large number of targets using a bounded amount of memory.
+ * <p>
+ * The {@link CalculationTaskRunner} methods that return {@code Results} hold the whole grid in memory.
+ * Instead, this runner passes each row of results to a consumer as soon as it is available, and
+ * limits the number of rows that have been started but not yet consumed, known as the window.
+ * <p>
+ * The targets are admitted to the underlying task runner in blocks of rows, with each block
+ * calculated using {@link CalculationTaskRunner#calculateMultiScenarioAsync}.
+ * Once the window is full, no more rows are admitted until the consumer has accepted a row.
+ * Thus if the consumer falls behind, the calculations pause, and the memory used for results
+ * is bounded by the window size rather than the number of targets.
+ * <p>
+ * The rows are passed to the consumer on the thread that calls the {@code calculate} method,
+ * thus the consumer does not need to be thread-safe.
+ * They are passed either in row order, or in the order in which the rows are completed.
+ * In row order, rows that complete early are held until the preceding rows are consumed,
+ * and count towards the window until then.
+ * <p>
+ * The runner does not own the task runner, thus it is the callers responsibility to close it.
+ */
+public final class StreamingCalculationRunner {
+
+  /**
+   * The number of blocks in a full window.
+   * Admitting rows in blocks smaller than the window keeps the task runner busy
+   * while the first rows of the window are being consumed.
+   */
+  private static final int BLOCKS_PER_WINDOW = 4;
+
+  /**
+   * The runner used to perform the calculations.
+   */
+  private final CalculationTaskRunner taskRunner;
+  /**
+   * The maximum number of rows that have been admitted but not yet consumed.
+   */
+  private final int windowSize;
+  /**
+   * Whether the rows are passed to the consumer in row order, rather than completion order.
+   */
+  private final boolean rowOrder;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that passes the rows to the consumer in row order.
+   *
+   * @param taskRunner  the runner used to perform the calculations
+   * @param windowSize  the maximum number of rows that have been started but not yet consumed
+   * @return the streaming runner
+   */
+  public static StreamingCalculationRunner ofRowOrder(CalculationTaskRunner taskRunner, int windowSize) {
+    return new StreamingCalculationRunner(taskRunner, windowSize, true);
+  }
+
+  /**
+   * Obtains an instance that passes the rows to the consumer in the order they are completed.
+   * <p>
+   * This uses the window most efficiently, as a slow row does not hold up the consumption of later rows.
+   *
+   * @param taskRunner  the runner used to perform the calculations
+   * @param windowSize  the maximum number of rows that have been started but not yet consumed
+   * @return the streaming runner
+   */
+  public static StreamingCalculationRunner ofCompletionOrder(CalculationTaskRunner taskRunner, int windowSize) {
+    return new StreamingCalculationRunner(taskRunner, windowSize, false);
+  }
+
+  // creates an instance
+  private StreamingCalculationRunner(CalculationTaskRunner taskRunner, int windowSize, boolean rowOrder) {
+    this.taskRunner = ArgChecker.notNull(taskRunner, "taskRunner");
+    this.windowSize = ArgChecker.notNegativeOrZero(windowSize, "windowSize");
+    this.rowOrder = rowOrder;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs calculations for a single set of market data, passing each row of results to the consumer.
+   * <p>
+   * This method blocks until all the rows have been passed to the consumer.
+   * Each row is passed as an instance of {@link CalculationResults} containing the target
+   * and a result for each column, in column order.
+   * <p>
+   * If the thread is interrupted while waiting for a row, a runtime exception is thrown,
+   * but with the interrupt flag set. Rows that have already been admitted continue to be calculated.
+   *
+   * @param tasks  the calculation tasks to invoke
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param consumer  the consumer of the rows of results
+   */
+  public void calculate(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    ArgChecker.notNull(marketData, "marketData");
+    run(tasks, (block, listener) -> taskRunner.calculateAsync(block, marketData, refData, listener), consumer);
+  }
+
+  /**
+   * Performs calculations for multiple scenarios, passing each row of results to the consumer.
+   * <p>
+   * This method blocks until all the rows have been passed to the consumer.
+   * Each row is passed as an instance of {@link CalculationResults} containing the target
+   * and a result for each column, in column order. Each result contains a value for every scenario.
+   * <p>
+   * If the thread is interrupted while waiting for a row, a runtime exception is thrown,
+   * but with the interrupt flag set. Rows that have already been admitted continue to be calculated.
+   *
+   * @param tasks  the calculation tasks to invoke
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param consumer  the consumer of the rows of results
+   */
+  public void calculateMultiScenario(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    ArgChecker.notNull(marketData, "marketData");
+    run(
+        tasks,
+        (block, listener) -> taskRunner.calculateMultiScenarioAsync(block, marketData, refData, listener),
+        consumer);
+  }
+
+  //-------------------------------------------------------------------------
+  // admits blocks of rows while there is space in the window, passing completed rows to the consumer
+  private void run(CalculationTasks tasks, BlockSubmitter submitter, Consumer<CalculationResults> consumer) {
+    ArgChecker.notNull(tasks, "tasks");
+    ArgChecker.notNull(consumer, "consumer");
+    ListMultimap<Integer, CalculationTask> tasksByRow = ArrayListMultimap.create();
+    for (CalculationTask task : tasks.getTasks()) {
+      tasksByRow.put(task.getRowIndex(), task);
+    }
+    int rowCount = tasks.getTargets().size();
+    int blockSize = Math.max(windowSize / BLOCKS_PER_WINDOW, 1);
+    BlockingQueue<CalculationResults> completedRows = new LinkedBlockingQueue<>();
+    Map<Integer, CalculationResults> heldRows = new HashMap<>();
+    int admitted = 0;
+    int consumed = 0;
+    while (consumed < rowCount) {
+      // the window is never empty here, as consumed < admitted once the first block has been admitted
+      while (admitted < rowCount && admitted - consumed < windowSize) {
+        int end = Math.min(Math.min(admitted + blockSize, rowCount), consumed + windowSize);
+        List<CalculationTask> blockTasks = new ArrayList<>();
+        for (int rowIndex = admitted; rowIndex < end; rowIndex++) {
+          for (CalculationTask task : tasksByRow.removeAll(rowIndex)) {
+            blockTasks.add(task.withRowIndex(rowIndex - admitted));
+          }
+        }
+        CalculationTasks block = CalculationTasks.of(blockTasks, tasks.getColumns());
+        submitter.submit(block, new RowListener(admitted, tasks.getColumns().size(), completedRows));
+        admitted = end;
+      }
+      CalculationResults row = takeRow(completedRows);
+      if (!rowOrder) {
+        consumer.accept(row);
+        consumed++;
+      } else {
+        heldRows.put(row.getCells().get(0).getRowIndex(), row);
+        for (CalculationResults next = heldRows.remove(consumed); next != null; next = heldRows.remove(consumed)) {
+          consumer.accept(next);
+          consumed++;
+        }
+      }
+    }
+  }
+
+  // waits for the next completed row
+  private static CalculationResults takeRow(BlockingQueue<CalculationResults> completedRows) {
+    try {
+      return completedRows.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Submits a block of tasks to the task runner.
+   */
+  private interface BlockSubmitter {
+
+    /**
+     * Submits the block of tasks, with the results passed to the listener.
+     *
+     * @param block  the block of tasks
+     * @param listener  the listener
+     */
+    void submit(CalculationTasks block, CalculationListener listener);
+  }
+
+  /**
+   * Listener that assembles the cells of a block into rows, adding each row to a queue once complete.
+   * <p>
+   * The listener is only invoked by one thread at a time, thus it does not need to be thread-safe.
+   */
+  private static final class RowListener implements CalculationListener {
+
+    /** The row index of the first row of the block in the full grid. */
+    private final int firstRowIndex;
+    /** The number of columns. */
+    private final int columnCount;
+    /** The queue to which completed rows are added. */
+    private final BlockingQueue<CalculationResults> completedRows;
+    /** The targets of the rows. */
+    private List<CalculationTarget> targets;
+    /** The cells of the rows that are not yet complete, keyed by row index within the block. */
+    private final Map<Integer, CalculationResult[]> partialRows = new HashMap<>();
+    /** The number of cells received for each row that is not yet complete, keyed by row index within the block. */
+    private final Map<Integer, Integer> cellCounts = new HashMap<>();
+
+    private RowListener(int firstRowIndex, int columnCount, BlockingQueue<CalculationResults> completedRows) {
+      this.firstRowIndex = firstRowIndex;
+      this.columnCount = columnCount;
+      this.completedRows = completedRows;
+    }
+
+    @Override
+    public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+      this.targets = targets;
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      int rowIndex = result.getRowIndex();
+      CalculationResult[] cells = partialRows.computeIfAbsent(rowIndex, i -> new CalculationResult[columnCount]);
+      cells[result.getColumnIndex()] = CalculationResult.of(
+          firstRowIndex + rowIndex, result.getColumnIndex(), result.getResult());
+      int cellCount = cellCounts.merge(rowIndex, 1, Integer::sum);
+      if (cellCount == columnCount) {
+        partialRows.remove(rowIndex);
+        cellCounts.remove(rowIndex);
+        completedRows.add(CalculationResults.of(targets.get(rowIndex), Arrays.asList(cells)));
+      }
+    }
+
+    @Override
+    public void calculationsComplete() {
+      // each row is added to the queue as soon as its last cell is received
+    }
+  }
+
+}
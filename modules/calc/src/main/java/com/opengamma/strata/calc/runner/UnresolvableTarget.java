@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import java.io.Serializable;
 import java.lang.invoke.MethodHandles;
 import java.util.concurrent.ExecutorService;
 
@@ -23,7 +24,7 @@ import com.opengamma.strata.basics.ResolvableCalculationTarget;
  * A calculation target used when the actual target cannot be resolved.
  */
 @BeanDefinition(style = "light", constructorScope = "package")
-final class UnresolvableTarget implements CalculationTarget, ImmutableBean {
+final class UnresolvableTarget implements CalculationTarget, ImmutableBean, Serializable {
 
   /**
    * The target that could not be resolved.
@@ -61,6 +62,11 @@ final class UnresolvableTarget implements CalculationTarget, ImmutableBean {
     MetaBean.register(META_BEAN);
   }
 
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
   /**
    * Creates an instance.
    * @param target  the value of the property, not null
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 
@@ -20,7 +21,12 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * Function used when the target cannot be resolved.
  */
 final class UnresolvableTargetCalculationFunction
-    implements CalculationFunction<UnresolvableTarget> {
+    implements CalculationFunction<UnresolvableTarget>, Serializable {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
 
   /**
    * Shared instance.
@@ -31,6 +37,11 @@ final class UnresolvableTargetCalculationFunction
   private UnresolvableTargetCalculationFunction() {
   }
 
+  // resolve after deserialization
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public Class<UnresolvableTarget> targetType() {
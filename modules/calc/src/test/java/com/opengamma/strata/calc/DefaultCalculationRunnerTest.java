@@ -8,6 +8,10 @@ package com.opengamma.strata.calc;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableList;
@@ -34,6 +38,40 @@ public class DefaultCalculationRunnerTest {
     }
   }
 
+  @Test
+  public void test_ofMultiThreadedWithIoExecutor() throws Exception {
+    Executor ioExecutor;
+    try (CalculationRunner test = CalculationRunner.ofMultiThreadedWithIoExecutor()) {
+      assertThat(test.getTaskRunner()).isNotNull();
+      ioExecutor = test.getIoExecutor();
+      assertThat(CompletableFuture.supplyAsync(() -> "io", ioExecutor).get()).isEqualTo("io");
+    }
+    // the I/O executor is owned by the runner, so it is shut down when the runner is closed
+    assertThat(ioExecutor).isInstanceOf(ExecutorService.class);
+    assertThat(((ExecutorService) ioExecutor).isShutdown()).isTrue();
+  }
+
+  @Test
+  public void test_of_ioExecutor() {
+    ExecutorService ioExecutor = MoreExecutors.newDirectExecutorService();
+    try (CalculationRunner test = CalculationRunner.of(MoreExecutors.newDirectExecutorService(), ioExecutor)) {
+      assertThat(test.getIoExecutor()).isSameAs(ioExecutor);
+      assertThat(test.findIoExecutor()).hasValue(ioExecutor);
+    }
+    // the I/O executor is owned by the caller
+    assertThat(ioExecutor.isShutdown()).isFalse();
+  }
+
+  @Test
+  public void test_ioExecutor_default() {
+    try (CalculationRunner test = CalculationRunner.of(MoreExecutors.newDirectExecutorService())) {
+      Thread[] thread = new Thread[1];
+      test.getIoExecutor().execute(() -> thread[0] = Thread.currentThread());
+      assertThat(thread[0]).isSameAs(Thread.currentThread());
+      assertThat(test.findIoExecutor()).isEmpty();
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void calculate() {
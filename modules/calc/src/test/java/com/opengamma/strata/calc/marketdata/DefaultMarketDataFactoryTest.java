@@ -10,9 +10,17 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -21,6 +29,9 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
+import com.opengamma.strata.collect.metrics.SummaryMetricsRecorder;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -119,6 +130,37 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(idC)).isEqualTo(new TestMarketDataC(timeSeries));
   }
 
+  /**
+   * Tests building market data records metrics when a recorder is installed.
+   */
+  @Test
+  public void buildNonObservableValuesMetrics() {
+    ObservableId idA = new TestIdA("1");
+    MarketDataId<?> idC = new TestIdC("1");
+    MarketData suppliedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(idA, LocalDateDoubleTimeSeries.builder().put(date(2012, 4, 8), 10).build())
+        .build();
+    MarketDataFactory factory = MarketDataFactory.of(
+        ObservableDataProvider.none(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionC());
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(idC)
+        .build();
+
+    Optional<MetricsRecorder> previous = Metrics.findRecorder();
+    SummaryMetricsRecorder recorder = SummaryMetricsRecorder.create();
+    Metrics.install(recorder);
+    try {
+      factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+    } finally {
+      Metrics.uninstall();
+      previous.ifPresent(Metrics::install);
+    }
+    assertThat(recorder.getCalls("MarketData", idC)).isEqualTo(1);
+    assertThat(recorder.getFailures("MarketData", idC)).isEqualTo(0);
+  }
+
   /**
    * Tests building observable market data values.
    */
@@ -214,6 +256,237 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests building market data that depends on other market data, building each level in parallel.
+   */
+  @Test
+  public void buildDataFromOtherDataParallel() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .build();
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 10)
+        .build();
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap =
+        ImmutableMap.of(
+            new TestIdA("1"), timeSeries1,
+            new TestIdA("2"), timeSeries2);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(timeSeriesMap),
+          executor,
+          ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+      assertThat(marketData.getValue(new TestIdB("1")))
+          .isEqualTo(new TestMarketDataB(1, new TestMarketDataC(timeSeries1)));
+      assertThat(marketData.getValue(new TestIdB("2")))
+          .isEqualTo(new TestMarketDataB(2, new TestMarketDataC(timeSeries2)));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests building data when the providers are invoked using an I/O executor.
+   */
+  @Test
+  public void buildDataFromOtherDataIoExecutor() {
+    TestObservableId observableId = TestObservableId.of(StandardId.of("reqs", "a"));
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"), observableId)
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .build();
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 10)
+        .build();
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap =
+        ImmutableMap.of(
+            new TestIdA("1"), timeSeries1,
+            new TestIdA("2"), timeSeries2);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    ExecutorService ioExecutor = Executors.newCachedThreadPool();
+    AtomicInteger ioRequests = new AtomicInteger();
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(timeSeriesMap),
+          executor,
+          task -> {
+            ioRequests.incrementAndGet();
+            ioExecutor.execute(task);
+          },
+          ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+      assertThat(marketData.getValue(observableId)).isEqualTo(1d);
+      assertThat(marketData.getValue(new TestIdB("1")))
+          .isEqualTo(new TestMarketDataB(1, new TestMarketDataC(timeSeries1)));
+      assertThat(marketData.getValue(new TestIdB("2")))
+          .isEqualTo(new TestMarketDataB(2, new TestMarketDataC(timeSeries2)));
+      // one request for the observable values and one for each time series
+      assertThat(ioRequests.get()).isEqualTo(3);
+    } finally {
+      executor.shutdown();
+      ioExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Tests building data sequentially when the providers are invoked using an I/O executor.
+   */
+  @Test
+  public void buildDataFromOtherDataIoExecutorOnly() {
+    TestObservableId observableId = TestObservableId.of(StandardId.of("reqs", "a"));
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), observableId)
+        .build();
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .build();
+    TestTimeSeriesProvider timeSeriesProvider =
+        new TestTimeSeriesProvider(ImmutableMap.of(new TestIdA("1"), timeSeries));
+    List<MarketDataFunction<?, ?>> functions =
+        ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC());
+    MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+
+    ExecutorService ioExecutor = Executors.newCachedThreadPool();
+    AtomicInteger ioRequests = new AtomicInteger();
+    Executor countingIoExecutor = task -> {
+      ioRequests.incrementAndGet();
+      ioExecutor.execute(task);
+    };
+    try {
+      // no executor to build in parallel
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(), timeSeriesProvider, null, countingIoExecutor, functions);
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getValue(observableId)).isEqualTo(1d);
+      assertThat(marketData.getValue(new TestIdB("1")))
+          .isEqualTo(new TestMarketDataB(1, new TestMarketDataC(timeSeries)));
+      assertThat(ioRequests.get()).isEqualTo(2);
+
+      // the I/O executor applied to an existing factory
+      MarketDataFactory factory2 = MarketDataFactory.of(new TestObservableDataProvider(), timeSeriesProvider, functions)
+          .withIoExecutor(countingIoExecutor);
+      BuiltMarketData marketData2 = factory2.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+      assertThat(marketData2.getValue(new TestIdB("1"))).isEqualTo(marketData.getValue(new TestIdB("1")));
+      assertThat(ioRequests.get()).isEqualTo(4);
+    } finally {
+      ioExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that all the time-series are requested in one batch from a provider supporting asynchronous requests.
+   */
+  @Test
+  public void buildDataFromOtherDataBatchedAsync() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .build();
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 10)
+        .build();
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap =
+        ImmutableMap.of(
+            new TestIdA("1"), timeSeries1,
+            new TestIdA("2"), timeSeries2);
+    BatchTimeSeriesProvider timeSeriesProvider = new BatchTimeSeriesProvider(new TestTimeSeriesProvider(timeSeriesMap));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    ExecutorService ioExecutor = Executors.newCachedThreadPool();
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          timeSeriesProvider,
+          executor,
+          ioExecutor,
+          ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+      assertThat(marketData.getValue(new TestIdB("1")))
+          .isEqualTo(new TestMarketDataB(1, new TestMarketDataC(timeSeries1)));
+      assertThat(marketData.getValue(new TestIdB("2")))
+          .isEqualTo(new TestMarketDataB(2, new TestMarketDataC(timeSeries2)));
+      assertThat(timeSeriesProvider.batches).containsExactly(ImmutableSet.of(new TestIdA("1"), new TestIdA("2")));
+    } finally {
+      executor.shutdown();
+      ioExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that only the market data depending on the changed data is built again.
+   */
+  @Test
+  public void update() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .build();
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 10)
+        .build();
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap =
+        ImmutableMap.of(
+            new TestIdA("1"), timeSeries1,
+            new TestIdA("2"), timeSeries2);
+
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(timeSeriesMap),
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC());
+
+    MarketData suppliedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addValue(new TestIdA("1"), 1d)
+        .addValue(new TestIdA("2"), 2d)
+        .build();
+    BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+    MarketData changedData = suppliedData.withValue(new TestIdA("1"), 5d);
+    BuiltMarketData updated = factory.update(
+        marketData, ImmutableSet.of(new TestIdA("1")), requirements, MARKET_DATA_CONFIG, changedData, REF_DATA);
+
+    assertThat(updated.getValueFailures()).isEmpty();
+    assertThat(updated.getValue(new TestIdB("1")))
+        .isEqualTo(new TestMarketDataB(5, new TestMarketDataC(timeSeries1)));
+    assertThat(updated.getValue(new TestIdB("2"))).isSameAs(marketData.getValue(new TestIdB("2")));
+    assertThat(updated.getValue(new TestIdC("2"))).isSameAs(marketData.getValue(new TestIdC("2")));
+  }
+
   /**
    * Tests building market data that depends on other market data that is supplied by the user.
    *
@@ -493,6 +766,39 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(id2)).isEqualTo(MarketDataBox.ofSingleValue(2d));
   }
 
+  /**
+   * Tests that perturbations are only applied when the values are requested when applying perturbations lazily.
+   */
+  @Test
+  public void perturbObservableValuesLazily() {
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(ImmutableMap.of()))
+        .withLazyPerturbations();
+
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+    TestObservableId id1 = TestObservableId.of(StandardId.of("reqs", "a"));
+    TestObservableId id2 = TestObservableId.of(StandardId.of("reqs", "b"));
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(id1, id2).build();
+    AbsoluteDoubleShift shift = new AbsoluteDoubleShift(1, 2, 3);
+    PerturbationMapping<Double> mapping = PerturbationMapping.of(new ExactIdFilter<>(id1), shift);
+    ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(ImmutableList.of(mapping));
+    BuiltScenarioMarketData marketData = factory.createMultiScenario(
+        requirements,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        REF_DATA, scenarioDefinition);
+
+    MarketDataBox<Double> box = marketData.getValue(id1);
+    assertThat(box.getScenarioCount()).isEqualTo(3);
+    assertThat(box.getMarketDataType()).isEqualTo(Double.class);
+    assertThat(shift.applyCount.get()).isEqualTo(0);
+    assertThat(box.getValue(0)).isEqualTo(2d);
+    assertThat(box.getScenarioValue().getValues()).containsExactly(2d, 3d, 4d);
+    assertThat(shift.applyCount.get()).isEqualTo(1);
+    assertThat(marketData.getValue(id2)).isEqualTo(MarketDataBox.ofSingleValue(2d));
+  }
+
   /**
    * Tests that observable data is only perturbed once, even if there are two applicable perturbation mappings.
    */
@@ -901,6 +1207,33 @@ public class DefaultMarketDataFactoryTest {
     }
   }
 
+  /**
+   * Time series provider that records the batches requested asynchronously.
+   */
+  private static final class BatchTimeSeriesProvider implements TimeSeriesProvider {
+
+    private final TimeSeriesProvider underlying;
+    private final List<Set<? extends ObservableId>> batches = new CopyOnWriteArrayList<>();
+
+    private BatchTimeSeriesProvider(TimeSeriesProvider underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId id) {
+      throw new UnsupportedOperationException("Time-series must be requested in a batch");
+    }
+
+    @Override
+    public CompletableFuture<Map<ObservableId, Result<LocalDateDoubleTimeSeries>>> provideTimeSeriesAsync(
+        Set<? extends ObservableId> identifiers,
+        Executor executor) {
+
+      batches.add(identifiers);
+      return CompletableFuture.supplyAsync(() -> underlying.provideTimeSeries(identifiers), executor);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Test ID A.
@@ -1184,6 +1517,7 @@ public class DefaultMarketDataFactoryTest {
   private static final class AbsoluteDoubleShift implements ScenarioPerturbation<Double> {
 
     private final double[] shiftAmount;
+    private final AtomicInteger applyCount = new AtomicInteger();
 
     private AbsoluteDoubleShift(double... shiftAmount) {
       this.shiftAmount = shiftAmount;
@@ -1191,6 +1525,7 @@ public class DefaultMarketDataFactoryTest {
 
     @Override
     public MarketDataBox<Double> applyTo(MarketDataBox<Double> marketData, ReferenceData refData) {
+      applyCount.incrementAndGet();
       return marketData.mapWithIndex(getScenarioCount(), (value, scenarioIndex) -> value + shiftAmount[scenarioIndex]);
     }
 
@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link PersistentMarketDataCache}.
+ */
+public class PersistentMarketDataCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final TestObservableId QUOTE_ID = TestObservableId.of("quote");
+  private static final CachedId ID = new CachedId("a");
+  private static final MarketDataRequirements REQUIREMENTS = MarketDataRequirements.builder().addValues(ID).build();
+
+  private Path tmpDir;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    tmpDir = Files.createTempDirectory("market-data-cache-test");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    MoreFiles.deleteRecursively(tmpDir, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    PersistentMarketDataCache test = PersistentMarketDataCache.of(tmpDir.resolve("cache"));
+    assertThat(test.getDirectory()).isEqualTo(tmpDir.resolve("cache"));
+    assertThat(test.getNamespace()).isEmpty();
+    assertThat(Files.isDirectory(tmpDir.resolve("cache"))).isTrue();
+    assertThat(test.toString()).contains("cache");
+  }
+
+  @Test
+  public void test_of_namespace() {
+    PersistentMarketDataCache test = PersistentMarketDataCache.of(tmpDir, "v2");
+    assertThat(test.getDirectory()).isEqualTo(tmpDir);
+    assertThat(test.getNamespace()).isEqualTo("v2");
+    assertThat(test.toString()).contains("v2");
+  }
+
+  @Test
+  public void test_build_cached() {
+    CachedFunction function = new CachedFunction();
+    MarketData suppliedData = ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 1d).build();
+
+    BuiltMarketData marketData1 = create(function, suppliedData);
+    assertThat(marketData1.getValue(ID)).isEqualTo("a1.0");
+    assertThat(function.count.get()).isEqualTo(1);
+
+    BuiltMarketData marketData2 = create(function, suppliedData);
+    assertThat(marketData2.getValue(ID)).isEqualTo("a1.0");
+    assertThat(function.count.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void test_build_inputsChanged() {
+    CachedFunction function = new CachedFunction();
+    MarketData suppliedData1 = ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 1d).build();
+    MarketData suppliedData2 = ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 2d).build();
+    MarketData suppliedData3 = ImmutableMarketData.builder(VAL_DATE.plusDays(1)).addValue(QUOTE_ID, 2d).build();
+
+    create(function, suppliedData1);
+    BuiltMarketData marketData2 = create(function, suppliedData2);
+    assertThat(marketData2.getValue(ID)).isEqualTo("a2.0");
+    assertThat(function.count.get()).isEqualTo(2);
+
+    create(function, suppliedData3);
+    assertThat(function.count.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void test_build_namespaces() {
+    CachedFunction function = new CachedFunction();
+    MarketData suppliedData = ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 1d).build();
+
+    create(function, suppliedData, PersistentMarketDataCache.of(tmpDir, "v1"));
+    create(function, suppliedData, PersistentMarketDataCache.of(tmpDir, "v2"));
+    assertThat(function.count.get()).isEqualTo(2);
+    create(function, suppliedData, PersistentMarketDataCache.of(tmpDir, "v1"));
+    assertThat(function.count.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void test_build_functionState() {
+    SuffixFunction functionX = new SuffixFunction("x");
+    SuffixFunction functionY = new SuffixFunction("y");
+    MarketData suppliedData = ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 1d).build();
+
+    // the functions are the same type, but their state is different, so they do not share values
+    assertThat(create(functionX, suppliedData, PersistentMarketDataCache.of(tmpDir)).getValue(ID)).isEqualTo("a1.0x");
+    assertThat(create(functionY, suppliedData, PersistentMarketDataCache.of(tmpDir)).getValue(ID)).isEqualTo("a1.0y");
+    assertThat(functionX.count.get()).isEqualTo(1);
+    assertThat(functionY.count.get()).isEqualTo(1);
+
+    // a function with the same state uses the cached value
+    SuffixFunction functionX2 = new SuffixFunction("x");
+    assertThat(create(functionX2, suppliedData, PersistentMarketDataCache.of(tmpDir)).getValue(ID)).isEqualTo("a1.0x");
+    assertThat(functionX2.count.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void test_clear() {
+    CachedFunction function = new CachedFunction();
+    MarketData suppliedData = ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 1d).build();
+
+    create(function, suppliedData);
+    PersistentMarketDataCache.of(tmpDir).clear();
+    create(function, suppliedData);
+    assertThat(function.count.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void test_build_corruptFile() throws IOException {
+    CachedFunction function = new CachedFunction();
+    MarketData suppliedData = ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 1d).build();
+
+    create(function, suppliedData);
+    try (Stream<Path> files = Files.list(tmpDir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.write(file, new byte[] {1, 2, 3});
+      }
+    }
+    BuiltMarketData marketData = create(function, suppliedData);
+    assertThat(marketData.getValue(ID)).isEqualTo("a1.0");
+    assertThat(function.count.get()).isEqualTo(2);
+  }
+
+  // creates the market data using a new factory and cache, equivalent to a new process
+  private BuiltMarketData create(CachedFunction function, MarketData suppliedData) {
+    return create(function, suppliedData, PersistentMarketDataCache.of(tmpDir));
+  }
+
+  // creates the market data using a new factory and the cache
+  private static BuiltMarketData create(
+      MarketDataFunction<String, CachedId> function,
+      MarketData suppliedData,
+      PersistentMarketDataCache cache) {
+
+    MarketDataFactory factory = MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), function)
+        .withPersistentCache(cache);
+    return factory.create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class CachedId implements MarketDataId<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+
+    private CachedId(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Class<String> getMarketDataType() {
+      return String.class;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof CachedId && Objects.equals(name, ((CachedId) obj).name);
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "CachedId[" + name + "]";
+    }
+  }
+
+  private static final class CachedFunction implements MarketDataFunction<String, CachedId> {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public MarketDataRequirements requirements(CachedId id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.builder().addValues(QUOTE_ID).build();
+    }
+
+    @Override
+    public MarketDataBox<String> build(
+        CachedId id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      count.incrementAndGet();
+      return marketData.getValue(QUOTE_ID).map(quote -> id.name + quote);
+    }
+
+    @Override
+    public Class<CachedId> getMarketDataIdType() {
+      return CachedId.class;
+    }
+  }
+
+  // serializable, thus the suffix is part of the cache key
+  private static final class SuffixFunction implements MarketDataFunction<String, CachedId>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String suffix;
+    private final transient AtomicInteger count = new AtomicInteger();
+
+    private SuffixFunction(String suffix) {
+      this.suffix = suffix;
+    }
+
+    @Override
+    public MarketDataRequirements requirements(CachedId id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.builder().addValues(QUOTE_ID).build();
+    }
+
+    @Override
+    public MarketDataBox<String> build(
+        CachedId id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      count.incrementAndGet();
+      return marketData.getValue(QUOTE_ID).map(quote -> id.name + quote + suffix);
+    }
+
+    @Override
+    public Class<CachedId> getMarketDataIdType() {
+      return CachedId.class;
+    }
+  }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.basics.ResolvableCalculationTarget;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+
+/**
+ * Test {@link CalculationCache}.
+ */
+public class CalculationCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_get() {
+    CalculationCache test = CalculationCache.create();
+    Object owner = new Object();
+    Object scope = new Object();
+    AtomicInteger count = new AtomicInteger();
+
+    assertThat(test.get(owner, "PV", scope, count::incrementAndGet)).isEqualTo(1);
+    assertThat(test.get(owner, "PV", scope, count::incrementAndGet)).isEqualTo(1);
+    assertThat(test.get(owner, new String("PV"), scope, count::incrementAndGet)).isEqualTo(1);
+    assertThat(test.size()).isEqualTo(1);
+
+    // owner and scope are compared by identity
+    assertThat(test.get(new Object(), "PV", scope, count::incrementAndGet)).isEqualTo(2);
+    assertThat(test.get(owner, "PV", new Object(), count::incrementAndGet)).isEqualTo(3);
+    assertThat(test.get(owner, "Other", scope, count::incrementAndGet)).isEqualTo(4);
+    assertThat(test.size()).isEqualTo(4);
+
+    test.clear();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.get(owner, "PV", scope, count::incrementAndGet)).isEqualTo(5);
+  }
+
+  @Test
+  public void test_get_exceptionNotCached() {
+    CalculationCache test = CalculationCache.create();
+    Object owner = new Object();
+    assertThatIllegalStateException()
+        .isThrownBy(() -> test.get(owner, "PV", REF_DATA, () -> {
+          throw new IllegalStateException();
+        }));
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.get(owner, "PV", REF_DATA, () -> "value")).isEqualTo("value");
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_resolve() {
+    CalculationCache test = CalculationCache.create();
+    CountingResolvable resolvable = new CountingResolvable();
+    CalculationParameters parameters = CalculationParameters.of(test);
+
+    String resolved = CalculationCache.resolve(resolvable, parameters, REF_DATA);
+    assertThat(resolved).isEqualTo("resolved");
+    assertThat(CalculationCache.resolve(resolvable, parameters, REF_DATA)).isSameAs(resolved);
+    assertThat(test.resolve(resolvable, REF_DATA)).isSameAs(resolved);
+    assertThat(resolvable.count.get()).isEqualTo(1);
+
+    // different reference data is resolved again
+    test.resolve(resolvable, ReferenceData.minimal());
+    assertThat(resolvable.count.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void test_resolve_noCache() {
+    CountingResolvable resolvable = new CountingResolvable();
+    CalculationCache.resolve(resolvable, CalculationParameters.empty(), REF_DATA);
+    CalculationCache.resolve(resolvable, CalculationParameters.empty(), REF_DATA);
+    assertThat(resolvable.count.get()).isEqualTo(2);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_calculationTasks() {
+    CalculationCache cache = CalculationCache.create();
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    CalculationRules rules = CalculationRules.of(functions, USD, cache);
+    ResolvableTarget target = new ResolvableTarget();
+    List<ResolvableTarget> targets = ImmutableList.of(target);
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+
+    CalculationTasks tasks1 = CalculationTasks.of(rules, targets, columns, REF_DATA);
+    CalculationTasks tasks2 = CalculationTasks.of(rules, targets, columns, REF_DATA);
+    assertThat(target.count.get()).isEqualTo(1);
+    assertThat(tasks2.getTargets().get(0)).isSameAs(tasks1.getTargets().get(0));
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class CountingResolvable implements Resolvable<String> {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public String resolve(ReferenceData refData) {
+      count.incrementAndGet();
+      return new String("resolved");
+    }
+  }
+
+  private static final class ResolvableTarget implements ResolvableCalculationTarget {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public CalculationTarget resolveTarget(ReferenceData refData) {
+      count.incrementAndGet();
+      return new TestTarget();
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+
+/**
+ * Test {@link CalculationTaskCostModel}.
+ */
+public class CalculationTaskCostModelTest {
+
+  private static final TestTarget TARGET = new TestTarget();
+  private static final CalculationTask SMALL = CalculationTask.of(
+      TARGET,
+      new TestFunction(),
+      CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL));
+  private static final CalculationTask LARGE = CalculationTask.of(
+      TARGET,
+      new TestFunction(),
+      CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL),
+      CalculationTaskCell.of(1, 1, TestingMeasures.PRESENT_VALUE_MULTI_CCY, NATURAL));
+  private static final CalculationTask TWO_CURRENCIES = CalculationTask.of(
+      TARGET,
+      new TestFunction(),
+      CalculationTaskCell.of(2, 0, TestingMeasures.PRESENT_VALUE, ReportingCurrency.of(USD)),
+      CalculationTaskCell.of(2, 1, TestingMeasures.PRESENT_VALUE, ReportingCurrency.of(GBP)));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_estimate_noObservations() {
+    CalculationTaskCostModel test = new CalculationTaskCostModel();
+    assertThat(test.estimate(SMALL, 1)).isEqualTo(1d);
+    assertThat(test.estimate(SMALL, 10)).isEqualTo(10d);
+    assertThat(test.estimate(LARGE, 10)).isEqualTo(20d);
+  }
+
+  @Test
+  public void test_estimate_observed() {
+    CalculationTaskCostModel test = new CalculationTaskCostModel();
+    test.record(SMALL, 2, 1000);
+    assertThat(test.estimate(SMALL, 1)).isEqualTo(500d);
+    assertThat(test.estimate(SMALL, 4)).isEqualTo(2000d);
+    test.record(SMALL, 1, 1500);
+    assertThat(test.estimate(SMALL, 1)).isCloseTo(800d, offset(1e-6));
+    // unknown shape is assumed to be as expensive per cell as the most expensive known shape
+    assertThat(test.estimate(LARGE, 1)).isCloseTo(1600d, offset(1e-6));
+    // the cost is per cell, not per measure
+    assertThat(test.estimate(TWO_CURRENCIES, 1)).isCloseTo(1600d, offset(1e-6));
+    test.record(LARGE, 1, 3000);
+    assertThat(test.estimate(LARGE, 2)).isEqualTo(6000d);
+  }
+
+  @Test
+  public void test_mostExpensiveFirst() {
+    CalculationTaskCostModel test = new CalculationTaskCostModel();
+    assertThat(test.mostExpensiveFirst(ImmutableList.of(SMALL, LARGE), 1)).containsExactly(LARGE, SMALL);
+    assertThat(test.mostExpensiveFirst(ImmutableList.of(SMALL, SMALL), 1)).containsExactly(SMALL, SMALL);
+    // observations refine the order
+    test.record(SMALL, 1, 5000);
+    test.record(LARGE, 1, 100);
+    assertThat(test.mostExpensiveFirst(ImmutableList.of(LARGE, SMALL), 1)).containsExactly(SMALL, LARGE);
+  }
+
+}
@@ -40,6 +40,9 @@ import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
+import com.opengamma.strata.collect.metrics.SummaryMetricsRecorder;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
@@ -329,6 +332,36 @@ public class CalculationTaskTest {
         .hasFailureMessageMatching("Error when invoking function 'SupplierFunction' for ID '123': foo");
   }
 
+  /**
+   * Tests that executing a function records metrics when a recorder is installed.
+   */
+  @Test
+  public void executeMetrics() {
+    SupplierFunction<String> fn = SupplierFunction.of(() -> "foo");
+    SupplierFunction<String> failingFn = SupplierFunction.of(() -> {
+      throw new IllegalArgumentException("foo");
+    });
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+    Optional<MetricsRecorder> previous = Metrics.findRecorder();
+    SummaryMetricsRecorder recorder = SummaryMetricsRecorder.create();
+    Metrics.install(recorder);
+    try {
+      CalculationTask.of(TARGET, fn, cell).execute(marketData, REF_DATA);
+      CalculationTask.of(TARGET, failingFn, cell).execute(marketData, REF_DATA);
+    } finally {
+      Metrics.uninstall();
+      previous.ifPresent(Metrics::install);
+    }
+    assertThat(recorder.getCalls("CalculationFunction", SupplierFunction.class)).isEqualTo(2);
+    assertThat(recorder.getFailures("CalculationFunction", SupplierFunction.class)).isEqualTo(1);
+    assertThat(recorder.getCalls("CalculationTarget", TestTarget.class)).isEqualTo(2);
+    assertThat(recorder.getFailures("CalculationTarget", TestTarget.class)).isEqualTo(1);
+    assertThat(recorder.getCalls("Measure", TestingMeasures.PRESENT_VALUE)).isEqualTo(2);
+    assertThat(recorder.getFailures("Measure", TestingMeasures.PRESENT_VALUE)).isEqualTo(1);
+  }
+
   /**
    * Tests that executing a function that throws a market data exception wraps the exception in a failure result.
    */
@@ -742,7 +775,7 @@ public class CalculationTaskTest {
   /**
    * Function that returns requirements containing output currencies.
    */
-  private static final class OutputCurrenciesFunction implements CalculationFunction<TestTarget> {
+  static final class OutputCurrenciesFunction implements CalculationFunction<TestTarget> {
 
     @Override
     public Class<TestTarget> targetType() {
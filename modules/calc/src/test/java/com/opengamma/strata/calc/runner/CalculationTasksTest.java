@@ -5,7 +5,10 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.TestingMeasures.PRESENT_VALUE;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -20,12 +23,15 @@ import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ReportingCurrency;
 import com.opengamma.strata.calc.TestingMeasures;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.OutputCurrenciesFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
 
@@ -37,6 +43,7 @@ public class CalculationTasksTest {
   private static final ReferenceData REF_DATA = ReferenceData.standard();
   private static final TestTarget TARGET1 = new TestTarget();
   private static final TestTarget TARGET2 = new TestTarget();
+  private static final TestTarget TARGET3 = new TestTarget();
   private static final CalculationFunctions CALC_FUNCTIONS = CalculationFunctions.empty();
 
   //-------------------------------------------------------------------------
@@ -102,6 +109,23 @@ public class CalculationTasksTest {
     assertThat(timeSeries.iterator().next()).isEqualTo(timeSeriesId);
   }
 
+  @Test
+  public void test_requirements_fxConversion() {
+    OutputCurrenciesFunction fn = new OutputCurrenciesFunction();
+    List<CalculationTask> tasks = ImmutableList.of(
+        CalculationTask.of(TARGET1, fn, CalculationTaskCell.of(0, 0, PRESENT_VALUE, ReportingCurrency.of(USD))),
+        CalculationTask.of(TARGET2, fn, CalculationTaskCell.of(1, 0, PRESENT_VALUE, ReportingCurrency.of(USD))),
+        CalculationTask.of(TARGET3, fn, CalculationTaskCell.of(2, 0, PRESENT_VALUE, ReportingCurrency.of(GBP))));
+    CalculationTasks test = CalculationTasks.of(tasks, ImmutableList.of(Column.of(PRESENT_VALUE)));
+
+    MarketDataRequirements requirements = test.requirements(REF_DATA);
+    assertThat(requirements.getNonObservables()).containsOnly(
+        FxRateId.of(GBP, USD, CalculationTaskTest.OBS_SOURCE),
+        FxRateId.of(EUR, USD, CalculationTaskTest.OBS_SOURCE),
+        FxRateId.of(EUR, GBP, CalculationTaskTest.OBS_SOURCE),
+        FxRateId.of(USD, GBP, CalculationTaskTest.OBS_SOURCE));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void testToString() {
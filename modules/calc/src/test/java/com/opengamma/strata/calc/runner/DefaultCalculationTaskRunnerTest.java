@@ -13,7 +13,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -36,10 +40,17 @@ import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
+import com.opengamma.strata.collect.metrics.SummaryMetricsRecorder;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -52,6 +63,7 @@ public class DefaultCalculationTaskRunnerTest {
   private static final TestTarget TARGET = new TestTarget();
   private static final LocalDate VAL_DATE = date(2011, 3, 8);
   private static final Set<Measure> MEASURES = ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+  private static final TestObservableId QUOTE_ID = TestObservableId.of("quote");
 
   //-------------------------------------------------------------------------
   // Test that ScenarioArrays containing a single value are unwrapped.
@@ -157,6 +169,255 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that the work-stealing runner returns the results in row order, whatever the execution order.
+   */
+  @Test
+  @Timeout(5)
+  public void workStealing() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo", "bar");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 20; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+    ScenarioMarketData marketData = ScenarioMarketData.of(2, MarketData.empty(VAL_DATE));
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing()) {
+      // run twice so that the second run is ordered using the timings of the first
+      for (int run = 0; run < 2; run++) {
+        Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+        assertThat(results.getRowCount()).isEqualTo(20);
+        for (int i = 0; i < 20; i++) {
+          assertThat(results.get(i, 0)).hasValue(scenarioResult);
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that tasks using a batch function are calculated in batches.
+   */
+  @Test
+  public void batchFunction() {
+    BatchFunction fn = new BatchFunction(2, false);
+    CalculationTasks tasks = batchTasks(fn, 5);
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    ScenarioMarketData marketData = ScenarioMarketData.of(1, MarketData.empty(VAL_DATE));
+    Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+    assertThat(fn.batchSizes).containsExactly(2, 2, 1);
+    assertThat(results.getRowCount()).isEqualTo(5);
+    for (int i = 0; i < 5; i++) {
+      assertThat(results.get(i, 0)).hasValue(ScenarioArray.of("foo"));
+    }
+  }
+
+  /**
+   * Tests that each task is calculated individually if the batch fails.
+   */
+  @Test
+  public void batchFunctionFailure() {
+    BatchFunction fn = new BatchFunction(3, true);
+    CalculationTasks tasks = batchTasks(fn, 3);
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+    assertThat(fn.batchSizes).containsExactly(3, 1, 1, 1);
+    for (int i = 0; i < 3; i++) {
+      assertThat(results.get(i, 0)).hasValue("foo");
+    }
+  }
+
+  /**
+   * Tests that the metrics of a batch are recorded against each task in the batch.
+   */
+  @Test
+  public void batchFunctionMetrics() {
+    BatchFunction fn = new BatchFunction(2, false);
+    CalculationTasks tasks = batchTasks(fn, 5);
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    Optional<MetricsRecorder> previous = Metrics.findRecorder();
+    SummaryMetricsRecorder recorder = SummaryMetricsRecorder.create();
+    Metrics.install(recorder);
+    try {
+      test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+    } finally {
+      Metrics.uninstall();
+      previous.ifPresent(Metrics::install);
+    }
+    assertThat(fn.batchSizes).containsExactly(2, 2, 1);
+    assertThat(recorder.getCalls("CalculationFunction", BatchFunction.class)).isEqualTo(5);
+    assertThat(recorder.getFailures("CalculationFunction", BatchFunction.class)).isEqualTo(0);
+    assertThat(recorder.getCalls("CalculationTarget", TestTarget.class)).isEqualTo(5);
+    assertThat(recorder.getCalls("Measure", TestingMeasures.PRESENT_VALUE)).isEqualTo(5);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that the scenarios are calculated in chunks, with the results joined in scenario order.
+   */
+  @Test
+  public void scenarioChunks() {
+    QuoteFunction fn = new QuoteFunction();
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTasks tasks = CalculationTasks.of(
+        ImmutableList.of(CalculationTask.of(TARGET, fn, cell)),
+        ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE)));
+    ScenarioMarketData marketData = ScenarioMarketData.of(
+        5,
+        VAL_DATE,
+        ImmutableMap.of(QUOTE_ID, MarketDataBox.ofScenarioValues(1d, 2d, 3d, 4d, 5d)),
+        ImmutableMap.of());
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.ofScenarioChunks(MoreExecutors.newDirectExecutorService(), 2);
+    CalculationTaskCostModel costModel = ((DefaultCalculationTaskRunner) test).getCostModel();
+    // with no observations, the estimate is one per cell and scenario
+    assertThat(costModel.estimate(tasks.getTasks().get(0), 1)).isEqualTo(1d);
+    Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+    assertThat(fn.scenarioCounts).containsExactly(1, 2, 2);
+    // the time taken by each chunk is recorded in the cost model
+    assertThat(costModel.estimate(tasks.getTasks().get(0), 1)).isNotEqualTo(1d);
+    assertThat(results.get(0, 0)).hasValue(CurrencyScenarioArray.of(USD, DoubleArray.of(1d, 2d, 3d, 4d, 5d)));
+
+    // the scenarios are not split if there are fewer than the chunk size
+    fn.scenarioCounts.clear();
+    Results unsplit = test.calculateMultiScenario(tasks, marketData.scenarioRange(1, 3), REF_DATA);
+    assertThat(fn.scenarioCounts).containsExactly(2);
+    assertThat(unsplit.get(0, 0)).hasValue(CurrencyScenarioArray.of(USD, DoubleArray.of(2d, 3d)));
+  }
+
+  @Test
+  public void scenarioChunks_invalidSize() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> CalculationTaskRunner.ofScenarioChunks(MoreExecutors.newDirectExecutorService(), 0));
+  }
+
+  private static CalculationTasks batchTasks(BatchFunction fn, int count) {
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < count; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    return CalculationTasks.of(taskBuilder.build(), ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE)));
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class BatchFunction implements BatchCalculationFunction<TestTarget> {
+
+    private final int batchSize;
+    private final boolean failMultiple;
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    private BatchFunction(int batchSize, boolean failMultiple) {
+      this.batchSize = batchSize;
+      this.failMultiple = failMultiple;
+    }
+
+    @Override
+    public int batchSize() {
+      return batchSize;
+    }
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return MEASURES;
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public List<Map<Measure, Result<?>>> calculateBatch(
+        List<TestTarget> targets,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      batchSizes.add(targets.size());
+      if (failMultiple && targets.size() > 1) {
+        throw new IllegalStateException("Batch failed");
+      }
+      Map<Measure, Result<?>> result =
+          ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of("foo")));
+      return Collections.nCopies(targets.size(), result);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class QuoteFunction implements CalculationFunction<TestTarget> {
+
+    private final List<Integer> scenarioCounts = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return MEASURES;
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder().valueRequirements(QUOTE_ID).build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      scenarioCounts.add(marketData.getScenarioCount());
+      MarketDataBox<Double> quotes = marketData.getValue(QUOTE_ID);
+      CurrencyScenarioArray result =
+          CurrencyScenarioArray.of(USD, DoubleArray.of(marketData.getScenarioCount(), i -> quotes.getValue(i)));
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(result));
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
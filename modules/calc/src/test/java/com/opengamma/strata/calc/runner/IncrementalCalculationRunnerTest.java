@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link IncrementalCalculationRunner}.
+ */
+public class IncrementalCalculationRunnerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final TestObservableId ID_A = TestObservableId.of("A");
+  private static final TestObservableId ID_B = TestObservableId.of("B");
+  private static final TestObservableId ID_C = TestObservableId.of("C");
+  private static final MarketData MARKET_DATA =
+      ImmutableMarketData.of(VAL_DATE, ImmutableMap.of(ID_A, 1d, ID_B, 2d, ID_C, 3d));
+  private static final MarketDataFactory MARKET_DATA_FACTORY =
+      MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none());
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void update() {
+    QuoteFunction fn = new QuoteFunction();
+    IncrementalCalculationRunner test = runner(fn);
+
+    Results results = test.calculate(MARKET_DATA);
+    assertThat(results.get(0, 0)).hasValue(1d);
+    assertThat(results.get(1, 0)).hasValue(2d);
+    assertThat(results.get(2, 0)).hasValue(3d);
+    assertThat(fn.calculated).containsExactly(ID_A, ID_B, ID_C);
+
+    // only the target using the changed quote is calculated
+    fn.calculated.clear();
+    MarketData changed = MARKET_DATA.withValue(ID_B, 20d);
+    Results updated = test.update(changed);
+    assertThat(updated.get(0, 0)).isSameAs(results.get(0, 0));
+    assertThat(updated.get(1, 0)).hasValue(20d);
+    assertThat(updated.get(2, 0)).isSameAs(results.get(2, 0));
+    assertThat(fn.calculated).containsExactly(ID_B);
+
+    // nothing is calculated if nothing has changed
+    fn.calculated.clear();
+    assertThat(test.update(changed)).isSameAs(updated);
+    assertThat(fn.calculated).isEmpty();
+  }
+
+  @Test
+  public void update_changedIds() {
+    QuoteFunction fn = new QuoteFunction();
+    IncrementalCalculationRunner test = runner(fn);
+
+    test.calculate(MARKET_DATA);
+    fn.calculated.clear();
+    MarketData changed = MARKET_DATA.withValue(ID_A, 10d).withValue(ID_C, 30d);
+    Results updated = test.update(changed, ImmutableSet.of(ID_A, ID_C));
+    assertThat(updated.get(0, 0)).hasValue(10d);
+    assertThat(updated.get(1, 0)).hasValue(2d);
+    assertThat(updated.get(2, 0)).hasValue(30d);
+    assertThat(fn.calculated).containsExactly(ID_A, ID_C);
+  }
+
+  @Test
+  public void update_noPreviousRun() {
+    QuoteFunction fn = new QuoteFunction();
+    IncrementalCalculationRunner test = runner(fn);
+
+    Results results = test.update(MARKET_DATA);
+    assertThat(results.get(1, 0)).hasValue(2d);
+    assertThat(fn.calculated).containsExactly(ID_A, ID_B, ID_C);
+  }
+
+  @Test
+  public void update_valuationDateChanged() {
+    QuoteFunction fn = new QuoteFunction();
+    IncrementalCalculationRunner test = runner(fn);
+
+    test.calculate(MARKET_DATA);
+    fn.calculated.clear();
+    MarketData nextDay = ImmutableMarketData.builder(VAL_DATE.plusDays(1)).add(MARKET_DATA).build();
+    test.update(nextDay, ImmutableSet.of());
+    assertThat(fn.calculated).containsExactly(ID_A, ID_B, ID_C);
+  }
+
+  //-------------------------------------------------------------------------
+  // creates a runner with a target for each quote, using the direct executor so there is no need to close it
+  private static IncrementalCalculationRunner runner(QuoteFunction fn) {
+    List<CalculationTask> tasks = new ArrayList<>();
+    List<TestObservableId> ids = ImmutableList.of(ID_A, ID_B, ID_C);
+    for (int i = 0; i < ids.size(); i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PAR_RATE, ReportingCurrency.NONE);
+      tasks.add(CalculationTask.of(new QuoteTarget(ids.get(i)), fn, cell));
+    }
+    CalculationTasks calculationTasks =
+        CalculationTasks.of(tasks, ImmutableList.of(Column.of(TestingMeasures.PAR_RATE)));
+    return IncrementalCalculationRunner.of(
+        CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService()),
+        MARKET_DATA_FACTORY,
+        MarketDataConfig.empty(),
+        calculationTasks,
+        REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class QuoteTarget implements CalculationTarget {
+
+    private final TestObservableId id;
+
+    private QuoteTarget(TestObservableId id) {
+      this.id = id;
+    }
+  }
+
+  // function that returns the value of the quote of the target, recording the targets calculated
+  private static final class QuoteFunction implements CalculationFunction<QuoteTarget> {
+
+    private final List<TestObservableId> calculated = new ArrayList<>();
+
+    @Override
+    public Class<QuoteTarget> targetType() {
+      return QuoteTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PAR_RATE);
+    }
+
+    @Override
+    public Currency naturalCurrency(QuoteTarget target, ReferenceData refData) {
+      return Currency.USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        QuoteTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder().valueRequirements(ImmutableSet.of(target.id)).build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        QuoteTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      calculated.add(target.id);
+      ScenarioArray<Double> value = ScenarioArray.of(marketData.getValue(target.id).getSingleValue());
+      return ImmutableMap.of(TestingMeasures.PAR_RATE, Result.success(value));
+    }
+  }
+
+}
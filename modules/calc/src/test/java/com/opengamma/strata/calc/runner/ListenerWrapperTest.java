@@ -6,6 +6,7 @@
 package com.opengamma.strata.calc.runner;
 
 import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
 import java.util.Queue;
@@ -13,6 +14,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
@@ -52,6 +54,39 @@ public class ListenerWrapperTest {
     }
   }
 
+  // Tests that every result is delivered exactly once, and that completion is signalled after the last result.
+  @Test
+  public void allResultsDelivered() throws InterruptedException {
+    int nThreads = Runtime.getRuntime().availableProcessors();
+    int expectedResultCount = nThreads * 1000;
+    AtomicInteger received = new AtomicInteger();
+    AtomicInteger receivedAtCompletion = new AtomicInteger(-1);
+    CountDownLatch latch = new CountDownLatch(1);
+    CalculationListener listener = new CalculationListener() {
+      @Override
+      public void resultReceived(CalculationTarget target, CalculationResult result) {
+        received.incrementAndGet();
+      }
+
+      @Override
+      public void calculationsComplete() {
+        receivedAtCompletion.set(received.get());
+        latch.countDown();
+      }
+    };
+    Consumer<CalculationResults> wrapper =
+        new ListenerWrapper(listener, expectedResultCount, ImmutableList.of(), ImmutableList.of());
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+    CalculationResult result = CalculationResult.of(0, 0, Result.failure(FailureReason.ERROR, "foo"));
+    CalculationTarget target = new CalculationTarget() {};
+    CalculationResults results = CalculationResults.of(target, ImmutableList.of(result));
+    IntStream.range(0, expectedResultCount).forEach(i -> executor.submit(() -> wrapper.accept(results)));
+
+    latch.await();
+    executor.shutdown();
+    assertThat(receivedAtCompletion.get()).isEqualTo(expectedResultCount);
+  }
+
   public static final class Listener implements CalculationListener {
 
     /**
@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link MultiDateCalculationRunner}.
+ */
+public class MultiDateCalculationRunnerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+  private static final TestObservableId QUOTE_ID = TestObservableId.of("quote");
+  private static final MarketDataFactory MARKET_DATA_FACTORY =
+      MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none());
+  private static final List<Column> COLUMNS = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+  private static final List<LocalDate> DATES =
+      ImmutableList.of(date(2011, 3, 8), date(2011, 3, 9), date(2011, 3, 10));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void calculate() {
+    QuoteFunction fn = new QuoteFunction();
+    CalculationRules rules = CalculationRules.of(CalculationFunctions.of(fn));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CalculationTaskRunner taskRunner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+      MultiDateCalculationRunner test =
+          MultiDateCalculationRunner.of(taskRunner, MARKET_DATA_FACTORY, MarketDataConfig.empty(), executor);
+
+      List<LocalDate> dates = new ArrayList<>();
+      List<Results> results = new ArrayList<>();
+      test.calculate(
+          rules,
+          ImmutableList.of(new TestTarget(), new TestTarget()),
+          COLUMNS,
+          DATES,
+          MultiDateCalculationRunnerTest::marketData,
+          REF_DATA,
+          (date, result) -> {
+            dates.add(date);
+            results.add(result);
+          });
+
+      assertThat(dates).isEqualTo(DATES);
+      for (int i = 0; i < DATES.size(); i++) {
+        double expected = DATES.get(i).getDayOfMonth();
+        assertThat(results.get(i).getRowCount()).isEqualTo(2);
+        assertThat(results.get(i).get(0, 0)).hasValue(expected);
+        assertThat(results.get(i).get(1, 0)).hasValue(expected);
+      }
+      // the requirements are determined once for all the dates
+      assertThat(fn.requirementsCount.get()).isEqualTo(2);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void calculate_calculationRunner() {
+    QuoteFunction fn = new QuoteFunction();
+    CalculationTasks tasks = CalculationTasks.of(
+        CalculationRules.of(CalculationFunctions.of(fn)), ImmutableList.of(new TestTarget()), COLUMNS, REF_DATA);
+    try (CalculationRunner runner = CalculationRunner.ofMultiThreadedWithIoExecutor()) {
+      MultiDateCalculationRunner test =
+          MultiDateCalculationRunner.of(runner, MARKET_DATA_FACTORY, MarketDataConfig.empty());
+
+      List<Object> values = new ArrayList<>();
+      test.calculate(
+          tasks,
+          DATES,
+          MultiDateCalculationRunnerTest::marketData,
+          REF_DATA,
+          (date, result) -> values.add(result.get(0, 0).getValue()));
+      assertThat(values).containsExactly(8d, 9d, 10d);
+    }
+  }
+
+  @Test
+  public void calculate_calculationRunner_providersUseIoExecutor() {
+    CalculationTasks tasks = CalculationTasks.of(
+        CalculationRules.of(CalculationFunctions.of(new QuoteFunction())),
+        ImmutableList.of(new TestTarget()),
+        COLUMNS,
+        REF_DATA);
+    AtomicInteger cpuTasks = new AtomicInteger();
+    AtomicInteger ioTasks = new AtomicInteger();
+    ExecutorService executor = countingExecutor(cpuTasks);
+    ExecutorService ioExecutor = countingExecutor(ioTasks);
+    // the quote is not supplied, thus it is requested from the provider
+    ObservableDataProvider provider = ids -> ids.stream().collect(toImmutableMap(id -> id, id -> Result.success(2d)));
+    try (CalculationRunner runner = CalculationRunner.of(executor, ioExecutor)) {
+      MultiDateCalculationRunner test = MultiDateCalculationRunner.of(
+          runner, MarketDataFactory.of(provider, TimeSeriesProvider.none()), MarketDataConfig.empty());
+
+      List<Object> values = new ArrayList<>();
+      test.calculate(
+          tasks,
+          DATES,
+          date -> MarketData.empty(date),
+          REF_DATA,
+          (date, result) -> values.add(result.get(0, 0).getValue()));
+      assertThat(values).containsExactly(2d, 2d, 2d);
+      // for each date, the market data is built and the calculation is performed using the CPU executor
+      assertThat(cpuTasks.get()).isEqualTo(6);
+      // for each date, the quote is requested using the I/O executor
+      assertThat(ioTasks.get()).isEqualTo(3);
+    } finally {
+      ioExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void calculate_calculationRunner_noIoExecutor() {
+    CalculationTasks tasks = CalculationTasks.of(
+        CalculationRules.of(CalculationFunctions.of(new QuoteFunction())),
+        ImmutableList.of(new TestTarget()),
+        COLUMNS,
+        REF_DATA);
+    AtomicInteger ioTasks = new AtomicInteger();
+    ExecutorService ioExecutor = countingExecutor(ioTasks);
+    ObservableDataProvider provider = ids -> ids.stream().collect(toImmutableMap(id -> id, id -> Result.success(2d)));
+    MarketDataFactory factory =
+        MarketDataFactory.of(provider, TimeSeriesProvider.none(), null, ioExecutor, ImmutableList.of());
+    try (CalculationRunner runner = CalculationRunner.ofMultiThreaded()) {
+      // the runner has no I/O executor, thus the I/O executor of the factory is retained
+      MultiDateCalculationRunner test = MultiDateCalculationRunner.of(runner, factory, MarketDataConfig.empty());
+
+      List<Object> values = new ArrayList<>();
+      test.calculate(
+          tasks,
+          DATES,
+          date -> MarketData.empty(date),
+          REF_DATA,
+          (date, result) -> values.add(result.get(0, 0).getValue()));
+      assertThat(values).containsExactly(2d, 2d, 2d);
+      assertThat(ioTasks.get()).isEqualTo(3);
+    } finally {
+      ioExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void calculate_noDates() {
+    MultiDateCalculationRunner test = MultiDateCalculationRunner.of(
+        CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService()),
+        MARKET_DATA_FACTORY,
+        MarketDataConfig.empty(),
+        MoreExecutors.directExecutor());
+    CalculationTasks tasks = CalculationTasks.of(
+        CalculationRules.of(CalculationFunctions.of(new QuoteFunction())), ImmutableList.of(), COLUMNS, REF_DATA);
+
+    List<Results> results = new ArrayList<>();
+    test.calculate(
+        tasks, ImmutableList.of(), MultiDateCalculationRunnerTest::marketData, REF_DATA, (date, r) -> results.add(r));
+    assertThat(results).isEmpty();
+  }
+
+  @Test
+  public void calculate_wrongValuationDate() {
+    MultiDateCalculationRunner test = MultiDateCalculationRunner.of(
+        CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService()),
+        MARKET_DATA_FACTORY,
+        MarketDataConfig.empty(),
+        MoreExecutors.directExecutor());
+    CalculationTasks tasks = CalculationTasks.of(
+        CalculationRules.of(CalculationFunctions.of(new QuoteFunction())),
+        ImmutableList.of(new TestTarget()),
+        COLUMNS,
+        REF_DATA);
+
+    List<LocalDate> dates = new ArrayList<>();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.calculate(
+            tasks,
+            DATES,
+            date -> marketData(DATES.get(0)),
+            REF_DATA,
+            (date, result) -> dates.add(date)));
+    assertThat(dates).containsExactly(DATES.get(0));
+  }
+
+  // the quote is the day-of-month of the valuation date
+  private static MarketData marketData(LocalDate valuationDate) {
+    return ImmutableMarketData.builder(valuationDate)
+        .addValue(QUOTE_ID, (double) valuationDate.getDayOfMonth())
+        .build();
+  }
+
+  // creates an executor that counts the tasks it runs
+  private static ExecutorService countingExecutor(AtomicInteger count) {
+    return new ThreadPoolExecutor(4, 4, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>()) {
+      @Override
+      public void execute(Runnable command) {
+        count.incrementAndGet();
+        super.execute(command);
+      }
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class QuoteFunction implements CalculationFunction<TestTarget> {
+
+    private final AtomicInteger requirementsCount = new AtomicInteger();
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget target, ReferenceData refData) {
+      return Currency.USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      requirementsCount.incrementAndGet();
+      return FunctionRequirements.builder().valueRequirements(QUOTE_ID).build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      double quote = marketData.getValue(QUOTE_ID).getValue(0);
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of(quote)));
+    }
+  }
+
+}
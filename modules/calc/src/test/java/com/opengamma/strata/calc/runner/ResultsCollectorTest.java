@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link ResultsCollector}.
+ */
+public class ResultsCollectorTest {
+
+  private static final TestTarget TARGET = new TestTarget();
+  private static final List<Column> COLUMNS =
+      ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+
+  //-------------------------------------------------------------------------
+  // tests that results delivered concurrently by many threads are all placed in the grid
+  @Test
+  public void concurrentResults() {
+    int rowCount = 1000;
+    List<CalculationTask> tasks = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      tasks.add(CalculationTask.of(
+          TARGET,
+          new TestFunction(),
+          CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL),
+          CalculationTaskCell.of(i, 1, TestingMeasures.PAR_RATE, NATURAL)));
+    }
+    ResultsCollector test = new ResultsCollector(CalculationTasks.of(tasks, COLUMNS));
+
+    ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    try {
+      for (int i = 0; i < rowCount; i++) {
+        int row = i;
+        executor.submit(() -> test.accept(CalculationResults.of(TARGET, ImmutableList.of(
+            CalculationResult.of(row, 0, Result.success(row)),
+            CalculationResult.of(row, 1, Result.success(-row))))));
+      }
+      Results results = test.result();
+      assertThat(results.getRowCount()).isEqualTo(rowCount);
+      assertThat(results.getColumns()).containsExactly(COLUMNS.get(0).toHeader(), COLUMNS.get(1).toHeader());
+      for (int i = 0; i < rowCount; i++) {
+        assertThat(results.get(i, 0)).hasValue(i);
+        assertThat(results.get(i, 1)).hasValue(-i);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
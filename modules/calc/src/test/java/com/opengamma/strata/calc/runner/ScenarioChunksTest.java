@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link ScenarioChunks}.
+ */
+public class ScenarioChunksTest {
+
+  private static final TestTarget TARGET = new TestTarget();
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    ScenarioMarketData marketData = ScenarioMarketData.of(10, MarketData.empty(date(2011, 3, 8)));
+    ScenarioChunks test = ScenarioChunks.of(marketData, 4);
+    assertThat(test.getScenarioCount()).isEqualTo(10);
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.marketData(0).getScenarioCount()).isEqualTo(3);
+    assertThat(test.marketData(1).getScenarioCount()).isEqualTo(3);
+    assertThat(test.marketData(2).getScenarioCount()).isEqualTo(4);
+    assertThat(test.fxProviders(2)).isNotNull();
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_join_double() {
+    Result<?> result = join(DoubleScenarioArray.of(DoubleArray.of(1, 2)), DoubleScenarioArray.of(DoubleArray.of(3)), 3);
+    assertThat(result).hasValue(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3)));
+  }
+
+  @Test
+  public void test_join_currency() {
+    Result<?> result = join(
+        CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2)),
+        CurrencyScenarioArray.of(USD, DoubleArray.of(3)),
+        3);
+    assertThat(result).hasValue(CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2, 3)));
+  }
+
+  @Test
+  public void test_join_currency_differentCurrencies() {
+    Result<?> result = join(
+        CurrencyScenarioArray.of(USD, DoubleArray.of(1)),
+        CurrencyScenarioArray.of(EUR, DoubleArray.of(2)),
+        2);
+    assertThat(result).hasValue(ScenarioArray.of(CurrencyAmount.of(USD, 1), CurrencyAmount.of(EUR, 2)));
+  }
+
+  @Test
+  public void test_join_multiCurrency() {
+    MultiCurrencyAmount amount1 = MultiCurrencyAmount.of(CurrencyAmount.of(USD, 1));
+    MultiCurrencyAmount amount2 = MultiCurrencyAmount.of(CurrencyAmount.of(USD, 2), CurrencyAmount.of(EUR, 3));
+    Result<?> result = join(MultiCurrencyScenarioArray.of(amount1), MultiCurrencyScenarioArray.of(amount2), 2);
+    assertThat(result).hasValue(MultiCurrencyScenarioArray.of(amount1, amount2));
+  }
+
+  @Test
+  public void test_join_generic() {
+    Result<?> result = join(ScenarioArray.of("a", "b"), ScenarioArray.of("c"), 3);
+    assertThat(result).hasValue(ScenarioArray.of("a", "b", "c"));
+  }
+
+  @Test
+  public void test_join_wrongScenarioCount() {
+    Result<?> result = join(ScenarioArray.of("a", "b"), ScenarioArray.of("c"), 4);
+    assertThat(result).isFailure(FailureReason.CALCULATION_FAILED);
+  }
+
+  @Test
+  public void test_join_failure() {
+    CalculationResults chunk1 = results(Result.success(ScenarioArray.of("a")));
+    CalculationResults chunk2 = results(Result.failure(FailureReason.CALCULATION_FAILED, "Failed"));
+    CalculationResults test = ScenarioChunks.join(ImmutableList.of(chunk1, chunk2), 2);
+    assertThat(test.getCells().get(0).getResult()).isFailure(FailureReason.CALCULATION_FAILED);
+  }
+
+  @Test
+  public void test_join_notScenarioArray() {
+    Result<?> result = join("a", "b", 2);
+    assertThat(result).isFailure(FailureReason.UNSUPPORTED);
+  }
+
+  private static Result<?> join(Object chunk1, Object chunk2, int scenarioCount) {
+    CalculationResults test = ScenarioChunks.join(
+        ImmutableList.of(results(Result.success(chunk1)), results(Result.success(chunk2))),
+        scenarioCount);
+    assertThat(test.getTarget()).isSameAs(TARGET);
+    assertThat(test.getCells()).hasSize(1);
+    assertThat(test.getCells().get(0).getRowIndex()).isEqualTo(2);
+    assertThat(test.getCells().get(0).getColumnIndex()).isEqualTo(3);
+    return test.getCells().get(0).getResult();
+  }
+
+  private static CalculationResults results(Result<?> result) {
+    return CalculationResults.of(TARGET, ImmutableList.of(CalculationResult.of(2, 3, result)));
+  }
+
+}
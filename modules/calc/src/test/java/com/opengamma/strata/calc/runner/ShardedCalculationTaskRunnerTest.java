@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link ShardedCalculationTaskRunner}, using worker processes launched on the local machine.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class ShardedCalculationTaskRunnerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+  private static final MarketData MARKET_DATA = ImmutableMarketData.of(date(2011, 3, 8), ImmutableMap.of());
+  private static final List<Column> COLUMNS = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+  private static final String HALT_PROPERTY = "strata.test.haltWorker";
+
+  private ShardedCalculationTaskRunner runner;
+
+  @BeforeAll
+  public void setUp() {
+    runner = ShardedCalculationTaskRunner.ofLocalWorkers(2, ImmutableList.of("-Xmx128m"));
+  }
+
+  @AfterAll
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void calculate() {
+    CalculationTasks tasks = tasks(new ValueFunction(), 5);
+    Results results = runner.calculate(tasks, MARKET_DATA, REF_DATA);
+    assertThat(results.getRowCount()).isEqualTo(5);
+    for (int i = 0; i < 5; i++) {
+      assertThat(results.get(i, 0)).hasValue(2d * i);
+    }
+    assertThat(runner.getWorkerCount()).isEqualTo(2);
+    assertThat(runner.toString()).isEqualTo("ShardedCalculationTaskRunner[2 workers]");
+  }
+
+  @Test
+  public void calculateMultiScenarioAsync() {
+    CalculationTasks tasks = tasks(new ValueFunction(), 3);
+    ResultsListener listener = new ResultsListener();
+    runner.calculateMultiScenarioAsync(tasks, ScenarioMarketData.of(2, MARKET_DATA), REF_DATA, listener);
+    Results results = listener.result();
+    for (int i = 0; i < 3; i++) {
+      assertThat(results.get(i, 0)).hasValue(DoubleScenarioArray.of(DoubleArray.of(2d * i, 2d * i)));
+    }
+  }
+
+  @Test
+  public void calculate_fewerRowsThanWorkers() {
+    Results results = runner.calculate(tasks(new ValueFunction(), 1), MARKET_DATA, REF_DATA);
+    assertThat(results.get(0, 0)).hasValue(0d);
+    Results empty = runner.calculate(tasks(new ValueFunction(), 0), MARKET_DATA, REF_DATA);
+    assertThat(empty.getRowCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void calculate_resultNotSerializable() {
+    Results results = runner.calculate(tasks(new NotSerializableResultFunction(), 2), MARKET_DATA, REF_DATA);
+    assertThat(results.get(0, 0)).isFailure(FailureReason.ERROR);
+    assertThat(results.get(1, 0)).isFailure(FailureReason.ERROR);
+    assertThat(runner.getWorkerCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void calculate_functionNotSerializable() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> runner.calculate(tasks(new NotSerializableFunction(), 2), MARKET_DATA, REF_DATA))
+        .withMessageContaining(NotSerializableFunction.class.getName());
+    assertThat(runner.getWorkerCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void calculate_workerFails() {
+    List<String> jvmOptions = ImmutableList.of("-Xmx128m", "-D" + HALT_PROPERTY + "=true");
+    try (ShardedCalculationTaskRunner test = ShardedCalculationTaskRunner.ofLocalWorkers(2, jvmOptions)) {
+      // the second worker calculates rows 2 and 3, and exits without sending any results
+      Results results = test.calculate(tasks(new HaltingFunction(), 4), MARKET_DATA, REF_DATA);
+      assertThat(results.get(0, 0)).hasValue(0d);
+      assertThat(results.get(1, 0)).hasValue(2d);
+      assertThat(results.get(2, 0)).isFailure(FailureReason.ERROR);
+      assertThat(results.get(3, 0)).isFailure(FailureReason.ERROR);
+      assertThat(test.getWorkerCount()).isEqualTo(1);
+      // the failed worker is not used again
+      Results retry = test.calculate(tasks(new ValueFunction(), 4), MARKET_DATA, REF_DATA);
+      for (int i = 0; i < 4; i++) {
+        assertThat(retry.get(i, 0)).hasValue(2d * i);
+      }
+    }
+  }
+
+  @Test
+  public void ofWorkers_token() throws Exception {
+    String token = ShardedCalculationTaskRunner.createToken();
+    assertThat(token).isNotEqualTo(ShardedCalculationTaskRunner.createToken());
+    try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Socket rogue = new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort())) {
+      // a connection with the wrong token is closed, and is not used as a worker
+      rogue.setSoTimeout(10_000);
+      ShardProtocol.writeToken(new DataOutputStream(rogue.getOutputStream()), "wrong");
+      Thread worker = new Thread(() -> {
+        try (DefaultCalculationTaskRunner taskRunner = DefaultCalculationTaskRunner.ofMultiThreaded()) {
+          CalculationWorker.connect(
+              serverSocket.getInetAddress().getHostAddress(), serverSocket.getLocalPort(), token, taskRunner);
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      });
+      worker.start();
+      try (ShardedCalculationTaskRunner test = ShardedCalculationTaskRunner.ofWorkers(serverSocket, 1, token)) {
+        assertThat(rogue.getInputStream().read()).isEqualTo(-1);
+        Results results = test.calculate(tasks(new ValueFunction(), 3), MARKET_DATA, REF_DATA);
+        for (int i = 0; i < 3; i++) {
+          assertThat(results.get(i, 0)).hasValue(2d * i);
+        }
+      }
+      worker.join(10_000);
+      assertThat(worker.isAlive()).isFalse();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void shards() {
+    List<CalculationTask> tasks = tasks(new ValueFunction(), 5).getTasks();
+    byte[] bytes = ShardProtocol.encodeTasks(tasks);
+    List<CalculationTask> decoded = ShardProtocol.decodeTasks(bytes, ShardProtocol.DEFAULT_PACKAGES);
+    assertThat(decoded).hasSize(5);
+    assertThat(decoded.get(3).getTarget()).isEqualTo(tasks.get(3).getTarget());
+    assertThat(decoded.get(3).getCells()).isEqualTo(tasks.get(3).getCells());
+    // the tasks are serialized together, so the function is shared
+    assertThat(decoded.get(0).getFunction()).isInstanceOf(ValueFunction.class);
+    assertThat(decoded.get(0).getFunction()).isSameAs(decoded.get(4).getFunction());
+  }
+
+  @Test
+  public void shards_builtInFunctions() {
+    List<CalculationTask> tasks = tasks(new ValueFunction(), 2).getTasks();
+    CalculationTask missing = CalculationTask.of(
+        tasks.get(0).getTarget(),
+        MissingConfigCalculationFunction.INSTANCE,
+        tasks.get(0).getParameters(),
+        tasks.get(0).getCells());
+    CalculationTask unresolvable = CalculationTask.of(
+        tasks.get(1).getTarget(),
+        UnresolvableTargetCalculationFunction.INSTANCE,
+        tasks.get(1).getParameters(),
+        tasks.get(1).getCells());
+    byte[] bytes = ShardProtocol.encodeTasks(ImmutableList.of(missing, unresolvable));
+    List<CalculationTask> decoded = ShardProtocol.decodeTasks(bytes, ShardProtocol.DEFAULT_PACKAGES);
+    // the shared instances are resolved after deserialization
+    assertThat(decoded.get(0).getFunction()).isSameAs(MissingConfigCalculationFunction.INSTANCE);
+    assertThat(decoded.get(1).getFunction()).isSameAs(UnresolvableTargetCalculationFunction.INSTANCE);
+  }
+
+  @Test
+  public void deserialize_allowedPackages() {
+    byte[] bytes = ShardProtocol.serialize(ImmutableList.of(InetSocketAddress.createUnresolved("localhost", 80)));
+    assertThatExceptionOfType(UncheckedIOException.class)
+        .isThrownBy(() -> ShardProtocol.deserialize(bytes, List.class, ShardProtocol.DEFAULT_PACKAGES));
+    Set<String> packages = ShardProtocol.allowedPackages(ImmutableSet.of("java.net"));
+    assertThat(packages).contains("java.net.");
+    assertThat(ShardProtocol.deserialize(bytes, List.class, packages)).hasSize(1);
+    assertThat(ShardProtocol.isAllowed("[[D", ShardProtocol.DEFAULT_PACKAGES)).isTrue();
+    assertThat(ShardProtocol.isAllowed("[Ljava.lang.String;", ShardProtocol.DEFAULT_PACKAGES)).isTrue();
+    assertThat(ShardProtocol.isAllowed("[Ljava.net.URL;", ShardProtocol.DEFAULT_PACKAGES)).isFalse();
+    assertThat(ShardProtocol.isAllowed("java.langx.Foo", ShardProtocol.DEFAULT_PACKAGES)).isFalse();
+  }
+
+  @Test
+  public void readMessage_invalidLength() throws IOException {
+    assertThatIOException().isThrownBy(() -> ShardProtocol.readMessage(input(-2), 100));
+    assertThatIOException().isThrownBy(() -> ShardProtocol.readMessage(input(101), 100));
+    // a large length is only allocated as the bytes arrive
+    assertThatExceptionOfType(EOFException.class)
+        .isThrownBy(() -> ShardProtocol.readMessage(input(2_000_000_000, 1, 2, 3), ShardProtocol.MAX_MESSAGE_LENGTH));
+    assertThat(ShardProtocol.readMessage(input(3, 1, 2, 3), 100)).containsExactly(new byte[] {1, 2, 3});
+  }
+
+  // creates an input stream containing the length followed by the bytes
+  private static DataInputStream input(int length, int... bytes) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(baos);
+    out.writeInt(length);
+    for (int b : bytes) {
+      out.writeByte(b);
+    }
+    return new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+  }
+
+  // creates tasks with a target for each row, with the row index as the value
+  private static CalculationTasks tasks(CalculationFunction<ValueTarget> function, int rows) {
+    List<ValueTarget> targets = IntStream.range(0, rows)
+        .mapToObj(ValueTarget::new)
+        .collect(toImmutableList());
+    return CalculationTasks.of(CalculationRules.of(CalculationFunctions.of(function)), targets, COLUMNS, REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class ValueTarget implements CalculationTarget, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int value;
+
+    private ValueTarget(int value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof ValueTarget && ((ValueTarget) obj).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return value;
+    }
+  }
+
+  // the function, not serializable
+  abstract static class AbstractValueFunction implements CalculationFunction<ValueTarget> {
+
+    @Override
+    public Class<ValueTarget> targetType() {
+      return ValueTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+    }
+
+    @Override
+    public Currency naturalCurrency(ValueTarget target, ReferenceData refData) {
+      return Currency.USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        ValueTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        ValueTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      DoubleScenarioArray values = DoubleScenarioArray.of(marketData.getScenarioCount(), i -> 2d * target.value);
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(values));
+    }
+  }
+
+  // serializable, thus sent to the worker
+  private static class ValueFunction extends AbstractValueFunction implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+  }
+
+  // not serializable, thus cannot be sent to the worker
+  private static final class NotSerializableFunction extends AbstractValueFunction {
+  }
+
+  // exits the worker when calculating rows 2 and above, if the worker is started with the halt property
+  private static final class HaltingFunction extends ValueFunction {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        ValueTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (target.value >= 2 && Boolean.getBoolean(HALT_PROPERTY)) {
+        Runtime.getRuntime().halt(1);
+      }
+      return super.calculate(target, measures, parameters, marketData, refData);
+    }
+  }
+
+  // returns a result that cannot be sent back from the worker
+  private static final class NotSerializableResultFunction extends ValueFunction {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        ValueTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      List<Object> value = new ArrayList<>();
+      value.add(new Object());
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(value));
+    }
+  }
+
+}
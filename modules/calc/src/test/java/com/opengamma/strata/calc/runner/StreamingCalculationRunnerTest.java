@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link StreamingCalculationRunner}.
+ */
+public class StreamingCalculationRunnerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+  private static final MarketData MARKET_DATA = MarketData.empty(date(2011, 3, 8));
+  private static final List<Column> COLUMNS =
+      ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void rowOrder() {
+    IndexFunction fn = new IndexFunction();
+    CalculationTaskRunner taskRunner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    StreamingCalculationRunner test = StreamingCalculationRunner.ofRowOrder(taskRunner, 8);
+
+    List<CalculationResults> rows = new ArrayList<>();
+    test.calculate(tasks(fn, 100), MARKET_DATA, REF_DATA, rows::add);
+    assertThat(rows).hasSize(100);
+    for (int i = 0; i < rows.size(); i++) {
+      CalculationResults row = rows.get(i);
+      assertThat(((IndexTarget) row.getTarget()).index).isEqualTo(i);
+      assertThat(row.getCells()).hasSize(2);
+      assertThat(row.getCells().get(0).getRowIndex()).isEqualTo(i);
+      assertThat(row.getCells().get(0).getColumnIndex()).isEqualTo(0);
+      assertThat(row.getCells().get(0).getResult()).hasValue(i);
+      assertThat(row.getCells().get(1).getRowIndex()).isEqualTo(i);
+      assertThat(row.getCells().get(1).getColumnIndex()).isEqualTo(1);
+      assertThat(row.getCells().get(1).getResult()).hasValue(-i);
+    }
+  }
+
+  @Test
+  public void rowOrder_multipleThreads() {
+    IndexFunction fn = new IndexFunction();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      StreamingCalculationRunner test = StreamingCalculationRunner.ofRowOrder(CalculationTaskRunner.of(executor), 10);
+      List<CalculationResults> rows = new ArrayList<>();
+      test.calculate(tasks(fn, 1000), MARKET_DATA, REF_DATA, row -> {
+        // the rows calculated but not yet consumed never exceed the window
+        assertThat(fn.calculated.get() - rows.size()).isLessThanOrEqualTo(10);
+        rows.add(row);
+      });
+      assertThat(rows).hasSize(1000);
+      for (int i = 0; i < rows.size(); i++) {
+        assertThat(((IndexTarget) rows.get(i).getTarget()).index).isEqualTo(i);
+        assertThat(rows.get(i).getCells().get(1).getResult()).hasValue(-i);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void completionOrder_multipleThreads() {
+    IndexFunction fn = new IndexFunction();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      StreamingCalculationRunner test =
+          StreamingCalculationRunner.ofCompletionOrder(CalculationTaskRunner.of(executor), 10);
+      boolean[] received = new boolean[1000];
+      AtomicInteger consumed = new AtomicInteger();
+      test.calculateMultiScenario(tasks(fn, 1000), ScenarioMarketData.of(1, MARKET_DATA), REF_DATA, row -> {
+        assertThat(fn.calculated.get() - consumed.get()).isLessThanOrEqualTo(10);
+        int index = ((IndexTarget) row.getTarget()).index;
+        assertThat(row.getCells().get(0).getRowIndex()).isEqualTo(index);
+        assertThat(row.getCells().get(0).getResult()).hasValue(ScenarioArray.of(index));
+        received[index] = true;
+        consumed.incrementAndGet();
+      });
+      assertThat(consumed.get()).isEqualTo(1000);
+      for (boolean rowReceived : received) {
+        assertThat(rowReceived).isTrue();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void invalidWindowSize() {
+    CalculationTaskRunner taskRunner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    assertThatIllegalArgumentException().isThrownBy(() -> StreamingCalculationRunner.ofRowOrder(taskRunner, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the tasks, with a separate task for each cell
+  private static CalculationTasks tasks(IndexFunction fn, int rowCount) {
+    List<CalculationTask> tasks = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      IndexTarget target = new IndexTarget(i);
+      tasks.add(CalculationTask.of(
+          target, fn, CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, ReportingCurrency.NONE)));
+      tasks.add(CalculationTask.of(
+          target, fn, CalculationTaskCell.of(i, 1, TestingMeasures.PAR_RATE, ReportingCurrency.NONE)));
+    }
+    return CalculationTasks.of(tasks, COLUMNS);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class IndexTarget implements CalculationTarget {
+
+    private final int index;
+
+    private IndexTarget(int index) {
+      this.index = index;
+    }
+  }
+
+  // function that returns the index of the target and its negation, counting the rows calculated
+  private static final class IndexFunction implements CalculationFunction<IndexTarget> {
+
+    private final AtomicInteger calculated = new AtomicInteger();
+
+    @Override
+    public Class<IndexTarget> targetType() {
+      return IndexTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE, TestingMeasures.PAR_RATE);
+    }
+
+    @Override
+    public Currency naturalCurrency(IndexTarget target, ReferenceData refData) {
+      return Currency.USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        IndexTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        IndexTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (measures.contains(TestingMeasures.PRESENT_VALUE)) {
+        calculated.incrementAndGet();
+        return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of(target.index)));
+      }
+      return ImmutableMap.of(TestingMeasures.PAR_RATE, Result.success(ScenarioArray.of(-target.index)));
+    }
+  }
+
+}
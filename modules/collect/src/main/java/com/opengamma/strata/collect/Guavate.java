@@ -23,7 +23,9 @@ import java.util.OptionalLong;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -1416,6 +1418,34 @@ public final class Guavate {
     }
   }
 
+  /**
+   * Waits for a future to complete, throwing the exception that caused it to complete exceptionally.
+   * <p>
+   * The {@link CompletableFuture#join()} method wraps the exception in a {@link CompletionException}.
+   * This method unwraps it, so that the original exception is thrown if it is a runtime exception or error.
+   * Otherwise, the {@code CompletionException} is thrown.
+   *
+   * @param <T> the result type
+   * @param future  the future to wait for
+   * @return the result of the future
+   * @throws CompletionException if the future completed exceptionally with a checked exception
+   * @throws CancellationException if the future was cancelled
+   */
+  public static <T> T joinFuture(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw ex;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates a ThreadFactoryBuilder which names new threads with the name of the calling class plus a unique integer.
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import java.util.Optional;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Records metrics using the installed {@link MetricsRecorder}.
+ * <p>
+ * The calculation and calibration code records metrics using the static methods on this class.
+ * By default no recorder is installed, and the methods do nothing beyond checking a field.
+ * In particular, the clock is not read. Once a recorder is installed, metrics are recorded
+ * for all calculations in the JVM until the recorder is uninstalled.
+ * <p>
+ * The metrics recorded by Strata include:
+ * <ul>
+ * <li>"CalculationFunction", the time taken by each task, by the type of calculation function
+ * <li>"CalculationTarget", the time taken by each task, by the type of target, such as the type of trade
+ * <li>"Measure", the time taken by each task, by each measure calculated by the task
+ * <li>"MarketData", the time taken to build each item of market data, by market data ID
+ * <li>"CurveCalibration", the time taken to calibrate each curve group, by curve group name
+ * <li>"CurveCalibrationFunctionEvaluations", the number of times the calibration function was evaluated
+ *  for each curve group, by curve group name; this is not the number of iterations of the root finder,
+ *  as an iteration may evaluate the function more than once
+ * <li>"CreditCurveCalibration", the time taken to calibrate each ISDA credit curve, by curve name
+ * </ul>
+ * As a task typically calculates several measures at once, its time is recorded against each of its measures.
+ * When tasks are calculated together as a batch, the time taken by the batch is divided equally between its tasks.
+ * <p>
+ * Code recording a time should use the following pattern:
+ * <pre>
+ *  long start = Metrics.startTime();
+ *  // perform the operation
+ *  Metrics.recordTime(category, name, start, success);
+ * </pre>
+ */
+public final class Metrics {
+
+  /**
+   * The installed recorder, null if none.
+   */
+  private static volatile MetricsRecorder recorder;
+
+  /**
+   * Restricted constructor.
+   */
+  private Metrics() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Installs a recorder, replacing any recorder that was previously installed.
+   *
+   * @param metricsRecorder  the recorder
+   */
+  public static void install(MetricsRecorder metricsRecorder) {
+    recorder = ArgChecker.notNull(metricsRecorder, "metricsRecorder");
+  }
+
+  /**
+   * Uninstalls the recorder, if any.
+   * <p>
+   * Once this method returns, no further metrics are recorded.
+   * Operations that started before the recorder was uninstalled may still be recorded.
+   */
+  public static void uninstall() {
+    recorder = null;
+  }
+
+  /**
+   * Finds the installed recorder.
+   * <p>
+   * As the recorder is global, code that installs a recorder temporarily, such as a test,
+   * can use this to restore the previous recorder afterwards.
+   *
+   * @return the installed recorder, empty if none
+   */
+  public static Optional<MetricsRecorder> findRecorder() {
+    return Optional.ofNullable(recorder);
+  }
+
+  /**
+   * Checks if a recorder is installed.
+   * <p>
+   * This can be used to avoid work that is only needed to record metrics.
+   *
+   * @return true if metrics are being recorded
+   */
+  public static boolean isEnabled() {
+    return recorder != null;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the start time of an operation that is to be recorded.
+   * <p>
+   * If no recorder is installed, this returns zero without reading the clock.
+   *
+   * @return the start time in nanoseconds, zero if metrics are not being recorded
+   */
+  public static long startTime() {
+    return recorder != null ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Records the time taken by an operation.
+   * <p>
+   * Nothing is recorded if no recorder is installed, or if no recorder was installed when the operation started.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @param startTime  the start time of the operation, from {@link #startTime()}
+   * @param success  true if the operation succeeded, false if it failed
+   */
+  public static void recordTime(String category, Object name, long startTime, boolean success) {
+    MetricsRecorder metricsRecorder = recorder;
+    if (metricsRecorder != null && startTime != 0) {
+      metricsRecorder.recordTime(category, name, System.nanoTime() - startTime, success);
+    }
+  }
+
+  /**
+   * Records the time taken by an operation, where the elapsed time has already been determined.
+   * <p>
+   * This is used when the time of an operation is shared between several metrics,
+   * such as a batch of tasks calculated together.
+   * Nothing is recorded if no recorder is installed.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @param elapsedNanos  the elapsed time of the operation, in nanoseconds
+   * @param success  true if the operation succeeded, false if it failed
+   */
+  public static void recordElapsedTime(String category, Object name, long elapsedNanos, boolean success) {
+    MetricsRecorder metricsRecorder = recorder;
+    if (metricsRecorder != null) {
+      metricsRecorder.recordTime(category, name, elapsedNanos, success);
+    }
+  }
+
+  /**
+   * Records a count associated with an operation, such as the number of function evaluations.
+   * <p>
+   * Nothing is recorded if no recorder is installed.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @param count  the count
+   */
+  public static void recordCount(String category, Object name, long count) {
+    MetricsRecorder metricsRecorder = recorder;
+    if (metricsRecorder != null) {
+      metricsRecorder.recordCount(category, name, count);
+    }
+  }
+
+}
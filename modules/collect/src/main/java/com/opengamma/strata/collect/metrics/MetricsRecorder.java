@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+/**
+ * A recorder of metrics, such as the time taken to perform a calculation.
+ * <p>
+ * This plugin point allows the timings and counts recorded by the calculation and calibration code
+ * to be captured, for example to find the types of trade or the curve groups that dominate a batch.
+ * An instance is installed using {@link Metrics#install(MetricsRecorder)}.
+ * <p>
+ * Each metric is identified by a category, such as "CalculationFunction", and a name within
+ * the category, such as the class of the function or the ID of the market data.
+ * The name is passed as an object, which must implement {@code equals} and {@code hashCode},
+ * thus no work is needed to create a string when recording.
+ * <p>
+ * Implementations must be thread-safe, and should be fast, as they are invoked on the calculation threads.
+ */
+public interface MetricsRecorder {
+
+  /**
+   * Records the time taken by an operation.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @param nanos  the time taken, in nanoseconds
+   * @param success  true if the operation succeeded, false if it failed
+   */
+  public abstract void recordTime(String category, Object name, long nanos, boolean success);
+
+  /**
+   * Records a count associated with an operation, such as the number of function evaluations.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @param count  the count
+   */
+  public abstract void recordCount(String category, Object name, long count);
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A metrics recorder that maintains summary statistics for each metric.
+ * <p>
+ * For each category and name, the recorder keeps the number of operations, the number that failed,
+ * and the total and maximum time taken or count. The statistics can be queried, or formatted as a
+ * report using {@link #report()}.
+ * <p>
+ * This class is thread-safe, and avoids locking when recording.
+ */
+public final class SummaryMetricsRecorder implements MetricsRecorder {
+
+  /**
+   * The statistics, keyed by category and name.
+   */
+  private final ConcurrentHashMap<MetricKey, MetricStats> stats = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty recorder.
+   *
+   * @return the recorder
+   */
+  public static SummaryMetricsRecorder create() {
+    return new SummaryMetricsRecorder();
+  }
+
+  // restricted constructor
+  private SummaryMetricsRecorder() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void recordTime(String category, Object name, long nanos, boolean success) {
+    stats(category, name).recordTime(nanos, success);
+  }
+
+  @Override
+  public void recordCount(String category, Object name, long count) {
+    stats(category, name).record(count, true);
+  }
+
+  // finds or creates the statistics for the metric
+  private MetricStats stats(String category, Object name) {
+    MetricKey key = new MetricKey(category, name);
+    MetricStats existing = stats.get(key);
+    return existing != null ? existing : stats.computeIfAbsent(key, k -> new MetricStats());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of operations recorded for the metric.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @return the number of operations, zero if none recorded
+   */
+  public long getCalls(String category, Object name) {
+    MetricStats metric = stats.get(new MetricKey(category, name));
+    return metric != null ? metric.calls.sum() : 0;
+  }
+
+  /**
+   * Gets the number of failed operations recorded for the metric.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @return the number of failures, zero if none recorded
+   */
+  public long getFailures(String category, Object name) {
+    MetricStats metric = stats.get(new MetricKey(category, name));
+    return metric != null ? metric.failures.sum() : 0;
+  }
+
+  /**
+   * Gets the total recorded for the metric.
+   * <p>
+   * This is the total time in nanoseconds for a timing, or the total count for a count.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @return the total, zero if none recorded
+   */
+  public long getTotal(String category, Object name) {
+    MetricStats metric = stats.get(new MetricKey(category, name));
+    return metric != null ? metric.total.sum() : 0;
+  }
+
+  /**
+   * Gets the maximum recorded for a single operation of the metric.
+   * <p>
+   * This is the maximum time in nanoseconds for a timing, or the maximum count for a count.
+   *
+   * @param category  the category of the metric
+   * @param name  the name of the metric within the category
+   * @return the maximum, zero if none recorded
+   */
+  public long getMax(String category, Object name) {
+    MetricStats metric = stats.get(new MetricKey(category, name));
+    return metric != null ? metric.max.get() : 0;
+  }
+
+  /**
+   * Removes all the recorded statistics.
+   */
+  public void clear() {
+    stats.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a report summarizing the recorded statistics.
+   * <p>
+   * The report contains a table for each category, in alphabetical order. Each row of a table
+   * is a metric, in descending order of the total. Times are shown in milliseconds,
+   * whereas values recorded using {@link #recordCount} are shown as counts.
+   *
+   * @return the report
+   */
+  public String report() {
+    Map<String, List<Map.Entry<MetricKey, MetricStats>>> byCategory = new TreeMap<>();
+    for (Map.Entry<MetricKey, MetricStats> entry : stats.entrySet()) {
+      byCategory.computeIfAbsent(entry.getKey().category, c -> new ArrayList<>()).add(entry);
+    }
+    StringBuilder buf = new StringBuilder(1024);
+    for (Map.Entry<String, List<Map.Entry<MetricKey, MetricStats>>> category : byCategory.entrySet()) {
+      List<Map.Entry<MetricKey, MetricStats>> rows = category.getValue();
+      rows.sort(Comparator.comparingLong((Map.Entry<MetricKey, MetricStats> e) -> e.getValue().total.sum()).reversed());
+      buf.append(category.getKey()).append(System.lineSeparator());
+      for (Map.Entry<MetricKey, MetricStats> row : rows) {
+        MetricStats metric = row.getValue();
+        long calls = metric.calls.sum();
+        buf.append(Messages.format(
+            "  {}: calls={}, failures={}, total={}, mean={}, max={}",
+            row.getKey().name,
+            calls,
+            metric.failures.sum(),
+            metric.format(metric.total.sum()),
+            metric.format(calls == 0 ? 0 : metric.total.sum() / calls),
+            metric.format(metric.max.get())))
+            .append(System.lineSeparator());
+      }
+    }
+    return buf.toString();
+  }
+
+  @Override
+  public String toString() {
+    return "SummaryMetricsRecorder[" + stats.size() + " metrics]";
+  }
+
+  //-------------------------------------------------------------------------
+  // the key of a metric
+  private static final class MetricKey {
+    private final String category;
+    private final Object name;
+
+    private MetricKey(String category, Object name) {
+      this.category = category;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof MetricKey) {
+        MetricKey other = (MetricKey) obj;
+        return category.equals(other.category) && Objects.equals(name, other.name);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return category.hashCode() * 31 + Objects.hashCode(name);
+    }
+  }
+
+  // the statistics of a metric
+  private static final class MetricStats {
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private volatile boolean timed;
+
+    private void record(long value, boolean success) {
+      calls.increment();
+      total.add(value);
+      max.accumulate(value);
+      if (!success) {
+        failures.increment();
+      }
+    }
+
+    private void recordTime(long nanos, boolean success) {
+      timed = true;
+      record(nanos, success);
+    }
+
+    // formats a value, times are shown in milliseconds
+    private String format(long value) {
+      return timed ?
+          String.format(Locale.ENGLISH, "%.3fms", value / (double) TimeUnit.MILLISECONDS.toNanos(1)) :
+          Long.toString(value);
+    }
+  }
+
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Instrumentation of calculations.
+ * <p>
+ * The calculation and calibration code records timings and counts using {@link Metrics}.
+ * Nothing is recorded unless a {@link MetricsRecorder} has been installed.
+ */
+package com.opengamma.strata.collect.metrics;
@@ -919,6 +919,25 @@ public class GuavateTest {
     }
   }
 
+  @Test
+  public void test_joinFuture() {
+    assertThat(Guavate.joinFuture(CompletableFuture.completedFuture("a"))).isEqualTo("a");
+    CompletableFuture<String> runtimeFailure = new CompletableFuture<>();
+    runtimeFailure.completeExceptionally(new IllegalStateException("Expected"));
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> Guavate.joinFuture(runtimeFailure))
+        .withMessage("Expected");
+    CompletableFuture<String> errorFailure = new CompletableFuture<>();
+    errorFailure.completeExceptionally(new StackOverflowError("Expected"));
+    assertThatExceptionOfType(StackOverflowError.class)
+        .isThrownBy(() -> Guavate.joinFuture(errorFailure));
+    CompletableFuture<String> checkedFailure = new CompletableFuture<>();
+    checkedFailure.completeExceptionally(new Exception("Expected"));
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(() -> Guavate.joinFuture(checkedFailure))
+        .withCauseInstanceOf(Exception.class);
+  }
+
   //-------------------------------------------------------------------------
   private static void doNothing() {
   }
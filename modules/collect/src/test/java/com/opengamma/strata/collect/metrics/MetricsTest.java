@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link Metrics} and {@link SummaryMetricsRecorder}.
+ */
+public class MetricsTest {
+
+  @AfterEach
+  public void tearDown() {
+    Metrics.uninstall();
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_disabled() {
+    assertThat(Metrics.isEnabled()).isFalse();
+    assertThat(Metrics.findRecorder()).isEmpty();
+    assertThat(Metrics.startTime()).isEqualTo(0);
+    // no exception when nothing is installed
+    Metrics.recordTime("Category", "a", 0, true);
+    Metrics.recordElapsedTime("Category", "a", 1_000, true);
+    Metrics.recordCount("Category", "a", 1);
+  }
+
+  @Test
+  public void test_install() {
+    SummaryMetricsRecorder recorder = SummaryMetricsRecorder.create();
+    Metrics.install(recorder);
+    assertThat(Metrics.isEnabled()).isTrue();
+    assertThat(Metrics.findRecorder()).hasValue(recorder);
+
+    long start = Metrics.startTime();
+    assertThat(start).isNotEqualTo(0);
+    Metrics.recordTime("Category", "a", start, true);
+    Metrics.recordTime("Category", "a", start, false);
+    Metrics.recordCount("Count", "b", 5);
+    assertThat(recorder.getCalls("Category", "a")).isEqualTo(2);
+    assertThat(recorder.getFailures("Category", "a")).isEqualTo(1);
+    assertThat(recorder.getCalls("Count", "b")).isEqualTo(1);
+    assertThat(recorder.getTotal("Count", "b")).isEqualTo(5);
+    Metrics.recordElapsedTime("Elapsed", "c", 3_000_000, true);
+    assertThat(recorder.getCalls("Elapsed", "c")).isEqualTo(1);
+    assertThat(recorder.getTotal("Elapsed", "c")).isEqualTo(3_000_000);
+
+    Metrics.uninstall();
+    assertThat(Metrics.isEnabled()).isFalse();
+    Metrics.recordCount("Count", "b", 5);
+    assertThat(recorder.getCalls("Count", "b")).isEqualTo(1);
+  }
+
+  @Test
+  public void test_recordTime_startedBeforeInstall() {
+    long start = Metrics.startTime();
+    SummaryMetricsRecorder recorder = SummaryMetricsRecorder.create();
+    Metrics.install(recorder);
+    Metrics.recordTime("Category", "a", start, true);
+    assertThat(recorder.getCalls("Category", "a")).isEqualTo(0);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_summary() {
+    SummaryMetricsRecorder test = SummaryMetricsRecorder.create();
+    test.recordTime("Timing", "a", 2_000_000, true);
+    test.recordTime("Timing", "a", 4_000_000, false);
+    test.recordTime("Timing", "b", 9_000_000, true);
+    test.recordCount("Count", "c", 3);
+    test.recordCount("Count", "c", 7);
+
+    assertThat(test.getCalls("Timing", "a")).isEqualTo(2);
+    assertThat(test.getFailures("Timing", "a")).isEqualTo(1);
+    assertThat(test.getTotal("Timing", "a")).isEqualTo(6_000_000);
+    assertThat(test.getMax("Timing", "a")).isEqualTo(4_000_000);
+    assertThat(test.getTotal("Count", "c")).isEqualTo(10);
+    assertThat(test.getMax("Count", "c")).isEqualTo(7);
+    assertThat(test.getCalls("Timing", "c")).isEqualTo(0);
+    assertThat(test.getTotal("Other", "a")).isEqualTo(0);
+
+    String report = test.report();
+    assertThat(report).contains("Timing");
+    assertThat(report).contains("a: calls=2, failures=1, total=6.000ms, mean=3.000ms, max=4.000ms");
+    assertThat(report).contains("c: calls=2, failures=0, total=10, mean=5, max=7");
+    // categories are sorted by name, and metrics by descending total
+    assertThat(report.indexOf("Count")).isLessThan(report.indexOf("Timing"));
+    assertThat(report.indexOf("b: ")).isLessThan(report.indexOf("a: "));
+    assertThat(test.toString()).isEqualTo("SummaryMetricsRecorder[3 metrics]");
+
+    test.clear();
+    assertThat(test.getCalls("Timing", "a")).isEqualTo(0);
+    assertThat(test.report()).isEmpty();
+  }
+
+  @Test
+  public void coverage() {
+    coverPrivateConstructor(Metrics.class);
+  }
+
+}
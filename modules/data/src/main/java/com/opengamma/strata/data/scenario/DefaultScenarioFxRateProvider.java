@@ -6,13 +6,22 @@
 package com.opengamma.strata.data.scenario;
 
 import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
 import com.opengamma.strata.data.ObservableSource;
 
 /**
  * A provider of FX rates which takes its data from one scenario in a set of data for multiple scenarios.
+ * <p>
+ * The arrays of rates returned by {@link #fxRates(Currency, Currency)} are cached by currency pair.
  */
 class DefaultScenarioFxRateProvider
     implements ScenarioFxRateProvider, Serializable {
@@ -29,6 +38,10 @@ class DefaultScenarioFxRateProvider
    * The source of the FX rates.
    */
   private final ObservableSource source;
+  /**
+   * The cached arrays of rates, keyed by currency pair.
+   */
+  private final transient ConcurrentHashMap<CurrencyPair, DoubleArray> ratesCache = new ConcurrentHashMap<>();
 
   // creates an instance
   DefaultScenarioFxRateProvider(ScenarioMarketData marketData, ObservableSource source) {
@@ -36,11 +49,36 @@ class DefaultScenarioFxRateProvider
     this.source = source;
   }
 
+  // recreates the cache after deserialization
+  private Object readResolve() {
+    return new DefaultScenarioFxRateProvider(marketData, source);
+  }
+
   @Override
   public int getScenarioCount() {
     return marketData.getScenarioCount();
   }
 
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(getScenarioCount(), 1);
+    }
+    return ratesCache.computeIfAbsent(CurrencyPair.of(baseCurrency, counterCurrency), this::lookupRates);
+  }
+
+  // looks up the rates for all scenarios, using the rate for the pair if available to avoid a lookup per scenario
+  private DoubleArray lookupRates(CurrencyPair pair) {
+    Currency base = pair.getBase();
+    Currency counter = pair.getCounter();
+    Optional<MarketDataBox<FxRate>> rates = marketData.findValue(FxRateId.of(pair, source));
+    if (rates.isPresent()) {
+      MarketDataBox<FxRate> box = rates.get();
+      return DoubleArray.of(getScenarioCount(), i -> box.getValue(i).fxRate(base, counter));
+    }
+    return DoubleArray.of(getScenarioCount(), i -> fxRateProvider(i).fxRate(base, counter));
+  }
+
   @Override
   public FxRateProvider fxRateProvider(int scenarioIndex) {
     return MarketDataFxRateProvider.of(marketData.scenario(scenarioIndex), source);
@@ -24,9 +24,11 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.google.common.base.Preconditions;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -115,6 +117,13 @@ public final class FxRateScenarioArray
     return rates.stream().mapToObj(rate -> FxRate.of(pair, rate));
   }
 
+  @Override
+  public FxRateScenarioArray scenarioRange(int startIndex, int endIndex) {
+    Preconditions.checkPositionIndexes(startIndex, endIndex, getScenarioCount());
+    ArgChecker.isTrue(startIndex < endIndex, "Scenario range must not be empty");
+    return FxRateScenarioArray.of(pair, rates.subArray(startIndex, endIndex));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the FX rate for the specified currency pair and scenario index.
@@ -89,6 +89,13 @@ final class RepeatedScenarioMarketData
   }
 
   //-------------------------------------------------------------------------
+  @Override
+  public ScenarioMarketData scenarioRange(int startIndex, int endIndex) {
+    Preconditions.checkPositionIndexes(startIndex, endIndex, scenarioCount);
+    ArgChecker.isTrue(startIndex < endIndex, "Scenario range must not be empty");
+    return new RepeatedScenarioMarketData(endIndex - startIndex, underlying);
+  }
+
   @Override
   public boolean containsValue(MarketDataId<?> id) {
     return underlying.containsValue(id);
@@ -10,6 +10,9 @@ import java.util.function.IntFunction;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import com.google.common.base.Preconditions;
+import com.opengamma.strata.collect.ArgChecker;
+
 /**
  * An array of values, one for each scenario.
  * <p>
@@ -120,4 +123,26 @@ public interface ScenarioArray<T> {
     return IntStream.range(0, getScenarioCount()).mapToObj(i -> get(i));
   }
 
+  /**
+   * Returns an array containing the values of a contiguous range of the scenarios.
+   * <p>
+   * Scenario {@code i} of the result is scenario {@code startIndex + i} of this array.
+   * This is used when the scenarios are calculated in chunks.
+   * <p>
+   * By default, this returns an array holding the value of each scenario in the range.
+   * Implementations holding the values in a compact form should override this to return
+   * an array in the same form, without creating the value of each scenario.
+   *
+   * @param startIndex  the index of the first scenario, inclusive
+   * @param endIndex  the index of the last scenario, exclusive
+   * @return the array of values for the range of scenarios
+   * @throws IndexOutOfBoundsException if the range is invalid
+   * @throws IllegalArgumentException if the range is empty
+   */
+  public default ScenarioArray<T> scenarioRange(int startIndex, int endIndex) {
+    Preconditions.checkPositionIndexes(startIndex, endIndex, getScenarioCount());
+    ArgChecker.isTrue(startIndex < endIndex, "Scenario range must not be empty");
+    return ScenarioArray.of(endIndex - startIndex, i -> get(startIndex + i));
+  }
+
 }
@@ -269,6 +269,26 @@ public interface ScenarioMarketData {
     return new CombinedScenarioMarketData(this, other);
   }
 
+  /**
+   * Returns a view of this market data containing a contiguous range of the scenarios.
+   * <p>
+   * Scenario {@code i} of the result is scenario {@code startIndex + i} of this market data.
+   * Values that are the same in all scenarios are shared, and time-series are unaffected.
+   * This allows a large number of scenarios to be divided into chunks that are processed separately.
+   *
+   * @param startIndex  the index of the first scenario, inclusive
+   * @param endIndex  the index of the last scenario, exclusive
+   * @return the market data for the range of scenarios
+   * @throws IndexOutOfBoundsException if the range is invalid
+   * @throws IllegalArgumentException if the range is empty
+   */
+  public default ScenarioMarketData scenarioRange(int startIndex, int endIndex) {
+    if (startIndex == 0 && endIndex == getScenarioCount()) {
+      return this;
+    }
+    return ScenarioRangeMarketData.of(this, startIndex, endIndex);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the time-series identifiers.
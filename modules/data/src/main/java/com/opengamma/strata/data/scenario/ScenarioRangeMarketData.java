@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Preconditions;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A view of a contiguous range of the scenarios of an underlying set of scenario market data.
+ * <p>
+ * Scenario {@code i} of this market data is scenario {@code startIndex + i} of the underlying.
+ * Boxes containing a single value are returned unchanged, while boxes containing a value for each
+ * scenario are replaced by a box containing the values in the range, see {@link ScenarioArray#scenarioRange}.
+ * Thus compact arrays of values are sliced without creating the value of each scenario.
+ * These are created on demand, and cached so that each is only created once for each view.
+ * <p>
+ * This is a transient view and is not intended to be serialized.
+ */
+final class ScenarioRangeMarketData implements ScenarioMarketData {
+
+  /**
+   * The underlying market data.
+   */
+  private final ScenarioMarketData underlying;
+  /**
+   * The index of the first scenario in the underlying market data.
+   */
+  private final int startIndex;
+  /**
+   * The number of scenarios in the range.
+   */
+  private final int scenarioCount;
+  /**
+   * The boxes containing the values for the range of scenarios, keyed by identifier.
+   */
+  private final Map<MarketDataId<?>, MarketDataBox<?>> values = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for a range of the scenarios in the underlying market data.
+   *
+   * @param underlying  the underlying market data
+   * @param startIndex  the index of the first scenario, inclusive
+   * @param endIndex  the index of the last scenario, exclusive
+   * @return the market data for the range of scenarios
+   * @throws IndexOutOfBoundsException if the range is invalid
+   * @throws IllegalArgumentException if the range is empty
+   */
+  static ScenarioRangeMarketData of(ScenarioMarketData underlying, int startIndex, int endIndex) {
+    ArgChecker.notNull(underlying, "underlying");
+    Preconditions.checkPositionIndexes(startIndex, endIndex, underlying.getScenarioCount());
+    ArgChecker.isTrue(startIndex < endIndex, "Scenario range must not be empty");
+    return new ScenarioRangeMarketData(underlying, startIndex, endIndex - startIndex);
+  }
+
+  // restricted constructor
+  private ScenarioRangeMarketData(ScenarioMarketData underlying, int startIndex, int scenarioCount) {
+    this.underlying = underlying;
+    this.startIndex = startIndex;
+    this.scenarioCount = scenarioCount;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return range(underlying.getValuationDate());
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  @Override
+  public MarketData scenario(int scenarioIndex) {
+    Preconditions.checkElementIndex(scenarioIndex, scenarioCount, "scenarioIndex");
+    return underlying.scenario(startIndex + scenarioIndex);
+  }
+
+  @Override
+  public ScenarioMarketData scenarioRange(int startIndex, int endIndex) {
+    if (startIndex == 0 && endIndex == scenarioCount) {
+      return this;
+    }
+    Preconditions.checkPositionIndexes(startIndex, endIndex, scenarioCount);
+    return underlying.scenarioRange(this.startIndex + startIndex, this.startIndex + endIndex);
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return underlying.containsValue(id);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    MarketDataBox<T> cached = (MarketDataBox<T>) values.get(id);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<MarketDataBox<T>> found = underlying.findValue(id).map(this::range);
+    found.ifPresent(box -> values.putIfAbsent(id, box));
+    return found;
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return underlying.getIds();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    return underlying.findIds(name);
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return underlying.getTimeSeries(id);
+  }
+
+  // obtains the box containing the values for the range of scenarios
+  private <T> MarketDataBox<T> range(MarketDataBox<T> box) {
+    if (box.isSingleValue()) {
+      return box;
+    }
+    return MarketDataBox.ofScenarioValue(box.getScenarioValue().scenarioRange(startIndex, startIndex + scenarioCount));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "ScenarioRangeMarketData[scenarios {} to {} of {}]",
+        startIndex,
+        startIndex + scenarioCount,
+        underlying.getScenarioCount());
+  }
+
+}
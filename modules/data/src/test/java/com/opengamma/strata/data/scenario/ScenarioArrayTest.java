@@ -7,6 +7,8 @@ package com.opengamma.strata.data.scenario;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import java.util.List;
 
@@ -67,4 +69,12 @@ public class ScenarioArrayTest {
     assertThat(output).containsExactly("0", "1", "2");
   }
 
+  @Test
+  public void test_scenarioRange() {
+    ScenarioArray<String> test = ScenarioArray.of("1", "2", "3", "4");
+    assertThat(test.scenarioRange(1, 3)).isEqualTo(DefaultScenarioArray.of("2", "3"));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.scenarioRange(2, 5));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.scenarioRange(2, 2));
+  }
+
 }
@@ -14,8 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ObservableSource;
 
@@ -48,6 +50,26 @@ public class ScenarioFxRateProviderTest {
     assertThat(fxRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
   }
 
+  @Test
+  public void fxRates() {
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
+        .addScenarioValue(
+            FxRateId.of(Currency.GBP, Currency.USD),
+            ImmutableList.of(FxRate.of(Currency.GBP, Currency.USD, 1.4d), FxRate.of(Currency.GBP, Currency.USD, 1.5d)))
+        .addValue(FxRateId.of(Currency.EUR, Currency.USD), FxRate.of(Currency.EUR, Currency.USD, 1.2d))
+        .build();
+    ScenarioFxRateProvider test = ScenarioFxRateProvider.of(marketData);
+
+    assertThat(test.fxRates(Currency.GBP, Currency.GBP)).isEqualTo(DoubleArray.of(1d, 1d));
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isEqualTo(DoubleArray.of(1.4d, 1.5d));
+    assertThat(test.fxRates(Currency.USD, Currency.GBP)).isEqualTo(DoubleArray.of(1 / 1.4d, 1 / 1.5d));
+    // triangulated using USD
+    DoubleArray expected = DoubleArray.of(2, i -> test.fxRate(Currency.EUR, Currency.GBP, i));
+    assertThat(test.fxRates(Currency.EUR, Currency.GBP)).isEqualTo(expected);
+    // the rates are cached
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isSameAs(test.fxRates(Currency.GBP, Currency.USD));
+  }
+
   @Test
   public void specifySource() {
     ObservableSource testSource = ObservableSource.of("test");
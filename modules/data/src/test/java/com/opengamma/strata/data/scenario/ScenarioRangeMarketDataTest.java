@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+
+/**
+ * Test {@link ScenarioRangeMarketData}.
+ */
+public class ScenarioRangeMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 6, 30);
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 8), 1.1)
+      .put(date(2011, 3, 10), 1.2)
+      .build();
+  private static final ScenarioMarketData BASE_DATA = ScenarioMarketData.of(
+      4,
+      VAL_DATE,
+      ImmutableMap.of(
+          ID1, MarketDataBox.ofScenarioValues(1d, 2d, 3d, 4d),
+          ID2, MarketDataBox.ofSingleValue(5d)),
+      ImmutableMap.of(ID1, TIME_SERIES));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_scenarioRange() {
+    ScenarioMarketData test = BASE_DATA.scenarioRange(1, 3);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getValuationDate()).isEqualTo(MarketDataBox.ofSingleValue(VAL_DATE));
+    assertThat(test.getValue(ID1)).isEqualTo(MarketDataBox.ofScenarioValues(2d, 3d));
+    assertThat(test.getValue(ID1)).isSameAs(test.getValue(ID1));
+    assertThat(test.getValue(ID2)).isEqualTo(MarketDataBox.ofSingleValue(5d));
+    assertThat(test.containsValue(ID1)).isTrue();
+    assertThat(test.containsValue(ID3)).isFalse();
+    assertThat(test.findValue(ID3)).isEmpty();
+    assertThatExceptionOfType(MarketDataNotFoundException.class).isThrownBy(() -> test.getValue(ID3));
+    assertThat(test.getIds()).isEqualTo(ImmutableSet.of(ID1, ID2));
+    assertThat(test.getTimeSeriesIds()).isEqualTo(ImmutableSet.of(ID1));
+    assertThat(test.getTimeSeries(ID1)).isEqualTo(TIME_SERIES);
+    assertThat(test.scenario(0).getValue(ID1)).isEqualTo(2d);
+    assertThat(test.scenario(1).getValue(ID1)).isEqualTo(3d);
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.scenario(2));
+    assertThat(test.toString()).isEqualTo("ScenarioRangeMarketData[scenarios 1 to 3 of 4]");
+  }
+
+  @Test
+  public void test_scenarioRange_ofRange() {
+    ScenarioMarketData test = BASE_DATA.scenarioRange(1, 4);
+    assertThat(test.scenarioRange(0, 3)).isSameAs(test);
+    assertThat(test.scenarioRange(1, 2).getValue(ID1)).isEqualTo(MarketDataBox.ofScenarioValues(3d));
+    assertThat(test.scenarioRange(1, 2).getScenarioCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void test_scenarioRange_all() {
+    assertThat(BASE_DATA.scenarioRange(0, 4)).isSameAs(BASE_DATA);
+  }
+
+  @Test
+  public void test_scenarioRange_invalid() {
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> BASE_DATA.scenarioRange(-1, 2));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> BASE_DATA.scenarioRange(2, 5));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> BASE_DATA.scenarioRange(3, 2));
+    assertThatIllegalArgumentException().isThrownBy(() -> BASE_DATA.scenarioRange(2, 2));
+  }
+
+  @Test
+  public void test_scenarioRange_compactArray() {
+    FxRateId fxRateId = FxRateId.of(GBP, USD);
+    FxRateScenarioArray rates = FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.1, 1.2, 1.3, 1.4));
+    ScenarioMarketData base = ScenarioMarketData.of(
+        4, VAL_DATE, ImmutableMap.of(fxRateId, MarketDataBox.ofScenarioValue(rates)), ImmutableMap.of());
+    ScenarioMarketData test = base.scenarioRange(1, 3);
+    // the array is sliced in its compact form
+    assertThat(test.getValue(fxRateId).getScenarioValue())
+        .isEqualTo(FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.2, 1.3)));
+  }
+
+  @Test
+  public void test_scenarioRange_repeated() {
+    ScenarioMarketData base = ScenarioMarketData.of(4, ImmutableMarketData.of(VAL_DATE, ImmutableMap.of(ID2, 5d)));
+    ScenarioMarketData test = base.scenarioRange(1, 3);
+    assertThat(test).isEqualTo(ScenarioMarketData.of(2, ImmutableMarketData.of(VAL_DATE, ImmutableMap.of(ID2, 5d))));
+  }
+
+}
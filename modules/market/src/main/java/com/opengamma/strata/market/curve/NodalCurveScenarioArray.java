@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.base.Preconditions;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * A compact array of nodal curves, one for each scenario, sharing the same structure.
+ * <p>
+ * Perturbing a curve for many scenarios, such as historical scenarios, typically changes only the y-values.
+ * Rather than holding a separate curve for each scenario, this array holds a single base curve,
+ * providing the metadata, x-values and interpolators, and a matrix of y-values with a row for each
+ * scenario and a column for each node.
+ * <p>
+ * The curve for a scenario is created from the base curve and the y-values of the scenario when first requested,
+ * and is cached so that subsequent requests return the same instance.
+ * Thus the memory used is dominated by the matrix of y-values until the curves are used.
+ * <p>
+ * This is typically used as the value of a {@link MarketDataBox} via {@link MarketDataBox#ofScenarioValue}.
+ */
+@BeanDefinition(style = "light")
+public final class NodalCurveScenarioArray
+    implements ScenarioArray<NodalCurve>, ImmutableBean, Serializable {
+
+  /**
+   * The base curve, providing the metadata, x-values and interpolators of the curves.
+   * <p>
+   * The y-values of the base curve are not used.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final NodalCurve curve;
+  /**
+   * The y-values of the curves.
+   * <p>
+   * There is one row in the matrix for each scenario and one column for each node of the curve.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix yValues;
+  /**
+   * The cache of the curve for each scenario.
+   */
+  private final transient AtomicReferenceArray<NodalCurve> cache;  // derived
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a base curve and the y-values for each scenario.
+   * <p>
+   * The matrix must have a row for each scenario and a column for each node of the curve.
+   *
+   * @param curve  the base curve, providing the metadata, x-values and interpolators
+   * @param yValues  the y-values of the curves, with a row for each scenario
+   * @return the array of curves
+   */
+  public static NodalCurveScenarioArray of(NodalCurve curve, DoubleMatrix yValues) {
+    return new NodalCurveScenarioArray(curve, yValues);
+  }
+
+  @ImmutableConstructor
+  private NodalCurveScenarioArray(NodalCurve curve, DoubleMatrix yValues) {
+    ArgChecker.notNull(curve, "curve");
+    ArgChecker.notNull(yValues, "yValues");
+    ArgChecker.isTrue(yValues.rowCount() > 0, "There must be at least one scenario");
+    if (yValues.columnCount() != curve.getYValues().size()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Number of y-values per scenario ({}) must match the number of nodes in the curve ({})",
+          yValues.columnCount(),
+          curve.getYValues().size()));
+    }
+    this.curve = curve;
+    this.yValues = yValues;
+    this.cache = new AtomicReferenceArray<>(yValues.rowCount());
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new NodalCurveScenarioArray(curve, yValues);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return yValues.rowCount();
+  }
+
+  /**
+   * Gets the curve for the specified scenario.
+   * <p>
+   * The curve is created from the base curve and the y-values of the scenario when first requested,
+   * with the same instance returned for subsequent requests.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return the curve for the scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public NodalCurve get(int scenarioIndex) {
+    NodalCurve current = cache.get(scenarioIndex);
+    if (current != null) {
+      return current;
+    }
+    return cache.updateAndGet(
+        scenarioIndex,
+        v -> v != null ? v : curve.withYValues(yValues.row(scenarioIndex)));
+  }
+
+  /**
+   * Returns an array containing the curves of a contiguous range of the scenarios.
+   * <p>
+   * The result shares the base curve and holds the y-values of the scenarios in the range,
+   * thus the curve of each scenario is not created. Curves already created by this array are reused.
+   *
+   * @param startIndex  the index of the first scenario, inclusive
+   * @param endIndex  the index of the last scenario, exclusive
+   * @return the array of curves for the range of scenarios
+   * @throws IndexOutOfBoundsException if the range is invalid
+   * @throws IllegalArgumentException if the range is empty
+   */
+  @Override
+  public NodalCurveScenarioArray scenarioRange(int startIndex, int endIndex) {
+    Preconditions.checkPositionIndexes(startIndex, endIndex, getScenarioCount());
+    ArgChecker.isTrue(startIndex < endIndex, "Scenario range must not be empty");
+    if (startIndex == 0 && endIndex == getScenarioCount()) {
+      return this;
+    }
+    DoubleMatrix rangeYValues = DoubleMatrix.ofArrayObjects(
+        endIndex - startIndex, yValues.columnCount(), i -> yValues.row(startIndex + i));
+    NodalCurveScenarioArray range = new NodalCurveScenarioArray(curve, rangeYValues);
+    for (int i = 0; i < range.cache.length(); i++) {
+      range.cache.set(i, cache.get(startIndex + i));
+    }
+    return range;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code NodalCurveScenarioArray}.
+   */
+  private static final TypedMetaBean<NodalCurveScenarioArray> META_BEAN =
+      LightMetaBean.of(
+          NodalCurveScenarioArray.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "curve",
+              "yValues"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code NodalCurveScenarioArray}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<NodalCurveScenarioArray> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public TypedMetaBean<NodalCurveScenarioArray> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the base curve, providing the metadata, x-values and interpolators of the curves.
+   * <p>
+   * The y-values of the base curve are not used.
+   * @return the value of the property, not null
+   */
+  public NodalCurve getCurve() {
+    return curve;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the y-values of the curves.
+   * <p>
+   * There is one row in the matrix for each scenario and one column for each node of the curve.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getYValues() {
+    return yValues;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      NodalCurveScenarioArray other = (NodalCurveScenarioArray) obj;
+      return JodaBeanUtils.equal(curve, other.curve) &&
+          JodaBeanUtils.equal(yValues, other.yValues);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(curve);
+    hash = hash * 31 + JodaBeanUtils.hashCode(yValues);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("NodalCurveScenarioArray{");
+    buf.append("curve").append('=').append(JodaBeanUtils.toString(curve)).append(',').append(' ');
+    buf.append("yValues").append('=').append(JodaBeanUtils.toString(yValues));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -104,6 +104,9 @@ public final class IndexQuoteId
 
   @Override
   public IndexQuoteId withObservableSource(ObservableSource obsSource) {
+    if (obsSource.equals(this.observableSource)) {
+      return this;
+    }
     return new IndexQuoteId(index, fieldName, obsSource);
   }
 
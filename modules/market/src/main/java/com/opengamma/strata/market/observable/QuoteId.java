@@ -114,6 +114,9 @@ public final class QuoteId
   //-------------------------------------------------------------------------
   @Override
   public QuoteId withObservableSource(ObservableSource obsSource) {
+    if (obsSource.equals(this.observableSource)) {
+      return this;
+    }
     return new QuoteId(standardId, fieldName, obsSource);
   }
 
@@ -11,6 +11,7 @@ import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -30,11 +31,15 @@ import org.slf4j.LoggerFactory;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.ObjIntPair;
 import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioPerturbation;
 import com.opengamma.strata.market.ShiftType;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.NodalCurveScenarioArray;
 
 /**
  * A perturbation that applies different shifts to specific points in a parameterized data.
@@ -123,11 +128,31 @@ public final class PointShifts
 
     log.debug("Applying {} point shift to ParameterizedData '{}'", shiftType,
         marketData.getValue(0).toString());
+    if (marketData.isSingleValue() && marketData.getSingleValue() instanceof InterpolatedNodalCurve) {
+      return applyShifts((InterpolatedNodalCurve) marketData.getSingleValue());
+    }
     return marketData.mapWithIndex(
         shifts.rowCount(),
         (prams, scenarioIndex) -> applyShifts(scenarioIndex, prams));
   }
 
+  // the shifted curves only differ in their y-values, so they are stored compactly, sharing the rest of the curve
+  // the y-values are the same as those produced by InterpolatedNodalCurve.withPerturbation()
+  @SuppressWarnings("unchecked")
+  private MarketDataBox<ParameterizedData> applyShifts(InterpolatedNodalCurve curve) {
+    DoubleArray baseValues = curve.getYValues();
+    int[] shiftIndices = IntStream.range(0, curve.getParameterCount())
+        .map(i -> nodeIndex(curve.getParameterMetadata(i)))
+        .toArray();
+    DoubleMatrix yValues = DoubleMatrix.of(
+        shifts.rowCount(),
+        shiftIndices.length,
+        (scenarioIndex, i) -> shiftType.applyShift(
+            baseValues.get(i), shiftIndices[i] < 0 ? 0 : shifts.get(scenarioIndex, shiftIndices[i])));
+    ScenarioArray<?> curves = NodalCurveScenarioArray.of(curve, yValues);
+    return MarketDataBox.ofScenarioValue((ScenarioArray<ParameterizedData>) curves);
+  }
+
   private ParameterizedData applyShifts(int scenarioIndex, ParameterizedData prams) {
     return prams.withPerturbation((index, value, meta) -> {
       double shiftAmount = shiftForNode(scenarioIndex, meta);
@@ -141,17 +166,23 @@ public final class PointShifts
   }
 
   private double shiftForNode(int scenarioIndex, ParameterMetadata meta) {
+    int nodeIndex = nodeIndex(meta);
+    return nodeIndex < 0 ? 0 : shifts.get(scenarioIndex, nodeIndex);
+  }
+
+  // finds the column in the matrix of shifts for the parameter, -1 if there is no shift
+  private int nodeIndex(ParameterMetadata meta) {
     Integer nodeIndex = nodeIndices.get(meta.getIdentifier());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
     nodeIndex = nodeIndices.get(meta.getLabel());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
-    return 0;
+    return -1;
   }
 
   @Override
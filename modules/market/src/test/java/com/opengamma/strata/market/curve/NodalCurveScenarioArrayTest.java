@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link NodalCurveScenarioArray}.
+ */
+public class NodalCurveScenarioArrayTest {
+
+  private static final CurveMetadata METADATA = Curves.zeroRates(CurveName.of("Test"), ACT_365F);
+  private static final InterpolatedNodalCurve CURVE = InterpolatedNodalCurve.of(
+      METADATA, DoubleArray.of(1, 2, 3), DoubleArray.of(5, 6, 7), CurveInterpolators.LINEAR);
+  private static final DoubleMatrix Y_VALUES = DoubleMatrix.of(2, 3, 5.1, 6.1, 7.1, 5.2, 6.2, 7.2);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    NodalCurveScenarioArray test = NodalCurveScenarioArray.of(CURVE, Y_VALUES);
+    assertThat(test.getCurve()).isEqualTo(CURVE);
+    assertThat(test.getYValues()).isEqualTo(Y_VALUES);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.get(0)).isEqualTo(CURVE.withYValues(DoubleArray.of(5.1, 6.1, 7.1)));
+    assertThat(test.get(1)).isEqualTo(CURVE.withYValues(DoubleArray.of(5.2, 6.2, 7.2)));
+    assertThat(test.get(1).getXValues()).isSameAs(CURVE.getXValues());
+    assertThat(test.get(1).getMetadata()).isSameAs(CURVE.getMetadata());
+    assertThat(test.stream()).containsExactly(test.get(0), test.get(1));
+  }
+
+  @Test
+  public void test_get_cached() {
+    NodalCurveScenarioArray test = NodalCurveScenarioArray.of(CURVE, Y_VALUES);
+    NodalCurve curve0 = test.get(0);
+    NodalCurve curve1 = test.get(1);
+    assertThat(test.get(0)).isSameAs(curve0);
+    assertThat(test.get(1)).isSameAs(curve1);
+    assertThat(test.stream()).containsExactly(curve0, curve1);
+    // an instance created by the meta-bean has its own cache
+    NodalCurveScenarioArray copy = NodalCurveScenarioArray.meta().builder()
+        .set("curve", CURVE)
+        .set("yValues", Y_VALUES)
+        .build();
+    assertThat(copy.get(0)).isEqualTo(curve0).isNotSameAs(curve0);
+    assertThat(copy.get(0)).isSameAs(copy.get(0));
+  }
+
+  @Test
+  public void test_scenarioRange() {
+    NodalCurveScenarioArray base = NodalCurveScenarioArray.of(CURVE, DoubleMatrix.of(3, 3, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+    NodalCurve curve1 = base.get(1);
+    NodalCurveScenarioArray test = base.scenarioRange(1, 3);
+    assertThat(test).isEqualTo(NodalCurveScenarioArray.of(CURVE, DoubleMatrix.of(2, 3, 4, 5, 6, 7, 8, 9)));
+    // curves already created are reused
+    assertThat(test.get(0)).isSameAs(curve1);
+    assertThat(test.get(1)).isEqualTo(base.get(2));
+    assertThat(base.scenarioRange(0, 3)).isSameAs(base);
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> base.scenarioRange(2, 4));
+    assertThatIllegalArgumentException().isThrownBy(() -> base.scenarioRange(1, 1));
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> NodalCurveScenarioArray.of(CURVE, DoubleMatrix.of(1, 2, 5d, 6d)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> NodalCurveScenarioArray.of(CURVE, DoubleMatrix.EMPTY));
+  }
+
+  @Test
+  public void test_marketDataBox() {
+    MarketDataBox<NodalCurve> test = MarketDataBox.ofScenarioValue(NodalCurveScenarioArray.of(CURVE, Y_VALUES));
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getValue(1)).isEqualTo(CURVE.withYValues(DoubleArray.of(5.2, 6.2, 7.2)));
+    assertThat(test.getMarketDataType()).isEqualTo(InterpolatedNodalCurve.class);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    NodalCurveScenarioArray test = NodalCurveScenarioArray.of(CURVE, Y_VALUES);
+    coverImmutableBean(test);
+    NodalCurveScenarioArray test2 = NodalCurveScenarioArray.of(
+        ConstantNodalCurve.of(METADATA, 1d, 2d), DoubleMatrix.of(1, 1, 3d));
+    coverBeanEquals(test, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(NodalCurveScenarioArray.of(CURVE, Y_VALUES));
+  }
+
+}
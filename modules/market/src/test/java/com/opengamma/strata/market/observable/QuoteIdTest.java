@@ -57,6 +57,13 @@ public class QuoteIdTest {
     assertThat(test.toString()).isEqualTo("QuoteId:OG-Ticker~1/Field2/Vendor2");
   }
 
+  @Test
+  public void test_withObservableSource() {
+    QuoteId test = QuoteId.of(ID1, FIELD2);
+    assertThat(test.withObservableSource(OBS_SOURCE2)).isEqualTo(QuoteId.of(ID1, FIELD2, OBS_SOURCE2));
+    assertThat(test.withObservableSource(ObservableSource.NONE)).isSameAs(test);
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void coverage() {
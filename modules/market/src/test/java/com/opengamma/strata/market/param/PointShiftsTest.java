@@ -25,6 +25,7 @@ import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.NodalCurveScenarioArray;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 
@@ -69,6 +70,8 @@ public class PointShiftsTest {
 
     MarketDataBox<ParameterizedData> shiftedCurveBox = shift.applyTo(
         MarketDataBox.ofSingleValue(curve), REF_DATA);
+    // the shifted curves share the structure of the input curve
+    assertThat(shiftedCurveBox.getScenarioValue()).isInstanceOf(NodalCurveScenarioArray.class);
 
     Curve scenario1Curve = InterpolatedNodalCurve.of(
         Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F, nodeMetadata),
@@ -78,12 +78,28 @@ public class BaseNewtonVectorRootFinder
       Function<DoubleArray, DoubleMatrix> jacobianFunction,
       DoubleArray startPosition) {
 
+    return findRoot(function, jacobianFunction, startPosition, null);
+  }
+
+  @Override
+  public DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix jacobianEstimate) {
+
     DataBundle data = new DataBundle();
     DoubleArray y = checkInputsAndApplyFunction(function, startPosition);
     data.setX(startPosition);
     data.setY(y);
     data.setG0(_algebra.getInnerProduct(y, y));
-    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    // the initialization function is passed the estimate, as some root finders work with the inverse Jacobian
+    // an estimate of the wrong shape is ignored
+    boolean useEstimate = jacobianEstimate != null &&
+        jacobianEstimate.rowCount() == y.size() &&
+        jacobianEstimate.columnCount() == startPosition.size();
+    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(
+        useEstimate ? x -> jacobianEstimate : jacobianFunction, startPosition);
 
     if (!getNextPosition(function, estimate, data)) {
       if (isConverged(data)) {
@@ -95,4 +95,32 @@ public interface NewtonVectorRootFinder {
       Function<DoubleArray, DoubleMatrix> jacobianFunction,
       DoubleArray startPosition);
 
+  /**
+   * Finds the root from the specified start position, specifying an estimate of the Jacobian at that position.
+   * <p>
+   * This applies the specified function and Jacobian function to find the root.
+   * The estimate is used in place of the first evaluation of the Jacobian function.
+   * This is useful when a similar problem has already been solved, for example when the
+   * function has been perturbed slightly, as one evaluation of the Jacobian is avoided.
+   * The estimate only affects the path to the root, the Jacobian function is still called
+   * if the estimate turns out to be poor.
+   * <p>
+   * The default implementation ignores the estimate.
+   * 
+   * @param function   the vector function
+   * @param jacobianFunction  the function to calculate the Jacobian
+   * @param startPosition  the start position of the root finder for
+   * @param jacobianEstimate  the estimate of the Jacobian at the start position
+   * @return the vector root of the collection of functions
+   * @throws MathException if unable to find the root, such as if unable to converge
+   */
+  public default DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix jacobianEstimate) {
+
+    return findRoot(function, jacobianFunction, startPosition);
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.measure.bond;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +17,7 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.Resolvable;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.runner.CalculationCache;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
@@ -54,7 +56,12 @@ import com.opengamma.strata.product.bond.ResolvedBillTrade;
  * @param <T> the trade or position type
  */
 public class BillTradeCalculationFunction<T extends SecuritizedProductPortfolioItem<Bill> & Resolvable<ResolvedBillTrade>>
-    implements CalculationFunction<T> {
+    implements CalculationFunction<T>, Serializable {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
 
   /**
    * The trade instance
@@ -145,7 +152,7 @@ public class BillTradeCalculationFunction<T extends SecuritizedProductPortfolioI
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedBillTrade resolved = target.resolve(refData);
+    ResolvedBillTrade resolved = CalculationCache.resolve(target, parameters, refData);
 
     // use lookup to query market data
     LegalEntityDiscountingMarketDataLookup lookup = parameters.getParameter(LegalEntityDiscountingMarketDataLookup.class);
@@ -41,7 +41,7 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
 
   /** The standard configuration. */
   private static final RootFinderConfig STANDARD =
-      new RootFinderConfig(DEFAULT_ABSOLUTE_TOLERANCE, DEFAULT_RELATIVE_TOLERANCE, DEFAULT_MAXIMUM_STEPS);
+      new RootFinderConfig(DEFAULT_ABSOLUTE_TOLERANCE, DEFAULT_RELATIVE_TOLERANCE, DEFAULT_MAXIMUM_STEPS, false, false);
 
   /** The absolute tolerance for the root finder. */
   @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
@@ -55,6 +55,25 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
   @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
   private final int maximumSteps;
 
+  /**
+   * Whether the scenarios should be calibrated in parallel, default false.
+   * <p>
+   * When market data is built for multiple scenarios, a curve group is calibrated for each scenario.
+   * If this flag is set, the scenarios are calibrated in parallel using the common fork-join pool.
+   */
+  @PropertyDefinition
+  private final boolean parallelScenarios;
+
+  /**
+   * Whether each scenario is calibrated starting from the solution of the first scenario, default false.
+   * <p>
+   * When market data is built for multiple scenarios, a curve group is calibrated for each scenario.
+   * If this flag is set, the first scenario is calibrated first and its curves are used as the starting
+   * point for the other scenarios, which typically reduces the iterations needed when the scenarios are close.
+   */
+  @PropertyDefinition
+  private final boolean warmStartScenarios;
+
   //-------------------------------------------------------------------------
   /**
    * Returns standard root finder configuration, using the {@code DEFAULT} constants from this class.
@@ -101,13 +120,17 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
   private RootFinderConfig(
       double absoluteTolerance,
       double relativeTolerance,
-      int maximumSteps) {
+      int maximumSteps,
+      boolean parallelScenarios,
+      boolean warmStartScenarios) {
     ArgChecker.notNegativeOrZero(absoluteTolerance, "absoluteTolerance");
     ArgChecker.notNegativeOrZero(relativeTolerance, "relativeTolerance");
     ArgChecker.notNegativeOrZero(maximumSteps, "maximumSteps");
     this.absoluteTolerance = absoluteTolerance;
     this.relativeTolerance = relativeTolerance;
     this.maximumSteps = maximumSteps;
+    this.parallelScenarios = parallelScenarios;
+    this.warmStartScenarios = warmStartScenarios;
   }
 
   @Override
@@ -142,6 +165,31 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
     return maximumSteps;
   }
 
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the scenarios should be calibrated in parallel, default false.
+   * <p>
+   * When market data is built for multiple scenarios, a curve group is calibrated for each scenario.
+   * If this flag is set, the scenarios are calibrated in parallel using the common fork-join pool.
+   * @return the value of the property
+   */
+  public boolean isParallelScenarios() {
+    return parallelScenarios;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether each scenario is calibrated starting from the solution of the first scenario, default false.
+   * <p>
+   * When market data is built for multiple scenarios, a curve group is calibrated for each scenario.
+   * If this flag is set, the first scenario is calibrated first and its curves are used as the starting
+   * point for the other scenarios, which typically reduces the iterations needed when the scenarios are close.
+   * @return the value of the property
+   */
+  public boolean isWarmStartScenarios() {
+    return warmStartScenarios;
+  }
+
   //-----------------------------------------------------------------------
   /**
    * Returns a builder that allows this bean to be mutated.
@@ -160,7 +208,9 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       RootFinderConfig other = (RootFinderConfig) obj;
       return JodaBeanUtils.equal(absoluteTolerance, other.absoluteTolerance) &&
           JodaBeanUtils.equal(relativeTolerance, other.relativeTolerance) &&
-          (maximumSteps == other.maximumSteps);
+          (maximumSteps == other.maximumSteps) &&
+          (parallelScenarios == other.parallelScenarios) &&
+          (warmStartScenarios == other.warmStartScenarios);
     }
     return false;
   }
@@ -171,16 +221,20 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
     hash = hash * 31 + JodaBeanUtils.hashCode(absoluteTolerance);
     hash = hash * 31 + JodaBeanUtils.hashCode(relativeTolerance);
     hash = hash * 31 + JodaBeanUtils.hashCode(maximumSteps);
+    hash = hash * 31 + JodaBeanUtils.hashCode(parallelScenarios);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStartScenarios);
     return hash;
   }
 
   @Override
   public String toString() {
-    StringBuilder buf = new StringBuilder(128);
+    StringBuilder buf = new StringBuilder(192);
     buf.append("RootFinderConfig{");
     buf.append("absoluteTolerance").append('=').append(JodaBeanUtils.toString(absoluteTolerance)).append(',').append(' ');
     buf.append("relativeTolerance").append('=').append(JodaBeanUtils.toString(relativeTolerance)).append(',').append(' ');
-    buf.append("maximumSteps").append('=').append(JodaBeanUtils.toString(maximumSteps));
+    buf.append("maximumSteps").append('=').append(JodaBeanUtils.toString(maximumSteps)).append(',').append(' ');
+    buf.append("parallelScenarios").append('=').append(JodaBeanUtils.toString(parallelScenarios)).append(',').append(' ');
+    buf.append("warmStartScenarios").append('=').append(JodaBeanUtils.toString(warmStartScenarios));
     buf.append('}');
     return buf.toString();
   }
@@ -210,6 +264,16 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
      */
     private final MetaProperty<Integer> maximumSteps = DirectMetaProperty.ofImmutable(
         this, "maximumSteps", RootFinderConfig.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code parallelScenarios} property.
+     */
+    private final MetaProperty<Boolean> parallelScenarios = DirectMetaProperty.ofImmutable(
+        this, "parallelScenarios", RootFinderConfig.class, Boolean.TYPE);
+    /**
+     * The meta-property for the {@code warmStartScenarios} property.
+     */
+    private final MetaProperty<Boolean> warmStartScenarios = DirectMetaProperty.ofImmutable(
+        this, "warmStartScenarios", RootFinderConfig.class, Boolean.TYPE);
     /**
      * The meta-properties.
      */
@@ -217,7 +281,9 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
         this, null,
         "absoluteTolerance",
         "relativeTolerance",
-        "maximumSteps");
+        "maximumSteps",
+        "parallelScenarios",
+        "warmStartScenarios");
 
     /**
      * Restricted constructor.
@@ -234,6 +300,10 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
           return relativeTolerance;
         case 715849959:  // maximumSteps
           return maximumSteps;
+        case -450967396:  // parallelScenarios
+          return parallelScenarios;
+        case -1147192698:  // warmStartScenarios
+          return warmStartScenarios;
       }
       return super.metaPropertyGet(propertyName);
     }
@@ -278,6 +348,22 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       return maximumSteps;
     }
 
+    /**
+     * The meta-property for the {@code parallelScenarios} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> parallelScenarios() {
+      return parallelScenarios;
+    }
+
+    /**
+     * The meta-property for the {@code warmStartScenarios} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> warmStartScenarios() {
+      return warmStartScenarios;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
@@ -288,6 +374,10 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
           return ((RootFinderConfig) bean).getRelativeTolerance();
         case 715849959:  // maximumSteps
           return ((RootFinderConfig) bean).getMaximumSteps();
+        case -450967396:  // parallelScenarios
+          return ((RootFinderConfig) bean).isParallelScenarios();
+        case -1147192698:  // warmStartScenarios
+          return ((RootFinderConfig) bean).isWarmStartScenarios();
       }
       return super.propertyGet(bean, propertyName, quiet);
     }
@@ -312,6 +402,8 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
     private double absoluteTolerance;
     private double relativeTolerance;
     private int maximumSteps;
+    private boolean parallelScenarios;
+    private boolean warmStartScenarios;
 
     /**
      * Restricted constructor.
@@ -328,6 +420,8 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       this.absoluteTolerance = beanToCopy.getAbsoluteTolerance();
       this.relativeTolerance = beanToCopy.getRelativeTolerance();
       this.maximumSteps = beanToCopy.getMaximumSteps();
+      this.parallelScenarios = beanToCopy.isParallelScenarios();
+      this.warmStartScenarios = beanToCopy.isWarmStartScenarios();
     }
 
     //-----------------------------------------------------------------------
@@ -340,6 +434,10 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
           return relativeTolerance;
         case 715849959:  // maximumSteps
           return maximumSteps;
+        case -450967396:  // parallelScenarios
+          return parallelScenarios;
+        case -1147192698:  // warmStartScenarios
+          return warmStartScenarios;
         default:
           throw new NoSuchElementException("Unknown property: " + propertyName);
       }
@@ -357,6 +455,12 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
         case 715849959:  // maximumSteps
           this.maximumSteps = (Integer) newValue;
           break;
+        case -450967396:  // parallelScenarios
+          this.parallelScenarios = (Boolean) newValue;
+          break;
+        case -1147192698:  // warmStartScenarios
+          this.warmStartScenarios = (Boolean) newValue;
+          break;
         default:
           throw new NoSuchElementException("Unknown property: " + propertyName);
       }
@@ -374,7 +478,9 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       return new RootFinderConfig(
           absoluteTolerance,
           relativeTolerance,
-          maximumSteps);
+          maximumSteps,
+          parallelScenarios,
+          warmStartScenarios);
     }
 
     //-----------------------------------------------------------------------
@@ -411,14 +517,43 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       return this;
     }
 
+    /**
+     * Sets whether the scenarios should be calibrated in parallel, default false.
+     * <p>
+     * When market data is built for multiple scenarios, a curve group is calibrated for each scenario.
+     * If this flag is set, the scenarios are calibrated in parallel using the common fork-join pool.
+     * @param parallelScenarios  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder parallelScenarios(boolean parallelScenarios) {
+      this.parallelScenarios = parallelScenarios;
+      return this;
+    }
+
+    /**
+     * Sets whether each scenario is calibrated starting from the solution of the first scenario, default false.
+     * <p>
+     * When market data is built for multiple scenarios, a curve group is calibrated for each scenario.
+     * If this flag is set, the first scenario is calibrated first and its curves are used as the starting
+     * point for the other scenarios, which typically reduces the iterations needed when the scenarios are close.
+     * @param warmStartScenarios  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder warmStartScenarios(boolean warmStartScenarios) {
+      this.warmStartScenarios = warmStartScenarios;
+      return this;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public String toString() {
-      StringBuilder buf = new StringBuilder(128);
+      StringBuilder buf = new StringBuilder(192);
       buf.append("RootFinderConfig.Builder{");
       buf.append("absoluteTolerance").append('=').append(JodaBeanUtils.toString(absoluteTolerance)).append(',').append(' ');
       buf.append("relativeTolerance").append('=').append(JodaBeanUtils.toString(relativeTolerance)).append(',').append(' ');
-      buf.append("maximumSteps").append('=').append(JodaBeanUtils.toString(maximumSteps));
+      buf.append("maximumSteps").append('=').append(JodaBeanUtils.toString(maximumSteps)).append(',').append(' ');
+      buf.append("parallelScenarios").append('=').append(JodaBeanUtils.toString(parallelScenarios)).append(',').append(' ');
+      buf.append("warmStartScenarios").append('=').append(JodaBeanUtils.toString(warmStartScenarios));
       buf.append('}');
       return buf.toString();
     }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.measure.dsf;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -17,6 +18,7 @@ import com.opengamma.strata.basics.Resolvable;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.runner.CalculationCache;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
@@ -68,7 +70,12 @@ import com.opengamma.strata.product.dsf.ResolvedDsfTrade;
  * @param <T> the trade or position type
  */
 public class DsfTradeCalculationFunction<T extends SecuritizedProductPortfolioItem<Dsf> & Resolvable<ResolvedDsfTrade>>
-    implements CalculationFunction<T> {
+    implements CalculationFunction<T>, Serializable {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
 
   /**
    * The trade instance
@@ -167,7 +174,7 @@ public class DsfTradeCalculationFunction<T extends SecuritizedProductPortfolioIt
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedDsfTrade resolved = target.resolve(refData);
+    ResolvedDsfTrade resolved = CalculationCache.resolve(target, parameters, refData);
 
     // use lookup to query market data
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
@@ -11,8 +11,10 @@ import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import java.io.Serializable;
 import java.lang.invoke.MethodHandles;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.joda.beans.ImmutableBean;
 import org.joda.beans.JodaBeanUtils;
@@ -23,6 +25,7 @@ import org.joda.beans.gen.ImmutableValidator;
 import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.light.LightMetaBean;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
@@ -77,6 +80,12 @@ final class DefaultRatesMarketDataLookup
    */
   @PropertyDefinition(validate = "notNull", alias = "fxLookup", overrideGet = true)
   private final FxRateLookup fxRateLookup;
+  /**
+   * The requirements created so far, keyed by the currencies and indices they were created for.
+   * Targets with the same currencies and indices, as is typical in a large portfolio, share the requirements.
+   */
+  private final transient ConcurrentHashMap<List<Set<?>>, FunctionRequirements> requirementsCache =
+      new ConcurrentHashMap<>();  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -101,6 +110,11 @@ final class DefaultRatesMarketDataLookup
     return new DefaultRatesMarketDataLookup(discountCurveIds, forwardCurveIds, obsSource, fxLookup);
   }
 
+  // deserialize transient
+  private Object readResolve() {
+    return new DefaultRatesMarketDataLookup(discountCurves, forwardCurves, observableSource, fxRateLookup);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ImmutableSet<Currency> getDiscountCurrencies() {
@@ -133,6 +147,17 @@ final class DefaultRatesMarketDataLookup
   //-------------------------------------------------------------------------
   @Override
   public FunctionRequirements requirements(Set<Currency> currencies, Set<? extends Index> indices) {
+    // the requirements are only created once for each combination of currencies and indices
+    List<Set<?>> key = ImmutableList.of(ImmutableSet.copyOf(currencies), ImmutableSet.copyOf(indices));
+    FunctionRequirements cached = requirementsCache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    return requirementsCache.computeIfAbsent(key, k -> createRequirements(currencies, indices));
+  }
+
+  // creates the requirements, throwing an exception if a curve is not found
+  private FunctionRequirements createRequirements(Set<Currency> currencies, Set<? extends Index> indices) {
     for (Currency currency : currencies) {
       if (!discountCurves.keySet().contains(currency)) {
         throw new IllegalArgumentException(msgCurrencyNotFound(currency));
@@ -11,8 +11,10 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.marketdata.MarketDataConfig;
 import com.opengamma.strata.calc.marketdata.MarketDataFunction;
@@ -37,6 +39,7 @@ import com.opengamma.strata.market.curve.RatesCurveInputsId;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.measure.curve.RootFinderConfig;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrationTemplate;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 
@@ -44,6 +47,9 @@ import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
  * Market data function that builds a curve group.
  * <p>
  * This function calibrates curves, turning a {@link RatesCurveGroupDefinition} into a {@link RatesCurveGroup}.
+ * <p>
+ * When there are multiple scenarios, each scenario is calibrated using a {@link RatesCurveCalibrationTemplate}
+ * for its valuation date, thus the trades of the curve nodes are not resolved again for every scenario.
  */
 public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<RatesCurveGroup, RatesCurveGroupId> {
 
@@ -114,7 +120,8 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     // calibrate
     CurveGroupName groupName = id.getCurveGroupName();
     RatesCurveGroupDefinition configuredDefn = marketDataConfig.get(RatesCurveGroupDefinition.class, groupName);
-    return buildCurveGroup(configuredDefn, calibrator, marketData, refData, id.getObservableSource());
+    return buildCurveGroup(
+        configuredDefn, calibrator, marketData, refData, id.getObservableSource(), rfc);
   }
 
   @Override
@@ -140,6 +147,28 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       ReferenceData refData,
       ObservableSource obsSource) {
 
+    return buildCurveGroup(configuredGroup, calibrator, marketData, refData, obsSource, RootFinderConfig.standard());
+  }
+
+  /**
+   * Builds a curve group given the configuration for the group and a set of market data.
+   *
+   * @param configuredGroup  the definition of the curve group
+   * @param calibrator  the calibrator
+   * @param marketData  the market data containing any values required to build the curve group
+   * @param refData  the reference data, used for resolving trades
+   * @param obsSource  the source of observable market data
+   * @param rootFinderConfig  the root finder configuration, controlling how multiple scenarios are calibrated
+   * @return a result containing the curve group or details of why it couldn't be built
+   */
+  MarketDataBox<RatesCurveGroup> buildCurveGroup(
+      RatesCurveGroupDefinition configuredGroup,
+      RatesCurveCalibrator calibrator,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ObservableSource obsSource,
+      RootFinderConfig rootFinderConfig) {
+
     // find and combine all the input data
     CurveGroupName groupName = configuredGroup.getName();
 
@@ -154,7 +183,8 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     Map<ObservableId, LocalDateDoubleTimeSeries> fixings = extractFixings(marketData);
 
     return multipleValues || multipleValuationDates ?
-        buildMultipleCurveGroups(configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData) :
+        buildMultipleCurveGroups(
+            configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData, rootFinderConfig) :
         buildSingleCurveGroup(configuredGroup, calibrator, valuationDates.getSingleValue(), inputBoxes, fixings, refData);
   }
 
@@ -174,19 +204,42 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       MarketDataBox<LocalDate> valuationDateBox,
       List<MarketDataBox<RatesCurveInputs>> inputBoxes,
       Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
-      ReferenceData refData) {
+      ReferenceData refData,
+      RootFinderConfig rootFinderConfig) {
 
     int scenarioCount = scenarioCount(valuationDateBox, inputBoxes);
-    ImmutableList.Builder<RatesCurveGroup> builder = ImmutableList.builder();
 
+    // the filtered group and the trades of its nodes only depend on the valuation date,
+    // which is normally the same in every scenario, thus one template is used for each date
+    Map<LocalDate, RatesCurveCalibrationTemplate> templates = new HashMap<>();
     for (int i = 0; i < scenarioCount; i++) {
-      LocalDate valuationDate = valuationDateBox.getValue(i);
-      RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
-      List<RatesCurveInputs> curveInputsList = inputsForScenario(inputBoxes, i);
-      MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
-      builder.add(buildGroup(filteredGroup, calibrator, inputs, refData));
+      templates.computeIfAbsent(
+          valuationDateBox.getValue(i),
+          date -> calibrator.template(configuredGroup.filtered(date, refData), date, refData));
     }
-    ImmutableList<RatesCurveGroup> curveGroups = builder.build();
+    ImmutableMap<LocalDate, RatesCurveCalibrationTemplate> templatesByDate = ImmutableMap.copyOf(templates);
+
+    IntFunction<RatesCurveCalibrationTemplate> scenarioTemplates =
+        i -> templatesByDate.get(valuationDateBox.getValue(i));
+    IntFunction<MarketData> scenarioInputs =
+        i -> inputsByKey(valuationDateBox.getValue(i), inputsForScenario(inputBoxes, i), fixings);
+
+    // the first scenario is calibrated first if the other scenarios are to start from its solution
+    IntFunction<RatesCurveGroup> scenarioCalibrator;
+    if (rootFinderConfig.isWarmStartScenarios()) {
+      RatesCurveGroup seed = buildGroup(scenarioTemplates.apply(0), scenarioInputs.apply(0));
+      scenarioCalibrator = i -> i == 0 ?
+          seed :
+          buildGroup(scenarioTemplates.apply(i), scenarioInputs.apply(i), seed);
+    } else {
+      scenarioCalibrator = i -> buildGroup(scenarioTemplates.apply(i), scenarioInputs.apply(i));
+    }
+
+    // each scenario is calibrated independently, thus they can be calibrated in parallel
+    IntStream scenarios = IntStream.range(0, scenarioCount);
+    List<RatesCurveGroup> curveGroups = (rootFinderConfig.isParallelScenarios() ? scenarios.parallel() : scenarios)
+        .mapToObj(scenarioCalibrator)
+        .collect(toImmutableList());
     return MarketDataBox.ofScenarioValues(curveGroups);
   }
 
@@ -267,6 +320,28 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
         calibratedProvider.getIndexCurves());
   }
 
+  // calibrates using the template of the valuation date
+  private RatesCurveGroup buildGroup(RatesCurveCalibrationTemplate template, MarketData marketData) {
+    ImmutableRatesProvider calibratedProvider = template.calibrate(marketData);
+    return RatesCurveGroup.of(
+        template.getCurveGroupDefinition().getName(),
+        calibratedProvider.getDiscountCurves(),
+        calibratedProvider.getIndexCurves());
+  }
+
+  // calibrates using the template of the valuation date, starting from the curves of a previously calibrated group
+  private RatesCurveGroup buildGroup(
+      RatesCurveCalibrationTemplate template,
+      MarketData marketData,
+      RatesCurveGroup seed) {
+
+    ImmutableRatesProvider calibratedProvider = template.calibrate(marketData, seed);
+    return RatesCurveGroup.of(
+        template.getCurveGroupDefinition().getName(),
+        calibratedProvider.getDiscountCurves(),
+        calibratedProvider.getIndexCurves());
+  }
+
   private static int scenarioCount(
       MarketDataBox<LocalDate> valuationDate,
       List<MarketDataBox<RatesCurveInputs>> curveInputBoxes) {
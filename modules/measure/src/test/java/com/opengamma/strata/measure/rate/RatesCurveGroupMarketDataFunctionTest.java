@@ -62,6 +62,7 @@ import com.opengamma.strata.market.curve.node.FxSwapCurveNode;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.measure.curve.RootFinderConfig;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
@@ -187,6 +188,110 @@ public class RatesCurveGroupMarketDataFunctionTest {
     checkSwapPvIsZero((FixedIborSwapCurveNode) nodes.get(4), ratesProvider, marketData);
   }
 
+  /**
+   * Test that calibrating the scenarios in parallel gives the same curves as calibrating them sequentially.
+   */
+  @Test
+  public void parallelScenarios() {
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraSwapCurveDefinition();
+    CurveName curveName = curveDefn.getName();
+    List<CurveNode> nodes = curveDefn.getNodes();
+
+    RatesCurveGroupDefinition groupDefn = RatesCurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+
+    ImmutableList.Builder<RatesCurveInputs> scenarioInputs = ImmutableList.builder();
+    for (int i = 0; i < 4; i++) {
+      double shift = i * 0.0001;
+      Map<MarketDataId<?>, Double> inputData = ImmutableMap.<MarketDataId<?>, Double>builder()
+          .put(CurveTestUtils.key(nodes.get(0)), 0.0037 + shift)
+          .put(CurveTestUtils.key(nodes.get(1)), 0.0054 + shift)
+          .put(CurveTestUtils.key(nodes.get(2)), 0.005 + shift)
+          .put(CurveTestUtils.key(nodes.get(3)), 0.0087 + shift)
+          .put(CurveTestUtils.key(nodes.get(4)), 0.012 + shift)
+          .build();
+      scenarioInputs.add(RatesCurveInputs.of(inputData, DefaultCurveMetadata.of(curveName)));
+    }
+    ScenarioMarketData inputMarketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addScenarioValue(RatesCurveInputsId.of(groupName, curveName, ObservableSource.NONE), scenarioInputs.build())
+        .build();
+
+    RatesCurveGroupMarketDataFunction function = new RatesCurveGroupMarketDataFunction();
+    RootFinderConfig parallelConfig = RootFinderConfig.builder().parallelScenarios(true).build();
+    MarketDataBox<RatesCurveGroup> sequential =
+        function.buildCurveGroup(groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE);
+    MarketDataBox<RatesCurveGroup> parallel = function.buildCurveGroup(
+        groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE, parallelConfig);
+    assertThat(parallel.getScenarioCount()).isEqualTo(4);
+    assertThat(parallel).isEqualTo(sequential);
+
+    // starting from the first scenario gives the same curves, within the tolerance of the root finder
+    RootFinderConfig warmStartConfig = parallelConfig.toBuilder().warmStartScenarios(true).build();
+    MarketDataBox<RatesCurveGroup> warmStart = function.buildCurveGroup(
+        groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE, warmStartConfig);
+    assertThat(warmStart.getScenarioCount()).isEqualTo(4);
+    for (int i = 0; i < 4; i++) {
+      Curve expected = sequential.getValue(i).findDiscountCurve(Currency.USD).get();
+      Curve actual = warmStart.getValue(i).findDiscountCurve(Currency.USD).get();
+      assertThat(actual.getParameterCount()).isEqualTo(expected.getParameterCount());
+      for (int j = 0; j < expected.getParameterCount(); j++) {
+        assertThat(actual.getParameter(j)).isCloseTo(expected.getParameter(j), offset(1e-8));
+      }
+    }
+  }
+
+  /**
+   * Test that calibrating the scenarios using a template gives the same curves as calibrating each scenario.
+   */
+  @Test
+  public void scenariosMatchCalibration() {
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraSwapCurveDefinition();
+    CurveName curveName = curveDefn.getName();
+    List<CurveNode> nodes = curveDefn.getNodes();
+
+    RatesCurveGroupDefinition groupDefn = RatesCurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+
+    // the first two scenarios have the same quotes for the FRAs, the swaps differ in every scenario
+    LocalDate valuationDate = date(2011, 3, 8);
+    ImmutableList.Builder<RatesCurveInputs> scenarioInputs = ImmutableList.builder();
+    ImmutableList.Builder<MarketData> scenarioMarketData = ImmutableList.builder();
+    for (int i = 0; i < 3; i++) {
+      double fraShift = i < 2 ? 0 : 0.0002;
+      double swapShift = i * 0.0001;
+      Map<MarketDataId<?>, Double> inputData = ImmutableMap.<MarketDataId<?>, Double>builder()
+          .put(CurveTestUtils.key(nodes.get(0)), 0.0037 + fraShift)
+          .put(CurveTestUtils.key(nodes.get(1)), 0.0054 + fraShift)
+          .put(CurveTestUtils.key(nodes.get(2)), 0.005 + swapShift)
+          .put(CurveTestUtils.key(nodes.get(3)), 0.0087 + swapShift)
+          .put(CurveTestUtils.key(nodes.get(4)), 0.012 + swapShift)
+          .build();
+      scenarioInputs.add(RatesCurveInputs.of(inputData, DefaultCurveMetadata.of(curveName)));
+      scenarioMarketData.add(ImmutableMarketData.of(valuationDate, inputData));
+    }
+    ScenarioMarketData inputMarketData = ImmutableScenarioMarketData.builder(valuationDate)
+        .addScenarioValue(RatesCurveInputsId.of(groupName, curveName, ObservableSource.NONE), scenarioInputs.build())
+        .build();
+
+    RatesCurveGroupMarketDataFunction function = new RatesCurveGroupMarketDataFunction();
+    MarketDataBox<RatesCurveGroup> curveGroups =
+        function.buildCurveGroup(groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE);
+    assertThat(curveGroups.getScenarioCount()).isEqualTo(3);
+    RatesCurveGroupDefinition filteredDefn = groupDefn.filtered(valuationDate, REF_DATA);
+    List<MarketData> marketData = scenarioMarketData.build();
+    for (int i = 0; i < 3; i++) {
+      RatesProvider expected = CALIBRATOR.calibrate(filteredDefn, marketData.get(i), REF_DATA);
+      assertThat(curveGroups.getValue(i).findDiscountCurve(Currency.USD))
+          .isEqualTo(expected.findData(curveName));
+    }
+  }
+
   /**
    * Tests that par rates and ibor index are required for curves.
    */
@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.mockito.Mockito.mock;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -123,6 +124,22 @@ public class RatesMarketDataLookupTest {
         .isEqualTo(DefaultLookupRatesProvider.of((DefaultRatesMarketDataLookup) test, MOCK_MARKET_DATA));
   }
 
+  @Test
+  public void test_requirements_cached() {
+    ImmutableMap<Currency, CurveId> discounts = ImmutableMap.of(USD, CURVE_ID_DSC);
+    ImmutableMap<Index, CurveId> forwards = ImmutableMap.of(USD_LIBOR_3M, CURVE_ID_FWD);
+    RatesMarketDataLookup test = RatesMarketDataLookup.of(discounts, forwards);
+    FunctionRequirements requirements = test.requirements(ImmutableSet.of(USD), ImmutableSet.of(USD_LIBOR_3M));
+    assertThat(test.requirements(new HashSet<>(ImmutableSet.of(USD)), new HashSet<>(ImmutableSet.of(USD_LIBOR_3M))))
+        .isSameAs(requirements);
+    assertThat(test.requirements(ImmutableSet.of(USD), ImmutableSet.of())).isNotEqualTo(requirements);
+    // failures are not cached
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.requirements(ImmutableSet.of(USD), ImmutableSet.of(GBP_LIBOR_3M)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.requirements(ImmutableSet.of(USD), ImmutableSet.of(GBP_LIBOR_3M)));
+  }
+
   @Test
   public void test_of_groupNameAndMap() {
     ImmutableMap<Currency, CurveName> discounts = ImmutableMap.of(USD, CURVE_ID_DSC.getCurveName());
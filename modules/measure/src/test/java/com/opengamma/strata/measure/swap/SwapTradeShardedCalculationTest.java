@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.calc.runner.ShardedCalculationTaskRunner;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Test {@link SwapTradeCalculationFunction} using worker processes launched on the local machine.
+ */
+public class SwapTradeShardedCalculationTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final SwapTrade TRADE = SwapTradeCalculationFunctionTest.TRADE;
+  private static final LocalDate VAL_DATE = TRADE.getProduct().getStartDate().getUnadjusted().minusDays(7);
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PAR_RATE),
+      Column.of(Measures.PV01_CALIBRATED_SUM));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void calculate() {
+    CalculationRules rules = CalculationRules.of(
+        StandardComponents.calculationFunctions(), SwapTradeCalculationFunctionTest.RATES_LOOKUP);
+    CalculationTasks tasks = CalculationTasks.of(rules, ImmutableList.of(TRADE, TRADE), COLUMNS, REF_DATA);
+    MarketData marketData = marketData();
+
+    Results expected = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())
+        .calculate(tasks, marketData, REF_DATA);
+    try (ShardedCalculationTaskRunner runner = ShardedCalculationTaskRunner.ofLocalWorkers(2)) {
+      Results results = runner.calculate(tasks, marketData, REF_DATA);
+      assertThat(runner.getWorkerCount()).isEqualTo(2);
+      for (int i = 0; i < results.getRowCount(); i++) {
+        for (int j = 0; j < results.getColumnCount(); j++) {
+          assertThat(results.get(i, j).isSuccess()).isTrue();
+        }
+      }
+      assertThat(results).isEqualTo(expected);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static MarketData marketData() {
+    Curve curve = ConstantCurve.of(Curves.discountFactors("Test", ACT_360), 0.99);
+    return ImmutableMarketData.builder(VAL_DATE)
+        .addValue(CurveId.of("Default", "Discount"), curve)
+        .addValue(CurveId.of("Default", "Forward"), curve)
+        .build();
+  }
+
+}
@@ -23,6 +23,7 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.metrics.Metrics;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.curve.CurveInfoType;
@@ -227,15 +228,23 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       diag[i][i] = temp[2];
     }
     ImmutableList<ResolvedCdsTrade> trades = tradesBuilder.build();
-    NodalCurve nodalCurve = calibrate(
-        trades,
-        DoubleArray.ofUnsafe(coupons),
-        DoubleArray.ofUnsafe(pufs),
-        name,
-        valuationDate,
-        discountFactors,
-        recoveryRates,
-        refData);
+    long start = Metrics.startTime();
+    NodalCurve nodalCurve;
+    try {
+      nodalCurve = calibrate(
+          trades,
+          DoubleArray.ofUnsafe(coupons),
+          DoubleArray.ofUnsafe(pufs),
+          name,
+          valuationDate,
+          discountFactors,
+          recoveryRates,
+          refData);
+    } catch (RuntimeException ex) {
+      Metrics.recordTime("CreditCurveCalibration", name, start, false);
+      throw ex;
+    }
+    Metrics.recordTime("CreditCurveCalibration", name, start, true);
 
     if (computeJacobian) {
       LegalEntitySurvivalProbabilities creditCurve = LegalEntitySurvivalProbabilities.of(
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Inverts a square matrix that can be permuted to block lower-triangular form.
+ * <p>
+ * The matrix is divided into square blocks along the diagonal, typically one block for each curve,
+ * where the rows are the trades of the curve and the columns are the parameters of the curve.
+ * Block {@code i} depends on block {@code j} if the submatrix of rows {@code i} and columns {@code j}
+ * is not entirely zero. The blocks are grouped into the strongly connected components of the dependencies,
+ * which are ordered such that each group only depends on itself and earlier groups.
+ * <p>
+ * The inverse is then built group by group. Only the diagonal groups are inverted,
+ * the other parts of the inverse are obtained by forward substitution, skipping groups that are unrelated.
+ * If every block depends on every other, the matrix is inverted as a whole.
+ * <p>
+ * In a curve group, deposits only depend on the front of the discount curve, and forward curves depend on
+ * the discount curve but not on each other. In such cases, inverting the diagonal groups is much
+ * cheaper than inverting the whole matrix.
+ */
+final class BlockTriangularInverter {
+
+  /**
+   * The matrix algebra used for matrix inversion.
+   */
+  private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+
+  /**
+   * Restricted constructor.
+   */
+  private BlockTriangularInverter() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Inverts the matrix.
+   *
+   * @param matrix  the square matrix to invert
+   * @param blockSizes  the sizes of the diagonal blocks, which must sum to the size of the matrix
+   * @return the inverse
+   */
+  static DoubleMatrix inverse(DoubleMatrix matrix, int[] blockSizes) {
+    int size = matrix.rowCount();
+    ArgChecker.isTrue(matrix.isSquare(), "Matrix must be square");
+    ArgChecker.isTrue(Arrays.stream(blockSizes).sum() == size, "Block sizes must match the size of the matrix");
+    int[] blockStarts = new int[blockSizes.length];
+    for (int i = 1; i < blockSizes.length; i++) {
+      blockStarts[i] = blockStarts[i - 1] + blockSizes[i - 1];
+    }
+    // find the dependencies between the blocks, and group the blocks that depend on each other
+    boolean[][] blockDependencies = new boolean[blockSizes.length][blockSizes.length];
+    for (int i = 0; i < blockSizes.length; i++) {
+      for (int j = 0; j < blockSizes.length; j++) {
+        blockDependencies[i][j] = !isZero(matrix, blockStarts[i], blockSizes[i], blockStarts[j], blockSizes[j]);
+      }
+    }
+    List<int[]> groups = new StronglyConnectedGroups(blockDependencies).groups;
+    if (groups.size() == 1) {
+      return MATRIX_ALGEBRA.getInverse(matrix);
+    }
+
+    // the matrix indices of each group
+    int groupCount = groups.size();
+    int[][] indices = new int[groupCount][];
+    for (int g = 0; g < groupCount; g++) {
+      indices[g] = Arrays.stream(groups.get(g))
+          .flatMap(block -> Arrays.stream(range(blockStarts[block], blockSizes[block])))
+          .toArray();
+    }
+    boolean[][] groupDependencies = new boolean[groupCount][groupCount];
+    for (int i = 0; i < groupCount; i++) {
+      for (int j = 0; j < groupCount; j++) {
+        for (int blockI : groups.get(i)) {
+          for (int blockJ : groups.get(j)) {
+            groupDependencies[i][j] |= blockDependencies[blockI][blockJ];
+          }
+        }
+      }
+    }
+
+    // forward substitution, where the inverse X of the matrix A has X(i, i) = inv(A(i, i))
+    // and X(i, j) = -X(i, i) * sum(A(i, k) * X(k, j)) for j <= k < i, with X(i, j) = 0 for j > i
+    double[][][][] inverse = new double[groupCount][groupCount][][];
+    double[][] result = new double[size][size];
+    for (int i = 0; i < groupCount; i++) {
+      double[][] diagonalInverse = MATRIX_ALGEBRA.getInverse(subMatrix(matrix, indices[i], indices[i])).toArrayUnsafe();
+      inverse[i][i] = diagonalInverse;
+      for (int j = 0; j < i; j++) {
+        double[][] sum = new double[indices[i].length][indices[j].length];
+        boolean nonZero = false;
+        for (int k = j; k < i; k++) {
+          if (groupDependencies[i][k] && inverse[k][j] != null) {
+            multiplyAdd(subMatrix(matrix, indices[i], indices[k]).toArrayUnsafe(), inverse[k][j], sum);
+            nonZero = true;
+          }
+        }
+        if (nonZero) {
+          double[][] offDiagonal = new double[indices[i].length][indices[j].length];
+          multiplyAdd(diagonalInverse, sum, offDiagonal);
+          for (double[] row : offDiagonal) {
+            for (int c = 0; c < row.length; c++) {
+              row[c] = -row[c];
+            }
+          }
+          inverse[i][j] = offDiagonal;
+        }
+      }
+      // copy the inverse of this group into the result
+      for (int j = 0; j <= i; j++) {
+        if (inverse[i][j] != null) {
+          for (int r = 0; r < indices[i].length; r++) {
+            for (int c = 0; c < indices[j].length; c++) {
+              result[indices[i][r]][indices[j][c]] = inverse[i][j][r][c];
+            }
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  // checks if a block of the matrix is entirely zero
+  private static boolean isZero(DoubleMatrix matrix, int rowStart, int rowCount, int columnStart, int columnCount) {
+    for (int r = rowStart; r < rowStart + rowCount; r++) {
+      for (int c = columnStart; c < columnStart + columnCount; c++) {
+        if (matrix.get(r, c) != 0d) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  // the indices from the start, inclusive, of the specified size
+  private static int[] range(int start, int count) {
+    int[] range = new int[count];
+    for (int i = 0; i < count; i++) {
+      range[i] = start + i;
+    }
+    return range;
+  }
+
+  // extracts the submatrix of the specified rows and columns
+  private static DoubleMatrix subMatrix(DoubleMatrix matrix, int[] rows, int[] columns) {
+    return DoubleMatrix.of(rows.length, columns.length, (r, c) -> matrix.get(rows[r], columns[c]));
+  }
+
+  // adds the product of the two matrices to the result
+  private static void multiplyAdd(double[][] left, double[][] right, double[][] result) {
+    for (int r = 0; r < left.length; r++) {
+      for (int k = 0; k < right.length; k++) {
+        double value = left[r][k];
+        if (value != 0d) {
+          for (int c = 0; c < result[r].length; c++) {
+            result[r][c] += value * right[k][c];
+          }
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the strongly connected groups of blocks using Tarjan's algorithm.
+   * <p>
+   * The groups are found in an order where each group only depends on itself and earlier groups.
+   */
+  private static final class StronglyConnectedGroups {
+
+    private final boolean[][] dependencies;
+    private final int[] index;
+    private final int[] lowLink;
+    private final boolean[] onStack;
+    private final Deque<Integer> stack = new ArrayDeque<>();
+    private final List<int[]> groups = new ArrayList<>();
+    private int nextIndex;
+
+    private StronglyConnectedGroups(boolean[][] dependencies) {
+      this.dependencies = dependencies;
+      this.index = new int[dependencies.length];
+      this.lowLink = new int[dependencies.length];
+      this.onStack = new boolean[dependencies.length];
+      Arrays.fill(index, -1);
+      for (int block = 0; block < dependencies.length; block++) {
+        if (index[block] < 0) {
+          visit(block);
+        }
+      }
+    }
+
+    // the recursion depth is bounded by the number of blocks, which is small
+    private void visit(int block) {
+      index[block] = nextIndex;
+      lowLink[block] = nextIndex;
+      nextIndex++;
+      stack.push(block);
+      onStack[block] = true;
+      for (int other = 0; other < dependencies.length; other++) {
+        if (other != block && dependencies[block][other]) {
+          if (index[other] < 0) {
+            visit(other);
+            lowLink[block] = Math.min(lowLink[block], lowLink[other]);
+          } else if (onStack[other]) {
+            lowLink[block] = Math.min(lowLink[block], index[other]);
+          }
+        }
+      }
+      if (lowLink[block] == index[block]) {
+        // a group is complete once all the groups it depends on have been found
+        List<Integer> group = new ArrayList<>();
+        int member;
+        do {
+          member = stack.pop();
+          onStack[member] = false;
+          group.add(member);
+        } while (member != block);
+        groups.add(group.stream().mapToInt(Integer::intValue).sorted().toArray());
+      }
+    }
+  }
+
+}
@@ -6,12 +6,16 @@
 package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.ResolvedTrade;
 
 /**
@@ -20,6 +24,9 @@ import com.opengamma.strata.product.ResolvedTrade;
  * This provides the value sensitivity from the specified {@link CalibrationMeasures}
  * instance in matrix form suitable for use in curve calibration root finding.
  * The value will typically be par spread or converted present value.
+ * <p>
+ * If a pool is specified, the rows of the matrix are calculated in parallel using the pool.
+ * Each row is calculated independently, thus the result is identical to that calculated serially.
  */
 class CalibrationDerivative
     implements Function<DoubleArray, DoubleMatrix> {
@@ -41,6 +48,10 @@ class CalibrationDerivative
    * The expected number of parameters for each curve is also provided.
    */
   private final List<CurveParameterSize> curveOrder;
+  /**
+   * The pool used to calculate the derivative of each trade in parallel, null to calculate serially.
+   */
+  private final ForkJoinPool pool;
 
   /**
    * Creates an instance.
@@ -49,17 +60,20 @@ class CalibrationDerivative
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
    * @param curveOrder  the curve order
+   * @param pool  the pool used to calculate in parallel, null to calculate serially
    */
   public CalibrationDerivative(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
       RatesProviderGenerator providerGenerator,
-      List<CurveParameterSize> curveOrder) {
+      List<CurveParameterSize> curveOrder,
+      ForkJoinPool pool) {
 
     this.measures = measures;
     this.trades = trades;
     this.providerGenerator = providerGenerator;
     this.curveOrder = curveOrder;
+    this.pool = pool;
   }
 
   //-------------------------------------------------------------------------
@@ -68,8 +82,38 @@ class CalibrationDerivative
     // create child provider from matrix
     ImmutableRatesProvider provider = providerGenerator.generate(x);
     // calculate derivative for each trade using the child provider
+    return derivatives(trades, measures, provider, curveOrder, trades.size(), pool);
+  }
+
+  /**
+   * Calculates the derivative of each trade, one row for each trade.
+   *
+   * @param trades  the trades
+   * @param measures  the calibration measures
+   * @param provider  the rates provider
+   * @param curveOrder  the curve order
+   * @param columnCount  the total number of parameters of the curves in the curve order
+   * @param pool  the pool used to calculate in parallel, null to calculate serially
+   * @return the derivatives
+   */
+  static DoubleMatrix derivatives(
+      List<ResolvedTrade> trades,
+      CalibrationMeasures measures,
+      RatesProvider provider,
+      List<CurveParameterSize> curveOrder,
+      int columnCount,
+      ForkJoinPool pool) {
+
     int size = trades.size();
-    return DoubleMatrix.ofArrayObjects(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    if (pool == null) {
+      return DoubleMatrix.ofArrayObjects(
+          size, columnCount, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    }
+    DoubleArray[] rows = new DoubleArray[size];
+    pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, size)
+        .parallel()
+        .forEach(i -> rows[i] = measures.derivative(trades.get(i), provider, curveOrder))));
+    return DoubleMatrix.ofArrayObjects(size, columnCount, i -> rows[i]);
   }
 
 }
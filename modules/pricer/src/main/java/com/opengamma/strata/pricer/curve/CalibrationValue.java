@@ -6,7 +6,10 @@
 package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -18,6 +21,9 @@ import com.opengamma.strata.product.ResolvedTrade;
  * This provides the value from the specified {@link CalibrationMeasures} instance
  * in matrix form suitable for use in curve calibration root finding.
  * The value will typically be par spread or converted present value.
+ * <p>
+ * If a pool is specified, the value of each trade is calculated in parallel using the pool.
+ * Each value is calculated independently, thus the result is identical to that calculated serially.
  */
 class CalibrationValue
     implements Function<DoubleArray, DoubleArray> {
@@ -34,6 +40,10 @@ class CalibrationValue
    * The provider generator, used to create child providers.
    */
   private final RatesProviderGenerator providerGenerator;
+  /**
+   * The pool used to calculate the value of each trade in parallel, null to calculate serially.
+   */
+  private final ForkJoinPool pool;
 
   /**
    * Creates an instance.
@@ -41,15 +51,18 @@ class CalibrationValue
    * @param trades  the trades
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
+   * @param pool  the pool used to calculate in parallel, null to calculate serially
    */
   CalibrationValue(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
-      RatesProviderGenerator providerGenerator) {
+      RatesProviderGenerator providerGenerator,
+      ForkJoinPool pool) {
 
     this.trades = trades;
     this.measures = measures;
     this.providerGenerator = providerGenerator;
+    this.pool = pool;
   }
 
   //-------------------------------------------------------------------------
@@ -58,7 +71,15 @@ class CalibrationValue
     // create child provider from matrix
     ImmutableRatesProvider childProvider = providerGenerator.generate(x);
     // calculate value for each trade using the child provider
-    return DoubleArray.of(trades.size(), i -> measures.value(trades.get(i), childProvider));
+    int size = trades.size();
+    if (pool == null) {
+      return DoubleArray.of(size, i -> measures.value(trades.get(i), childProvider));
+    }
+    double[] values = new double[size];
+    pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, size)
+        .parallel()
+        .forEach(i -> values[i] = measures.value(trades.get(i), childProvider))));
+    return DoubleArray.ofUnsafe(values);
   }
 
 }
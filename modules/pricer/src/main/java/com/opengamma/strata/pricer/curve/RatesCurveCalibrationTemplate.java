@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.curve.RatesCurveGroup;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.node.FixedIborSwapCurveNode;
+import com.opengamma.strata.market.curve.node.FixedOvernightSwapCurveNode;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapLegType;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * A template for calibrating a single curve group many times on the same valuation date.
+ * <p>
+ * Calibration resolves a trade for each node of the curve group, generating the schedule of the trade
+ * and adjusting its dates to business days. This depends on the valuation date but rarely on the quotes.
+ * When the same curve group is calibrated many times on the same date, such as intraday or for each
+ * scenario, the template avoids repeating this work.
+ * <p>
+ * The template keeps the last trade resolved for each node. If the market data of the node is unchanged,
+ * the trade is reused. For {@linkplain FixedIborSwapCurveNode fixed-Ibor} and
+ * {@linkplain FixedOvernightSwapCurveNode fixed-overnight} swap nodes, where the quote only defines
+ * the fixed rate, the trade is derived from the last trade by replacing the fixed rate.
+ * Otherwise the trade is resolved from the market data as normal.
+ * The calibrated curves are identical to those calibrated without the template.
+ * <p>
+ * This class is thread-safe, and may be used to calibrate different market data concurrently.
+ * Instances are created using
+ * {@link RatesCurveCalibrator#template(RatesCurveGroupDefinition, LocalDate, ReferenceData)}.
+ */
+public final class RatesCurveCalibrationTemplate {
+
+  /**
+   * The calibrator.
+   */
+  private final RatesCurveCalibrator calibrator;
+  /**
+   * The curve group definition.
+   */
+  private final RatesCurveGroupDefinition curveGroupDefinition;
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The reference data, used to resolve the trades.
+   */
+  private final ReferenceData refData;
+  /**
+   * The last trade resolved for each node.
+   */
+  private final Map<CurveNode, NodeTrade> nodeTrades = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an instance.
+   *
+   * @param calibrator  the calibrator
+   * @param curveGroupDefinition  the curve group definition
+   * @param valuationDate  the valuation date
+   * @param refData  the reference data
+   */
+  RatesCurveCalibrationTemplate(
+      RatesCurveCalibrator calibrator,
+      RatesCurveGroupDefinition curveGroupDefinition,
+      LocalDate valuationDate,
+      ReferenceData refData) {
+
+    this.calibrator = ArgChecker.notNull(calibrator, "calibrator");
+    this.curveGroupDefinition = ArgChecker.notNull(curveGroupDefinition, "curveGroupDefinition");
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    this.refData = ArgChecker.notNull(refData, "refData");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the curve group definition.
+   *
+   * @return the curve group definition
+   */
+  public RatesCurveGroupDefinition getCurveGroupDefinition() {
+    return curveGroupDefinition;
+  }
+
+  /**
+   * Gets the valuation date.
+   *
+   * @return the valuation date
+   */
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curve group.
+   * <p>
+   * This is equivalent to
+   * {@link RatesCurveCalibrator#calibrate(RatesCurveGroupDefinition, MarketData, ReferenceData)}.
+   *
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @return the rates provider resulting from the calibration
+   * @throws IllegalArgumentException if the valuation date of the market data does not match the template
+   */
+  public ImmutableRatesProvider calibrate(MarketData marketData) {
+    validateValuationDate(marketData);
+    return calibrator.calibrate(
+        curveGroupDefinition, marketData, refData, name -> Optional.empty(), defn -> resolvedTrades(defn, marketData));
+  }
+
+  /**
+   * Calibrates the curve group, starting from a previous solution.
+   * <p>
+   * This is equivalent to
+   * {@link RatesCurveCalibrator#calibrate(RatesCurveGroupDefinition, MarketData, ReferenceData, RatesCurveGroup)}.
+   *
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param seed  the previously calibrated curve group used as the starting point
+   * @return the rates provider resulting from the calibration
+   * @throws IllegalArgumentException if the valuation date of the market data does not match the template
+   */
+  public ImmutableRatesProvider calibrate(MarketData marketData, RatesCurveGroup seed) {
+    ArgChecker.notNull(seed, "seed");
+    validateValuationDate(marketData);
+    return calibrator.calibrate(
+        curveGroupDefinition, marketData, refData, seed::findCurve, defn -> resolvedTrades(defn, marketData));
+  }
+
+  // checks the valuation date of the market data
+  private void validateValuationDate(MarketData marketData) {
+    if (!valuationDate.equals(marketData.getValuationDate())) {
+      throw new IllegalArgumentException(Messages.format(
+          "Valuation dates do not match: {} and {}", valuationDate, marketData.getValuationDate()));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the trades of the group, in the same order as RatesCurveGroupDefinition.resolvedTrades()
+  private ImmutableList<ResolvedTrade> resolvedTrades(RatesCurveGroupDefinition groupDefn, MarketData marketData) {
+    return groupDefn.getCurveDefinitions().stream()
+        .flatMap(curveDefn -> curveDefn.getNodes().stream())
+        .map(node -> resolvedTrade(node, marketData))
+        .collect(toImmutableList());
+  }
+
+  // the trade of the node, reusing the last trade of the node where possible
+  private ResolvedTrade resolvedTrade(CurveNode node, MarketData marketData) {
+    ImmutableList<Object> values = node.requirements().stream()
+        .map(id -> marketData.getValue(id))
+        .collect(toImmutableList());
+    NodeTrade previous = nodeTrades.get(node);
+    if (previous != null && previous.values.equals(values)) {
+      return previous.trade;
+    }
+    ResolvedTrade trade = previous != null ? withQuote(node, previous, values) : null;
+    if (trade == null) {
+      trade = node.resolvedTrade(1d, marketData, refData);
+    }
+    nodeTrades.put(node, new NodeTrade(values, trade));
+    return trade;
+  }
+
+  // derives the trade of a fixed swap node from the previous trade, returning null if not possible
+  private static ResolvedTrade withQuote(CurveNode node, NodeTrade previous, ImmutableList<Object> values) {
+    double additionalSpread;
+    if (node instanceof FixedIborSwapCurveNode) {
+      additionalSpread = ((FixedIborSwapCurveNode) node).getAdditionalSpread();
+    } else if (node instanceof FixedOvernightSwapCurveNode) {
+      additionalSpread = ((FixedOvernightSwapCurveNode) node).getAdditionalSpread();
+    } else {
+      return null;
+    }
+    // the only requirement of the node is the quote of the fixed rate
+    if (values.size() != 1 || !(previous.trade instanceof ResolvedSwapTrade)) {
+      return null;
+    }
+    double previousRate = (Double) previous.values.get(0) + additionalSpread;
+    double rate = (Double) values.get(0) + additionalSpread;
+    return withFixedRate((ResolvedSwapTrade) previous.trade, previousRate, rate);
+  }
+
+  // replaces the rate of the fixed legs, returning null if the fixed legs are not as expected
+  private static ResolvedSwapTrade withFixedRate(ResolvedSwapTrade trade, double previousRate, double rate) {
+    ImmutableList.Builder<ResolvedSwapLeg> legs = ImmutableList.builder();
+    boolean replaced = false;
+    for (ResolvedSwapLeg leg : trade.getProduct().getLegs()) {
+      if (leg.getType() != SwapLegType.FIXED) {
+        legs.add(leg);
+        continue;
+      }
+      ImmutableList.Builder<SwapPaymentPeriod> paymentPeriods = ImmutableList.builder();
+      for (SwapPaymentPeriod paymentPeriod : leg.getPaymentPeriods()) {
+        if (!(paymentPeriod instanceof RatePaymentPeriod)) {
+          return null;
+        }
+        RatePaymentPeriod ratePaymentPeriod = (RatePaymentPeriod) paymentPeriod;
+        ImmutableList.Builder<RateAccrualPeriod> accrualPeriods = ImmutableList.builder();
+        for (RateAccrualPeriod accrualPeriod : ratePaymentPeriod.getAccrualPeriods()) {
+          RateComputation computation = accrualPeriod.getRateComputation();
+          if (!(computation instanceof FixedRateComputation) ||
+              ((FixedRateComputation) computation).getRate() != previousRate) {
+            return null;
+          }
+          accrualPeriods.add(accrualPeriod.toBuilder().rateComputation(FixedRateComputation.of(rate)).build());
+        }
+        paymentPeriods.add(ratePaymentPeriod.toBuilder().accrualPeriods(accrualPeriods.build()).build());
+      }
+      legs.add(leg.toBuilder().paymentPeriods(paymentPeriods.build()).build());
+      replaced = true;
+    }
+    if (!replaced) {
+      return null;
+    }
+    ResolvedSwap swap = trade.getProduct().toBuilder().legs(legs.build()).build();
+    return trade.toBuilder().product(swap).build();
+  }
+
+  //-------------------------------------------------------------------------
+  // the trade resolved for a node, with the market data values used to resolve it
+  private static final class NodeTrade {
+
+    private final ImmutableList<Object> values;
+    private final ResolvedTrade trade;
+
+    private NodeTrade(ImmutableList<Object> values, ResolvedTrade trade) {
+      this.values = values;
+      this.trade = trade;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "RatesCurveCalibrationTemplate[" + curveGroupDefinition.getName() + ", " + valuationDate + "]";
+  }
+
+}
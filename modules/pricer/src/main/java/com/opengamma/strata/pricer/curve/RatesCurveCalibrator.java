@@ -9,8 +9,13 @@ import static com.opengamma.strata.collect.Guavate.filtering;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -22,15 +27,22 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.metrics.Metrics;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.RatesCurveGroup;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
@@ -79,6 +91,10 @@ public final class RatesCurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * The pool used to evaluate the calibration trades in parallel, null if evaluated serially.
+   */
+  private final ForkJoinPool pool;
 
   //-------------------------------------------------------------------------
   /**
@@ -154,7 +170,7 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures pvMeasures) {
 
     NewtonVectorRootFinder rootFinder = NewtonVectorRootFinder.broyden(toleranceAbs, toleranceRel, stepMaximum);
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, null);
   }
 
   /**
@@ -171,7 +187,7 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, null);
   }
 
   //-------------------------------------------------------------------------
@@ -179,11 +195,33 @@ public final class RatesCurveCalibrator {
   private RatesCurveCalibrator(
       NewtonVectorRootFinder rootFinder,
       CalibrationMeasures measures,
-      CalibrationMeasures pvMeasures) {
+      CalibrationMeasures pvMeasures,
+      ForkJoinPool pool) {
 
     this.rootFinder = ArgChecker.notNull(rootFinder, "rootFinder");
     this.measures = ArgChecker.notNull(measures, "measures");
     this.pvMeasures = ArgChecker.notNull(pvMeasures, "pvMeasures");
+    this.pool = pool;
+  }
+
+  /**
+   * Returns a copy of this calibrator that evaluates the calibration trades in parallel.
+   * <p>
+   * At each step of the root finder, the value and derivative of each trade are calculated
+   * in parallel using the specified pool. The derivatives used to build the Jacobian matrices are
+   * calculated in the same way. Each trade is evaluated independently of the others,
+   * thus the calibrated curves are identical to those calibrated serially.
+   * <p>
+   * This is intended for large curve groups, where the evaluation of the trades dominates
+   * the time taken. For small groups, the cost of scheduling the work may exceed the saving.
+   * The {@linkplain ForkJoinPool#commonPool() common pool} is suitable in most cases.
+   *
+   * @param pool  the pool used to evaluate the trades
+   * @return the curve calibrator
+   */
+  public RatesCurveCalibrator withParallelEvaluation(ForkJoinPool pool) {
+    ArgChecker.notNull(pool, "pool");
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, pool);
   }
 
   //-------------------------------------------------------------------------
@@ -216,14 +254,52 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData(marketData), marketData, refData);
+  }
+
+  /**
+   * Calibrates a single curve group, containing one or more curves, starting from a previous solution.
+   * <p>
+   * The calibration is defined using {@link RatesCurveGroupDefinition}.
+   * Observable market data, time-series and FX are also needed to complete the calibration.
+   * The valuation date is defined by the market data.
+   * <p>
+   * The seed is a curve group that has already been calibrated to similar market data,
+   * such as the base scenario when calibrating a set of perturbed scenarios.
+   * The root finder starts from the parameters of the matching seed curves rather than the initial
+   * guesses of the definition. If the seed curves contain a Jacobian, it is used to form the
+   * initial estimate of the derivative of the calibration measures, avoiding one evaluation.
+   * When the market data is close to that of the seed, this typically reduces the number of iterations.
+   * If a curve in a group is not present in the seed, or has a different number of parameters,
+   * the initial guesses of the definition are used for that group.
+   * <p>
+   * The Jacobian matrices are computed and stored in curve metadata.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param seed  the previously calibrated curve group used as the starting point
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      RatesCurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      RatesCurveGroup seed) {
+
+    ArgChecker.notNull(seed, "seed");
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData(marketData), marketData, refData, seed::findCurve);
+  }
+
+  // the known data, derived from the market data
+  private static ImmutableRatesProvider knownData(MarketData marketData) {
     Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
         .flatMap(filtering(IndexQuoteId.class))
         .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
         .fxRateProvider(MarketDataFxRateProvider.of(marketData))
         .timeSeries(timeSeries)
         .build();
-    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
   /**
@@ -246,6 +322,61 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    return calibrate(allGroupDefns, knownData, marketData, refData, name -> Optional.empty());
+  }
+
+  /**
+   * Creates a template for calibrating a single curve group many times on the same valuation date.
+   * <p>
+   * The template avoids resolving the trades of the nodes again for each calibration where possible.
+   * See {@link RatesCurveCalibrationTemplate} for details.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param valuationDate  the valuation date of the market data to be calibrated
+   * @param refData  the reference data, used to resolve the trades
+   * @return the calibration template
+   */
+  public RatesCurveCalibrationTemplate template(
+      RatesCurveGroupDefinition curveGroupDefn,
+      LocalDate valuationDate,
+      ReferenceData refData) {
+
+    return new RatesCurveCalibrationTemplate(this, curveGroupDefn, valuationDate, refData);
+  }
+
+  // calibrates a single group for the template, starting from the seed curves where available
+  ImmutableRatesProvider calibrate(
+      RatesCurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      Function<CurveName, Optional<Curve>> seedCurves,
+      Function<RatesCurveGroupDefinition, ImmutableList<ResolvedTrade>> tradeResolver) {
+
+    return calibrate(
+        ImmutableList.of(curveGroupDefn), knownData(marketData), marketData, refData, seedCurves, tradeResolver);
+  }
+
+  // calibrates the groups, starting from the seed curves where available
+  private ImmutableRatesProvider calibrate(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      Function<CurveName, Optional<Curve>> seedCurves) {
+
+    return calibrate(
+        allGroupDefns, knownData, marketData, refData, seedCurves, defn -> defn.resolvedTrades(marketData, refData));
+  }
+
+  // calibrates the groups, resolving the trades of each group using the function
+  private ImmutableRatesProvider calibrate(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      Function<CurveName, Optional<Curve>> seedCurves,
+      Function<RatesCurveGroupDefinition, ImmutableList<ResolvedTrade>> tradeResolver) {
+
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -264,7 +395,7 @@ public final class RatesCurveCalibrator {
       RatesCurveGroupDefinition groupDefnBound =
           groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
       // combine all data in the group into flat lists
-      ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
+      ImmutableList<ResolvedTrade> trades = tradeResolver.apply(groupDefnBound);
       ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
@@ -274,13 +405,15 @@ public final class RatesCurveCalibrator {
 
       // calibrate
       RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams =
+          calibrateGroup(groupDefnBound.getName(), providerGenerator, trades, initialGuesses, orderGroup, seedCurves);
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
       if (groupDefnBound.isComputeJacobian()) {
+        int[] blockSizes = blockSizes(groupDefnBound);
         jacobians = updateJacobiansForGroup(
-            calibratedProvider, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobians);
+            calibratedProvider, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobians, blockSizes);
       }
       ImmutableMap<CurveName, DoubleArray> sensitivityToMarketQuote = ImmutableMap.of();
       if (groupDefnBound.isComputePvSensitivityToMarketQuote()) {
@@ -297,27 +430,152 @@ public final class RatesCurveCalibrator {
   }
 
   //-------------------------------------------------------------------------
+  // the sizes of the diagonal blocks of the derivative of the group, used to invert it block by block
+  // there is one block for each curve if each curve has one trade for each parameter, otherwise a single block
+  private static int[] blockSizes(RatesCurveGroupDefinition groupDefn) {
+    List<CurveDefinition> curveDefns = groupDefn.getCurveDefinitions();
+    int[] blockSizes = curveDefns.stream().mapToInt(defn -> defn.getParameterCount()).toArray();
+    if (curveDefns.stream().allMatch(defn -> defn.getNodes().size() == defn.getParameterCount())) {
+      return blockSizes;
+    }
+    return new int[] {Arrays.stream(blockSizes).sum()};
+  }
+
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(RatesCurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
   }
 
   //-------------------------------------------------------------------------
-  // calibrates a single group
+  // calibrates a single group, recording the time taken and the number of evaluations
   private DoubleArray calibrateGroup(
+      CurveGroupName groupName,
       RatesProviderGenerator providerGenerator,
       ImmutableList<ResolvedTrade> trades,
       ImmutableList<Double> initialGuesses,
-      ImmutableList<CurveParameterSize> curveOrder) {
+      ImmutableList<CurveParameterSize> curveOrder,
+      Function<CurveName, Optional<Curve>> seedCurves) {
 
-    // setup for calibration
-    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
+    Function<DoubleArray, DoubleArray> valueCalculator =
+        new CalibrationValue(trades, measures, providerGenerator, pool);
     Function<DoubleArray, DoubleMatrix> derivativeCalculator =
-        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
+        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder, pool);
+    if (!Metrics.isEnabled()) {
+      return calibrateGroup(valueCalculator, derivativeCalculator, initialGuesses, curveOrder, seedCurves);
+    }
+    // the root finder does not expose its iterations, so the evaluations of the function are counted instead
+    LongAdder evaluations = new LongAdder();
+    Function<DoubleArray, DoubleArray> countingValueCalculator = x -> {
+      evaluations.increment();
+      return valueCalculator.apply(x);
+    };
+    long start = Metrics.startTime();
+    boolean success = false;
+    try {
+      DoubleArray result =
+          calibrateGroup(countingValueCalculator, derivativeCalculator, initialGuesses, curveOrder, seedCurves);
+      success = true;
+      return result;
+    } finally {
+      Metrics.recordTime("CurveCalibration", groupName, start, success);
+      Metrics.recordCount("CurveCalibrationFunctionEvaluations", groupName, evaluations.sum());
+    }
+  }
+
+  // calibrates a single group using the root finder
+  private DoubleArray calibrateGroup(
+      Function<DoubleArray, DoubleArray> valueCalculator,
+      Function<DoubleArray, DoubleMatrix> derivativeCalculator,
+      ImmutableList<Double> initialGuesses,
+      ImmutableList<CurveParameterSize> curveOrder,
+      Function<CurveName, Optional<Curve>> seedCurves) {
 
-    // calibrate
+    // calibrate, starting from the seed if there is a matching curve for every curve in the group
     DoubleArray initialGuess = DoubleArray.copyOf(initialGuesses);
-    return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
+    ImmutableList<Curve> groupSeeds = curveOrder.stream()
+        .map(order -> seedCurves.apply(order.getName()))
+        .filter(seed -> seed.isPresent())
+        .map(seed -> seed.get())
+        .collect(toImmutableList());
+    if (!matchesOrder(groupSeeds, curveOrder)) {
+      return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
+    }
+    DoubleArray seedGuess = DoubleArray.of(initialGuess.size(), i -> seedParameter(groupSeeds, i));
+    DoubleMatrix seedJacobian = seedJacobian(groupSeeds, curveOrder);
+    try {
+      return rootFinder.findRoot(valueCalculator, derivativeCalculator, seedGuess, seedJacobian);
+    } catch (MathException ex) {
+      // the seed can be too far from the solution, in which case fall back to the initial guesses
+      return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
+    }
+  }
+
+  // checks that the seed curves have the expected parameter counts
+  private static boolean matchesOrder(List<Curve> seeds, List<CurveParameterSize> curveOrder) {
+    if (seeds.size() != curveOrder.size()) {
+      return false;
+    }
+    for (int i = 0; i < seeds.size(); i++) {
+      if (seeds.get(i).getParameterCount() != curveOrder.get(i).getParameterCount()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // finds the parameter at the specified index in the flattened list of curve parameters
+  private static double seedParameter(List<Curve> seeds, int index) {
+    int remaining = index;
+    for (Curve seed : seeds) {
+      if (remaining < seed.getParameterCount()) {
+        return seed.getParameter(remaining);
+      }
+      remaining -= seed.getParameterCount();
+    }
+    throw new IndexOutOfBoundsException("Invalid parameter index: " + index);
+  }
+
+  // the derivative of the calibration measures with respect to the group parameters, null if unavailable
+  // the Jacobian stored in the curves is the inverse of the derivative for the group, see jacobianDirect()
+  private static DoubleMatrix seedJacobian(List<Curve> seeds, List<CurveParameterSize> curveOrder) {
+    int totalParamsGroup = curveOrder.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[][] inverse = new double[totalParamsGroup][totalParamsGroup];
+    int rowStart = 0;
+    for (Curve seed : seeds) {
+      Optional<JacobianCalibrationMatrix> jacobian = seed.getMetadata().findInfo(CurveInfoType.JACOBIAN);
+      if (!jacobian.isPresent()) {
+        return null;
+      }
+      // locate the columns of each curve in the group
+      ImmutableList<CurveParameterSize> jacobianOrder = jacobian.get().getOrder();
+      DoubleMatrix jacobianMatrix = jacobian.get().getJacobianMatrix();
+      int columnStart = 0;
+      for (CurveParameterSize order : curveOrder) {
+        int sourceStart = 0;
+        for (CurveParameterSize jacobianEntry : jacobianOrder) {
+          if (jacobianEntry.getName().equals(order.getName())) {
+            break;
+          }
+          sourceStart += jacobianEntry.getParameterCount();
+        }
+        if (sourceStart + order.getParameterCount() > jacobianMatrix.columnCount()) {
+          return null;
+        }
+        for (int p = 0; p < seed.getParameterCount(); p++) {
+          System.arraycopy(
+              jacobianMatrix.rowArray(p), sourceStart, inverse[rowStart + p], columnStart, order.getParameterCount());
+        }
+        columnStart += order.getParameterCount();
+      }
+      rowStart += seed.getParameterCount();
+    }
+    try {
+      int[] blockSizes = curveOrder.stream().mapToInt(order -> order.getParameterCount()).toArray();
+      return BlockTriangularInverter.inverse(DoubleMatrix.ofUnsafe(inverse), blockSizes);
+    } catch (RuntimeException ex) {
+      // the root finder will calculate the derivative instead
+      return null;
+    }
   }
 
   //-------------------------------------------------------------------------
@@ -329,17 +587,18 @@ public final class RatesCurveCalibrator {
       ImmutableList<CurveParameterSize> orderGroup,
       ImmutableList<CurveParameterSize> orderPrev,
       ImmutableList<CurveParameterSize> orderAll,
-      ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians) {
+      ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians,
+      int[] blockSizes) {
 
     // sensitivity to all parameters in the stated order
     int totalParamsAll = orderAll.stream().mapToInt(e -> e.getParameterCount()).sum();
-    DoubleMatrix res = derivatives(trades, provider, orderAll, totalParamsAll);
+    DoubleMatrix res = CalibrationDerivative.derivatives(trades, measures, provider, orderAll, totalParamsAll, pool);
 
     // jacobian direct
     int nbTrades = trades.size();
     int totParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
     int totParamsPrev = totalParamsAll - totParamsGroup;
-    DoubleMatrix pDmCurMatrix = jacobianDirect(res, nbTrades, totParamsGroup, totParamsPrev);
+    DoubleMatrix pDmCurMatrix = jacobianDirect(res, nbTrades, totParamsGroup, totParamsPrev, blockSizes);
 
     // jacobian indirect: when totalParamsPrevious > 0
     DoubleMatrix pDmPrev = jacobianIndirect(
@@ -391,31 +650,20 @@ public final class RatesCurveCalibrator {
     return mqsGroup.build();
   }
 
-  // calculate the derivatives
-  private DoubleMatrix derivatives(
-      ImmutableList<ResolvedTrade> trades,
-      ImmutableRatesProvider provider,
-      ImmutableList<CurveParameterSize> orderAll,
-      int totalParamsAll) {
-
-    return DoubleMatrix.ofArrayObjects(
-        trades.size(),
-        totalParamsAll,
-        i -> measures.derivative(trades.get(i), provider, orderAll));
-  }
-
   // jacobian direct, for the current group
+  // the derivative is inverted block by block where the curves do not all depend on each other
   private static DoubleMatrix jacobianDirect(
       DoubleMatrix res,
       int nbTrades,
       int totalParamsGroup,
-      int totalParamsPrevious) {
+      int totalParamsPrevious,
+      int[] blockSizes) {
 
     double[][] direct = new double[totalParamsGroup][totalParamsGroup];
     for (int i = 0; i < nbTrades; i++) {
       System.arraycopy(res.rowArray(i), totalParamsPrevious, direct[i], 0, totalParamsGroup);
     }
-    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(direct));
+    return BlockTriangularInverter.inverse(DoubleMatrix.ofUnsafe(direct), blockSizes);
   }
 
   // jacobian indirect, merging groups
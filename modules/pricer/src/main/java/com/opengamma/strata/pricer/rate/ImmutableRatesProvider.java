@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
@@ -62,6 +63,9 @@ import com.opengamma.strata.pricer.fx.FxIndexRates;
  * <p>
  * This provides the environmental information against which pricing occurs.
  * This includes FX rates, discount factors and forward curves.
+ * <p>
+ * The discount factors, FX forward rates, Ibor index rates and Overnight index rates are
+ * created on first use and cached, thus repeated pricing against the same provider reuses them.
  */
 @BeanDefinition(builderScope = "private", constructorScope = "package")
 public final class ImmutableRatesProvider
@@ -101,6 +105,26 @@ public final class ImmutableRatesProvider
    */
   @PropertyDefinition(validate = "notNull")
   private final ImmutableMap<Index, LocalDateDoubleTimeSeries> timeSeries;
+  /**
+   * The cached discount factors, keyed by currency.
+   */
+  private final transient ConcurrentHashMap<Currency, DiscountFactors> discountFactorsCache =
+      new ConcurrentHashMap<>();  // not a property
+  /**
+   * The cached FX forward rates, keyed by currency pair.
+   */
+  private final transient ConcurrentHashMap<CurrencyPair, FxForwardRates> fxForwardRatesCache =
+      new ConcurrentHashMap<>();  // not a property
+  /**
+   * The cached Ibor index rates, keyed by index.
+   */
+  private final transient ConcurrentHashMap<IborIndex, IborIndexRates> iborIndexRatesCache =
+      new ConcurrentHashMap<>();  // not a property
+  /**
+   * The cached Overnight index rates, keyed by index.
+   */
+  private final transient ConcurrentHashMap<OvernightIndex, OvernightIndexRates> overnightIndexRatesCache =
+      new ConcurrentHashMap<>();  // not a property
 
   //-------------------------------------------------------------------------
   @ImmutableDefaults
@@ -108,6 +132,11 @@ public final class ImmutableRatesProvider
     builder.fxRateProvider = FxMatrix.empty();
   }
 
+  // recreates the caches after deserialization
+  private Object readResolve() {
+    return new ImmutableRatesProvider(valuationDate, fxRateProvider, discountCurves, indexCurves, timeSeries);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Combines a number of rates providers.
@@ -223,6 +252,13 @@ public final class ImmutableRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public DiscountFactors discountFactors(Currency currency) {
+    // check the cache before computing, as computeIfAbsent may lock even if the value is present
+    DiscountFactors cached = discountFactorsCache.get(currency);
+    return cached != null ? cached : discountFactorsCache.computeIfAbsent(currency, this::createDiscountFactors);
+  }
+
+  // creates the discount factors for the currency
+  private DiscountFactors createDiscountFactors(Currency currency) {
     Curve curve = discountCurves.get(currency);
     if (curve == null) {
       throw new IllegalArgumentException("Unable to find discount curve: " + currency);
@@ -241,14 +277,26 @@ public final class ImmutableRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    FxForwardRates cached = fxForwardRatesCache.get(currencyPair);
+    return cached != null ? cached : fxForwardRatesCache.computeIfAbsent(currencyPair, this::createFxForwardRates);
+  }
+
+  // creates the FX forward rates for the currency pair
+  private FxForwardRates createFxForwardRates(CurrencyPair currencyPair) {
     DiscountFactors base = discountFactors(currencyPair.getBase());
     DiscountFactors counter = discountFactors(currencyPair.getCounter());
     return DiscountFxForwardRates.of(currencyPair, fxRateProvider, base, counter);
-  };
+  }
 
   //-------------------------------------------------------------------------
   @Override
   public IborIndexRates iborIndexRates(IborIndex index) {
+    IborIndexRates cached = iborIndexRatesCache.get(index);
+    return cached != null ? cached : iborIndexRatesCache.computeIfAbsent(index, this::createIborIndexRates);
+  }
+
+  // creates the rates for the Ibor index
+  private IborIndexRates createIborIndexRates(IborIndex index) {
     Curve curve = indexCurves.get(index);
     if (curve == null) {
       return historicCurve(index);
@@ -268,6 +316,12 @@ public final class ImmutableRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    OvernightIndexRates cached = overnightIndexRatesCache.get(index);
+    return cached != null ? cached : overnightIndexRatesCache.computeIfAbsent(index, this::createOvernightIndexRates);
+  }
+
+  // creates the rates for the Overnight index
+  private OvernightIndexRates createOvernightIndexRates(OvernightIndex index) {
     Curve curve = indexCurves.get(index);
     if (curve == null) {
       return historicCurve(index);
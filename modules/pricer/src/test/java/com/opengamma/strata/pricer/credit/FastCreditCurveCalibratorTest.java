@@ -59,6 +59,11 @@ public class FastCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalib
     testCalibrationAgainstISDA(BUILDER_MARKIT, ACT_365F, EUR, TOL);
   }
 
+  @Test
+  public void metrics() {
+    testCalibrationMetrics(BUILDER_ISDA);
+  }
+
   @Test
   public void parSpreadTest() {
     LocalDate valuationDate = LocalDate.of(2013, 2, 27);
@@ -19,6 +19,7 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
@@ -36,6 +37,9 @@ import com.opengamma.strata.basics.schedule.Frequency;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.RollConventions;
 import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
+import com.opengamma.strata.collect.metrics.SummaryMetricsRecorder;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
@@ -361,6 +365,29 @@ public class IsdaCompliantCreditCurveCalibratorBase {
           0.998311624292164, 0.998142943554348, 0.997974291317845},};
   private static final int N_OBS = OBS_TIMES.length;
 
+  //-------------------------------------------------------------------------
+  protected void testCalibrationMetrics(IsdaCompliantCreditCurveCalibrator builder) {
+    CurveName name = CurveName.of("credit");
+    Optional<MetricsRecorder> previous = Metrics.findRecorder();
+    SummaryMetricsRecorder recorder = SummaryMetricsRecorder.create();
+    Metrics.install(recorder);
+    try {
+      builder.calibrate(
+          ImmutableList.copyOf(NODE_CDS[0]),
+          name,
+          CDS_MARKET_DATA[0],
+          YIELD_CURVES[0],
+          ACT_365F,
+          EUR,
+          false, false, REF_DATA);
+    } finally {
+      Metrics.uninstall();
+      previous.ifPresent(Metrics::install);
+    }
+    assertThat(recorder.getCalls("CreditCurveCalibration", name)).isEqualTo(1);
+    assertThat(recorder.getFailures("CreditCurveCalibration", name)).isEqualTo(0);
+  }
+
   //-------------------------------------------------------------------------
   protected void testCalibrationAgainstISDA(
       IsdaCompliantCreditCurveCalibrator builder,
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Test {@link BlockTriangularInverter}.
+ */
+public class BlockTriangularInverterTest {
+
+  private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  private static final double TOLERANCE = 1e-12;
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_inverse_lowerTriangular() {
+    // block 1 depends on block 0, block 2 depends on block 0 but not block 1
+    DoubleMatrix matrix = DoubleMatrix.copyOf(new double[][] {
+        {2.0, 0.5, 0.0, 0.0, 0.0},
+        {0.3, 1.5, 0.0, 0.0, 0.0},
+        {0.1, 0.2, 3.0, 0.0, 0.0},
+        {0.4, 0.0, 0.0, 1.0, 0.2},
+        {0.0, 0.6, 0.0, 0.1, 2.5}});
+    assertInverse(matrix, new int[] {2, 1, 2});
+  }
+
+  @Test
+  public void test_inverse_permuted() {
+    // block 0 depends on block 1, which is independent
+    DoubleMatrix matrix = DoubleMatrix.copyOf(new double[][] {
+        {2.0, 0.5, 0.7, 0.0},
+        {0.3, 1.5, 0.0, 0.2},
+        {0.0, 0.0, 3.0, 0.1},
+        {0.0, 0.0, 0.4, 1.0}});
+    assertInverse(matrix, new int[] {2, 2});
+  }
+
+  @Test
+  public void test_inverse_groups() {
+    // blocks 0, 1 and 2 depend on each other, block 3 depends on all of them
+    DoubleMatrix matrix = DoubleMatrix.copyOf(new double[][] {
+        {2.0, 0.5, 0.0, 0.0},
+        {0.0, 1.5, 0.2, 0.0},
+        {0.3, 0.0, 3.0, 0.0},
+        {0.1, 0.2, 0.4, 1.0}});
+    assertInverse(matrix, new int[] {1, 1, 1, 1});
+  }
+
+  @Test
+  public void test_inverse_dense() {
+    DoubleMatrix matrix = DoubleMatrix.copyOf(new double[][] {
+        {2.0, 0.5, 0.1},
+        {0.3, 1.5, 0.2},
+        {0.4, 0.6, 3.0}});
+    assertInverse(matrix, new int[] {1, 2});
+    assertInverse(matrix, new int[] {3});
+  }
+
+  @Test
+  public void test_inverse_invalid() {
+    DoubleMatrix matrix = DoubleMatrix.identity(3);
+    assertThatIllegalArgumentException().isThrownBy(() -> BlockTriangularInverter.inverse(matrix, new int[] {1, 1}));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlockTriangularInverter.inverse(DoubleMatrix.filled(2, 3), new int[] {2}));
+  }
+
+  private static void assertInverse(DoubleMatrix matrix, int[] blockSizes) {
+    DoubleMatrix test = BlockTriangularInverter.inverse(matrix, blockSizes);
+    DoubleMatrix expected = MATRIX_ALGEBRA.getInverse(matrix);
+    for (int i = 0; i < matrix.rowCount(); i++) {
+      assertThat(test.row(i).equalWithTolerance(expected.row(i), TOLERANCE)).isTrue();
+    }
+  }
+
+}
@@ -19,6 +19,7 @@ import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.US
 import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static com.opengamma.strata.product.swap.type.XCcyIborIborSwapConventions.EUR_EURIBOR_3M_USD_LIBOR_3M;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.data.Offset.offset;
 
 import java.time.LocalDate;
@@ -27,6 +28,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -385,6 +387,36 @@ public class CalibrationZeroRateUsdOisIrsEurFxXCcyIrsTest {
     assertPresentValue(result);
   }
 
+  @Test
+  public void calibration_parallel() {
+    List<RatesCurveGroupDefinition> groups = ImmutableList.of(GROUP_1, GROUP_2, GROUP_3);
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(groups, KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    RatesCurveCalibrator test = CALIBRATOR.withParallelEvaluation(ForkJoinPool.commonPool());
+    // the trades are evaluated independently, so the result is identical
+    assertThat(test.calibrate(groups, KNOWN_DATA, ALL_QUOTES, REF_DATA)).isEqualTo(expected);
+    assertThat(test.toString()).isEqualTo(CALIBRATOR.toString());
+  }
+
+  @Test
+  public void calibration_template() {
+    RatesCurveCalibrationTemplate test = CALIBRATOR.template(CURVE_GROUP_CONFIG, VAL_DATE, REF_DATA);
+    assertThat(test.getCurveGroupDefinition()).isEqualTo(CURVE_GROUP_CONFIG);
+    assertThat(test.getValuationDate()).isEqualTo(VAL_DATE);
+    assertThat(test.calibrate(ALL_QUOTES)).isEqualTo(CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA));
+    // the USD trades are derived from the previous trades or resolved again, the EUR trades are reused
+    Map<MarketDataId<?>, Object> map = new HashMap<>(ALL_QUOTES.getValues());
+    for (int i = 0; i < USD_DSC_NB_NODES; i++) {
+      map.put(QuoteId.of(StandardId.of(SCHEME, USD_DSC_ID_VALUE[i])), USD_DSC_MARKET_QUOTES[i] + 1.0E-4);
+    }
+    for (int i = 0; i < USD_FWD3_NB_NODES; i++) {
+      map.put(QuoteId.of(StandardId.of(SCHEME, USD_FWD3_ID_VALUE[i])), USD_FWD3_MARKET_QUOTES[i] + 1.0E-4);
+    }
+    ImmutableMarketData shifted = ImmutableMarketData.of(VAL_DATE, map);
+    assertThat(test.calibrate(shifted)).isEqualTo(CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, shifted, REF_DATA));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.calibrate(ImmutableMarketData.of(VAL_DATE.plusDays(1), map)));
+  }
+
   private void assertPresentValue(RatesProvider result) {
     // Test PV USD;
     List<ResolvedTrade> usdTrades = new ArrayList<>();
@@ -5,15 +5,92 @@
  */
 package com.opengamma.strata.pricer.curve;
 
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
+import com.opengamma.strata.collect.metrics.SummaryMetricsRecorder;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.curve.node.FixedIborSwapCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.product.swap.type.FixedIborSwapTemplate;
+
 /**
  * Tests {@link RatesCurveCalibrator}.
  */
 public class RatesCurveCalibratorTest {
 
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 7, 21);
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final CurveGroupName GROUP_NAME = CurveGroupName.of("USD");
+  private static final RatesCurveGroupDefinition GROUP_DEFN = RatesCurveGroupDefinition.builder()
+      .name(GROUP_NAME)
+      .addCurve(
+          InterpolatedNodalCurveDefinition.builder()
+              .name(CurveName.of("USD-ALL"))
+              .xValueType(ValueType.YEAR_FRACTION)
+              .yValueType(ValueType.ZERO_RATE)
+              .dayCount(ACT_365F)
+              .interpolator(CurveInterpolators.LINEAR)
+              .extrapolatorLeft(CurveExtrapolators.FLAT)
+              .extrapolatorRight(CurveExtrapolators.FLAT)
+              .nodes(node(1), node(2), node(5))
+              .build(),
+          USD,
+          USD_LIBOR_3M)
+      .build();
+  private static final ImmutableMarketData MARKET_DATA = ImmutableMarketData.of(
+      VAL_DATE,
+      ImmutableMap.of(quoteId(1), 0.01, quoteId(2), 0.015, quoteId(5), 0.02));
+
+  private static FixedIborSwapCurveNode node(int years) {
+    return FixedIborSwapCurveNode.of(
+        FixedIborSwapTemplate.of(Period.ZERO, Tenor.ofYears(years), USD_FIXED_6M_LIBOR_3M), quoteId(years));
+  }
+
+  private static QuoteId quoteId(int years) {
+    return QuoteId.of(StandardId.of("OG", "IRS" + years + "Y"));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_calibrate_metrics() {
+    Optional<MetricsRecorder> previous = Metrics.findRecorder();
+    SummaryMetricsRecorder recorder = SummaryMetricsRecorder.create();
+    Metrics.install(recorder);
+    try {
+      RatesCurveCalibrator.standard().calibrate(GROUP_DEFN, MARKET_DATA, REF_DATA);
+    } finally {
+      Metrics.uninstall();
+      previous.ifPresent(Metrics::install);
+    }
+    assertThat(recorder.getCalls("CurveCalibration", GROUP_NAME)).isEqualTo(1);
+    assertThat(recorder.getFailures("CurveCalibration", GROUP_NAME)).isEqualTo(0);
+    assertThat(recorder.getCalls("CurveCalibrationFunctionEvaluations", GROUP_NAME)).isEqualTo(1);
+    assertThat(recorder.getTotal("CurveCalibrationFunctionEvaluations", GROUP_NAME)).isGreaterThan(0);
+  }
+
   @Test
   public void test_toString() {
     assertThat(RatesCurveCalibrator.standard().toString()).isEqualTo("CurveCalibrator[ParSpread]");
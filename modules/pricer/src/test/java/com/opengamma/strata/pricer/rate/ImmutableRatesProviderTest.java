@@ -12,6 +12,7 @@ import static com.opengamma.strata.basics.index.FxIndices.GBP_USD_WM;
 import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
 import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
 import static com.opengamma.strata.basics.index.PriceIndices.GB_RPI;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,6 +91,7 @@ public class ImmutableRatesProviderTest {
         .discountCurve(USD, DISCOUNT_CURVE_USD)
         .build();
     assertThat(test.discountFactors(GBP).getCurrency()).isEqualTo(GBP);
+    assertThat(test.discountFactors(GBP)).isSameAs(test.discountFactors(GBP));
   }
 
   @Test
@@ -149,6 +151,8 @@ public class ImmutableRatesProviderTest {
     assertThat(res.getCurrencyPair()).isEqualTo(CurrencyPair.of(GBP, USD));
     assertThat(res.getFxRateProvider()).isEqualTo(FX_MATRIX);
     assertThat(res.getValuationDate()).isEqualTo(VAL_DATE);
+    assertThat(test.fxForwardRates(CurrencyPair.of(GBP, USD))).isSameAs(res);
+    assertThat(res.getBaseCurrencyDiscountFactors()).isSameAs(test.discountFactors(GBP));
   }
 
   //-------------------------------------------------------------------------
@@ -161,6 +165,7 @@ public class ImmutableRatesProviderTest {
         .build();
     assertThat(test.iborIndexRates(USD_LIBOR_3M).getIndex()).isEqualTo(USD_LIBOR_3M);
     assertThat(test.iborIndexRates(USD_LIBOR_3M).getFixings()).isEqualTo(ts);
+    assertThat(test.iborIndexRates(USD_LIBOR_3M)).isSameAs(test.iborIndexRates(USD_LIBOR_3M));
     assertThat(test.indices()).containsOnly(USD_LIBOR_3M);
     assertThat(test.getIborIndices()).containsOnly(USD_LIBOR_3M);
     assertThat(test.getTimeSeriesIndices()).containsOnly(USD_LIBOR_3M);
@@ -206,6 +211,7 @@ public class ImmutableRatesProviderTest {
         .build();
     assertThat(test.overnightIndexRates(USD_FED_FUND).getIndex()).isEqualTo(USD_FED_FUND);
     assertThat(test.overnightIndexRates(USD_FED_FUND).getFixings()).isEqualTo(ts);
+    assertThat(test.overnightIndexRates(USD_FED_FUND)).isSameAs(test.overnightIndexRates(USD_FED_FUND));
     assertThat(test.indices()).containsOnly(USD_FED_FUND);
     assertThat(test.getOvernightIndices()).containsOnly(USD_FED_FUND);
     assertThat(test.getTimeSeriesIndices()).containsOnly(USD_FED_FUND);
@@ -337,6 +343,15 @@ public class ImmutableRatesProviderTest {
   public void testSerializeDeserialize() {
     cycleBean(ImmutableRatesProvider.builder(VAL_DATE).build());
   }
+
+  @Test
+  public void test_serialization() {
+    ImmutableRatesProvider test = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(GBP, DISCOUNT_CURVE_GBP)
+        .build();
+    test.discountFactors(GBP);
+    assertSerialization(test);
+  }
   
   private void cycleBean(Bean bean) {
     JodaBeanSer ser = JodaBeanSer.COMPACT;